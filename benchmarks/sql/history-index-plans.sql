@@ -0,0 +1,84 @@
+-- Query plan benchmark for the per-dog history indexes (V10 - V16).
+--
+-- Run against a scratch PostgreSQL database that Flyway has migrated, e.g.
+--   psql -v rows=10000000 -f benchmarks/sql/history-index-plans.sql <database>
+--
+-- The script seeds :rows rows into WEIGHT, HORMONE and DENTAL (spread over :rows / 100 dogs) and the latest statuses
+-- of every dog, then explains the repository queries twice: once with the indexes in place, and once inside a
+-- transaction that drops them and is rolled back. Without the indexes the per-dog queries are sequential scans over all
+-- rows and the existence check reads the heap; with them they are index (only) scans touching a handful of pages. The
+-- DOG_LATEST_STATUS lookup goes through its primary key in both runs. HEART, MOBILITY and
+-- HEALTH_RECORD share the shapes of DENTAL and HORMONE. WEIGHT is partitioned by month (V20), the script creates the
+-- partitions of the seeded months.
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+    \set rows 10000000
+\endif
+\set dogs (:rows / 100)
+-- Seeded users and dogs get ids derived from their number, dog 42 is the one explained.
+\set dog_id '00000000-0001-7000-8000-000000000042'
+
+\timing on
+
+-- Seed ---------------------------------------------------------------------------------------------------------------
+
+INSERT INTO PERSONAL_DATA (PD_PARTICIPANT_ID, PD_EMAIL, PD_PASSWORD, PD_ROLE)
+SELECT ('00000000-0000-7000-8000-' || lpad(i::text, 12, '0'))::uuid, 'bench-' || i || '@example.com', 'x', 'USER'
+FROM generate_series(1, :dogs) AS i;
+
+INSERT INTO DOG (DOG_ID, DOG_OWNER, DOG_NAME, DOG_BREED)
+SELECT ('00000000-0001-7000-8000-' || lpad(i::text, 12, '0'))::uuid,
+       ('00000000-0000-7000-8000-' || lpad(i::text, 12, '0'))::uuid, 'Dog ' || i, 'Beagle'
+FROM generate_series(1, :dogs) AS i;
+
+SELECT CREATE_HISTORY_PARTITION('WEIGHT', MONTH::DATE)
+FROM generate_series(date_trunc('month', now() - make_interval(mins => :rows)), now(), INTERVAL '1 month') AS MONTH;
+
+INSERT INTO WEIGHT (WG_ID, WG_DOG_ID, WG_CURRENT, WG_CREATED_TS)
+SELECT gen_random_uuid(), ('00000000-0001-7000-8000-' || lpad((1 + i % :dogs)::text, 12, '0'))::uuid, 10 + random() * 10,
+       now() - make_interval(mins => i)
+FROM generate_series(1, :rows) AS i;
+
+INSERT INTO HORMONE (HM_ID, HM_DOG_ID, HM_THYROID_STATUS, HM_ADRENAL_STATUS, HM_PANCREATIC_STATUS, HM_CREATED_TS)
+SELECT gen_random_uuid(), ('00000000-0001-7000-8000-' || lpad((1 + i % :dogs)::text, 12, '0'))::uuid,
+       i % 3, (i / 3) % 3, (i / 9) % 3, now() - make_interval(mins => i)
+FROM generate_series(1, :rows) AS i;
+
+INSERT INTO DENTAL (DL_ID, DL_DOG_ID, DL_PLAQUE_STATUS, DL_TOOTH_LOSS, DL_GINGIVITIS_STATUS, DL_CREATED_TS)
+SELECT gen_random_uuid(), ('00000000-0001-7000-8000-' || lpad((1 + i % :dogs)::text, 12, '0'))::uuid, 2, false, 0,
+       now() - make_interval(mins => i)
+FROM generate_series(1, :rows) AS i;
+
+INSERT INTO DOG_LATEST_STATUS (DLS_DOG_ID, DLS_CATEGORY, DLS_RECORD_COUNT, DLS_UPDATED_TS)
+SELECT DOG_ID, CATEGORY, 100, now()
+FROM DOG
+         CROSS JOIN unnest(ARRAY ['WEIGHT', 'DENTAL', 'HEART', 'HEALTH_RECORD', 'THYROID', 'ADRENAL', 'PANCREATIC',
+                                  'LUXATION', 'DYSPLASIA', 'ARTHRITIS']) AS CATEGORY;
+
+VACUUM ANALYZE PERSONAL_DATA, DOG, WEIGHT, HORMONE, DENTAL, DOG_LATEST_STATUS;
+
+SELECT DL_ID AS dental_id FROM DENTAL WHERE DL_DOG_ID = :'dog_id' LIMIT 1 \gset
+-- The cursor of the second page of the weight history of the explained dog.
+SELECT WG_CREATED_TS AS cursor_ts, WG_ID AS cursor_id
+FROM WEIGHT
+WHERE WG_DOG_ID = :'dog_id'
+ORDER BY WG_CREATED_TS DESC, WG_ID DESC
+OFFSET 50 LIMIT 1 \gset
+
+-- Plans with indexes -------------------------------------------------------------------------------------------------
+
+\echo '=== WITH INDEXES ==='
+\ir history-index-queries.sql
+
+-- Plans without indexes ----------------------------------------------------------------------------------------------
+
+\echo '=== WITHOUT INDEXES ==='
+BEGIN;
+DROP INDEX IDX_WEIGHT_DOG_CREATED_TS;
+DROP INDEX IDX_HORMONE_DOG_CREATED_TS;
+DROP INDEX IDX_DENTAL_DOG_CREATED_TS;
+DROP INDEX IDX_DENTAL_ID_DOG;
+\ir history-index-queries.sql
+ROLLBACK;
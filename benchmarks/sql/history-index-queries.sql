@@ -0,0 +1,54 @@
+-- Repository queries explained by history-index-plans.sql.
+
+-- WeightRepository.findViewsByDog_Id, first page of the weight history (default limit + 1)
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT WG_ID, WG_CURRENT, WG_CREATED_TS
+FROM WEIGHT
+WHERE WG_DOG_ID = :'dog_id'
+ORDER BY WG_CREATED_TS DESC, WG_ID DESC
+LIMIT 51;
+
+-- WeightRepository.findViewsByDog_IdBefore, next page of the weight history after the cursor
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT WG_ID, WG_CURRENT, WG_CREATED_TS
+FROM WEIGHT
+WHERE WG_DOG_ID = :'dog_id'
+  AND WG_CREATED_TS <= :'cursor_ts'
+  AND (WG_CREATED_TS < :'cursor_ts' OR (WG_CREATED_TS = :'cursor_ts' AND WG_ID < :'cursor_id'))
+ORDER BY WG_CREATED_TS DESC, WG_ID DESC
+LIMIT 51;
+
+-- WeightRepository.countByDog_Id
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT count(*)
+FROM WEIGHT
+WHERE WG_DOG_ID = :'dog_id';
+
+-- HormoneRepository.findFirstByDog_IdOrderByCreatedTsDesc, latest hormone quiz result
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT HM_ID, HM_DOG_ID, HM_THYROID_STATUS, HM_ADRENAL_STATUS, HM_PANCREATIC_STATUS, HM_CREATED_TS
+FROM HORMONE
+WHERE HM_DOG_ID = :'dog_id'
+ORDER BY HM_CREATED_TS DESC
+LIMIT 1;
+
+-- DentalRepository.countByDog_Id
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT count(*)
+FROM DENTAL
+WHERE DL_DOG_ID = :'dog_id';
+
+-- DentalRepository.existsByIdAndDog_Id
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT DL_ID
+FROM DENTAL
+WHERE DL_ID = :'dental_id'
+  AND DL_DOG_ID = :'dog_id'
+LIMIT 1;
+
+-- DogLatestStatusRepository.findById_DogId, the dashboard read
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT DLS_DOG_ID, DLS_CATEGORY, DLS_RECORD_ID, DLS_MEASUREMENT, DLS_STATUS, DLS_HIGHLIGHT_KEYS, DLS_RECORD_COUNT,
+       DLS_RECORDED_TS, DLS_STALE_AFTER, DLS_UPDATED_TS
+FROM DOG_LATEST_STATUS
+WHERE DLS_DOG_ID = :'dog_id';
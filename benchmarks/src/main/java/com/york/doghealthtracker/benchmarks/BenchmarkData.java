@@ -0,0 +1,153 @@
+package com.york.doghealthtracker.benchmarks;
+
+import com.york.doghealthtracker.entity.*;
+import com.york.doghealthtracker.model.*;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates the records the benchmarks run on. Records are generated from a fixed seed, so every run of a benchmark
+ * evaluates the same records. Optional fields are left null for about one record in ten.
+ */
+public final class BenchmarkData {
+
+    /**
+     * The number of records a benchmark operates on per invocation.
+     */
+    public static final int RECORDS = 100_000;
+
+    /**
+     * A sample of the breeds with a goal weight range in application.yml.
+     */
+    public static final List<String> BREEDS = List.of(
+            "Labrador", "German Shepherd", "Golden Retriever", "Bulldog", "Beagle", "Poodle", "Rottweiler",
+            "Yorkshire Terrier", "Dachshund", "Boxer");
+
+    private static final long SEED = 42L;
+
+    private BenchmarkData() {
+    }
+
+    public static Random random() {
+        return new Random(SEED);
+    }
+
+    /**
+     * Binds a configuration properties class to the application.yml of the application.
+     *
+     * @param prefix The prefix of the properties.
+     * @param config The configuration properties instance to bind.
+     * @return the bound configuration properties instance.
+     */
+    public static <T> T applicationConfig(String prefix, T config) {
+        try {
+            Binder binder = new Binder(ConfigurationPropertySources.from(
+                    new YamlPropertySourceLoader().load("application.yml", new ClassPathResource("application.yml"))));
+            return binder.bind(prefix, Bindable.ofInstance(config)).orElse(config);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load application.yml", e);
+        }
+    }
+
+    public static DogEntity[] dogs(int count) {
+        Random random = random();
+        Gender[] genders = Gender.values();
+        DogEntity[] dogs = new DogEntity[count];
+        for (int i = 0; i < count; i++) {
+            UserEntity owner = new UserEntity();
+            owner.setId("user-" + i);
+
+            DogEntity dog = new DogEntity();
+            dog.setId("dog-" + i);
+            dog.setOwner(owner);
+            dog.setName("Dog " + i);
+            dog.setBreed(BREEDS.get(random.nextInt(BREEDS.size())));
+            dog.setGender(genders[random.nextInt(genders.length)]);
+            dog.setBirthDate(LocalDate.now().minusDays(365L + random.nextInt(15 * 365)));
+            dog.setIsNeutered(random.nextBoolean());
+            dog.setPhoto(random.nextInt(10) == 0 ? null : "http://localhost:8080/uploads/dog-" + i + "/photo.jpg");
+            dogs[i] = dog;
+        }
+        return dogs;
+    }
+
+    public static WeightEntity[] weights(int count) {
+        Random random = random();
+        LocalDateTime now = LocalDateTime.now();
+        WeightEntity[] weights = new WeightEntity[count];
+        for (int i = 0; i < count; i++) {
+            WeightEntity weight = new WeightEntity();
+            weight.setId("weight-" + i);
+            weight.setCurrent(2.0f + random.nextFloat() * 60.0f);
+            weight.setCreatedTs(now.minusDays(i));
+            weights[i] = weight;
+        }
+        return weights;
+    }
+
+    public static DentalEntity[] dentalRecords(int count) {
+        Random random = random();
+        PlaqueStatus[] plaques = PlaqueStatus.values();
+        GingivitisStatus[] gingivitis = GingivitisStatus.values();
+        LocalDateTime now = LocalDateTime.now();
+        DentalEntity[] records = new DentalEntity[count];
+        for (int i = 0; i < count; i++) {
+            records[i] = DentalEntity.builder()
+                    .id("dental-" + i)
+                    .plaqueStatus(random.nextInt(10) == 0 ? null : plaques[random.nextInt(plaques.length)])
+                    .toothLoss(random.nextInt(10) == 0 ? null : random.nextInt(5) == 0)
+                    .gingivitisStatus(random.nextInt(10) == 0 ? null : gingivitis[random.nextInt(gingivitis.length)])
+                    .lastCleaningDate(random.nextInt(10) == 0 ? null : now.toLocalDate().minusDays(random.nextInt(730)))
+                    .createdTs(now.minusDays(i))
+                    .build();
+        }
+        return records;
+    }
+
+    public static HeartEntity[] heartRecords(int count) {
+        Random random = random();
+        MurmurStatus[] murmurs = MurmurStatus.values();
+        LocalDateTime now = LocalDateTime.now();
+        HeartEntity[] records = new HeartEntity[count];
+        for (int i = 0; i < count; i++) {
+            records[i] = HeartEntity.builder()
+                    .id("heart-" + i)
+                    .hasFatigue(random.nextInt(10) == 0 ? null : random.nextInt(4) == 0)
+                    .isCoughing(random.nextInt(10) == 0 ? null : random.nextInt(5) == 0)
+                    .murmursStatus(random.nextInt(10) == 0 ? null : murmurs[random.nextInt(murmurs.length)])
+                    .heartRate(40 + random.nextInt(120))
+                    .breathingRate(5 + random.nextInt(40))
+                    .lastDirofilariaLastPrevention(random.nextInt(10) == 0 ? null : now.toLocalDate().minusDays(random.nextInt(90)))
+                    .createdTs(now.minusDays(i))
+                    .build();
+        }
+        return records;
+    }
+
+    /**
+     * @param count     The number of quizzes.
+     * @param questions The number of questions per quiz.
+     * @return the answers of every quiz.
+     */
+    public static QuizAnswer[][] quizAnswers(int count, int questions) {
+        Random random = random();
+        QuizAnswer[] answers = QuizAnswer.values();
+        QuizAnswer[][] quizzes = new QuizAnswer[count][questions];
+        for (int i = 0; i < count; i++) {
+            for (int j = 0; j < questions; j++) {
+                quizzes[i][j] = answers[random.nextInt(answers.length)];
+            }
+        }
+        return quizzes;
+    }
+}
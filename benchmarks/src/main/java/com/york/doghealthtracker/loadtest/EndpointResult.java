@@ -0,0 +1,38 @@
+package com.york.doghealthtracker.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * The measurements of an endpoint driven by the load test.
+ *
+ * @param name           The name of the endpoint.
+ * @param latenciesNanos The latency of every measured request, in nanoseconds.
+ * @param errors         The number of measured requests which failed or did not return a 2xx status.
+ * @param elapsedNanos   The wall clock time of the measured requests, in nanoseconds.
+ * @param statements     The number of SQL statements prepared by Hibernate during the measured requests.
+ */
+public record EndpointResult(String name, long[] latenciesNanos, int errors, long elapsedNanos, long statements) {
+
+    public int requests() {
+        return latenciesNanos.length;
+    }
+
+    /**
+     * @param percentile The percentile, between 0 and 100.
+     * @return the latency of the given percentile in milliseconds, by the nearest rank method.
+     */
+    public double latencyMillis(double percentile) {
+        long[] sorted = latenciesNanos.clone();
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+    }
+
+    public double throughputPerSecond() {
+        return requests() * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    public double statementsPerRequest() {
+        return (double) statements / requests();
+    }
+}
@@ -0,0 +1,13 @@
+package com.york.doghealthtracker.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.function.IntFunction;
+
+/**
+ * An endpoint driven by the load test.
+ *
+ * @param name    The name of the endpoint in the report.
+ * @param request Creates the n-th request to the endpoint. Called concurrently.
+ */
+public record EndpointScenario(String name, IntFunction<HttpRequest> request) {
+}
@@ -0,0 +1,178 @@
+package com.york.doghealthtracker.loadtest;
+
+import com.york.doghealthtracker.entity.UuidV7Generator;
+import com.york.doghealthtracker.model.*;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Seeds users and dogs with years of health history into a database migrated by Flyway.
+ * Every user has one dog, and every dog a weight per week, a heart record and a health record per month, a dental
+ * record per quarter, and a hormone and mobility quiz result per half year. Enum columns get random codes in the range
+ * of the converters of the application. History is generated by set based inserts, so seeding thousands of dogs takes
+ * seconds. Like the application, the seeder keys rows by version 7 UUIDs,
+ * timestamped with the creation time of the row, so that the indexes have the layout of a production database. All
+ * emails start with the prefix of the run, so runs against an existing database do not collide.
+ */
+public class HistorySeeder {
+
+    /**
+     * A version 7 UUID with the timestamp ts: the first 6 bytes of a random UUID are replaced by the timestamp in
+     * milliseconds, and its version is changed from 4 to 7 by setting two bits.
+     */
+    private static final String UUID_V7 = """
+            encode(set_bit(set_bit(overlay(uuid_send(gen_random_uuid())
+                placing substring(int8send(floor(extract(epoch FROM ts) * 1000)::bigint) FROM 3) FROM 1 FOR 6),
+                52, 1), 53, 1), 'hex')::uuid""";
+
+    private static final String INSERT_USERS = """
+            INSERT INTO PERSONAL_DATA (PD_PARTICIPANT_ID, PD_EMAIL, PD_PASSWORD, PD_ROLE, PD_ONBOARDING_COMPLETED,
+                                       PD_CONSENT_GRANTED, PD_CONSENT_TIMESTAMP, PD_CREATION_TS)
+            SELECT id, ? || 'user-' || u || '@loadtest.example.com', ?, 'USER', true, true, now(), now()
+            FROM unnest(?::uuid[]) WITH ORDINALITY AS s(id, u)
+            """;
+
+    private static final String INSERT_DOGS = """
+            INSERT INTO DOG (DOG_ID, DOG_OWNER, DOG_NAME, DOG_BREED, DOG_BIRTH_DATE, DOG_NURTURED)
+            SELECT dog_id, owner_id, 'Dog ' || u, (?::text[])[1 + u % cardinality(?::text[])],
+                   current_date - (365 * (1 + u % 12))::int, u % 2 = 0
+            FROM unnest(?::uuid[], ?::uuid[]) WITH ORDINALITY AS s(dog_id, owner_id, u)
+            """;
+
+    /**
+     * The monthly partitions of WEIGHT and HEART for the seeded history; the application only creates those of the
+     * coming months.
+     */
+    private static final String CREATE_PARTITIONS = """
+            SELECT CREATE_HISTORY_PARTITION(partitioned_table, month::date)
+            FROM unnest(ARRAY ['WEIGHT', 'HEART']) AS partitioned_table,
+                 generate_series(date_trunc('month', now() - make_interval(years => ?)), now(), INTERVAL '1 month') AS month
+            """;
+
+    private static final String INSERT_WEIGHTS = """
+            INSERT INTO WEIGHT (WG_ID, WG_DOG_ID, WG_CURRENT, WG_CREATED_TS)
+            SELECT %s, dog_id, round((5 + u %% 40 + random() * 4)::numeric, 2), ts
+            FROM unnest(?::uuid[]) WITH ORDINALITY AS s(dog_id, u), generate_series(0, ? * 52 - 1) AS w,
+                 LATERAL (SELECT now() - make_interval(weeks => w) AS ts) AS t
+            """.formatted(UUID_V7);
+
+    private static final String INSERT_HEART_RECORDS = """
+            INSERT INTO HEART (HT_ID, HT_DOG_ID, HT_FATIGUE, HT_COUGHING, HT_MURMURS, HT_HEART_RATE, HT_BREATHING_RATE,
+                               HT_DIROFILARIA_LAST_PREVENTION, HT_CREATED_TS)
+            SELECT %s, dog_id, random() < 0.2, random() < 0.1,
+                   floor(random() * ?)::smallint, 50 + floor(random() * 90)::smallint, 8 + floor(random() * 35)::smallint,
+                   current_date - make_interval(months => m, days => floor(random() * 60)::int), ts
+            FROM unnest(?::uuid[]) AS dog_id, generate_series(0, ? * 12 - 1) AS m,
+                 LATERAL (SELECT now() - make_interval(months => m) AS ts) AS t
+            """.formatted(UUID_V7);
+
+    private static final String INSERT_DENTAL_RECORDS = """
+            INSERT INTO DENTAL (DL_ID, DL_DOG_ID, DL_PLAQUE_STATUS, DL_TOOTH_LOSS, DL_GINGIVITIS_STATUS,
+                                DL_LAST_CLEANING_DATE, DL_CREATED_TS)
+            SELECT %s, dog_id, floor(random() * ?)::smallint, random() < 0.1, floor(random() * ?)::smallint,
+                   current_date - make_interval(months => 3 * q + floor(random() * 18)::int), ts
+            FROM unnest(?::uuid[]) AS dog_id, generate_series(0, ? * 4 - 1) AS q,
+                 LATERAL (SELECT now() - make_interval(months => 3 * q) AS ts) AS t
+            """.formatted(UUID_V7);
+
+    private static final String INSERT_QUIZ_RESULTS = """
+            INSERT INTO %1$s (%2$s_ID, %2$s_DOG_ID, %2$s_%3$s_STATUS, %2$s_%4$s_STATUS, %2$s_%5$s_STATUS, %2$s_CREATED_TS)
+            SELECT %6$s, dog_id, floor(random() * ?)::smallint, floor(random() * ?)::smallint,
+                   floor(random() * ?)::smallint, ts
+            FROM unnest(?::uuid[]) AS dog_id, generate_series(0, ? * 2 - 1) AS h,
+                 LATERAL (SELECT now() - make_interval(months => 6 * h) AS ts) AS t
+            """;
+
+    private static final String INSERT_HEALTH_RECORDS = """
+            INSERT INTO HEALTH_RECORD (HR_ID, HR_DOG_ID, HR_DOCUMENT_NAME, HR_DOCUMENT_URL, HR_CONTENT_TYPE, HR_CREATED_TS)
+            SELECT %s, dog_id, 'Record ' || m,
+                   'http://localhost/uploads/' || dog_id || '/record-' || m || '.pdf', 'application/pdf', ts
+            FROM unnest(?::uuid[]) AS dog_id, generate_series(0, ? * 12 - 1) AS m,
+                 LATERAL (SELECT now() - make_interval(months => m) AS ts) AS t
+            """.formatted(UUID_V7);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public HistorySeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Seeds the users and dogs of a run with their history.
+     *
+     * @param prefix          The prefix of all emails of the run.
+     * @param users           The number of users to seed.
+     * @param historyYears    The years of history to seed per dog.
+     * @param encodedPassword The encoded password of every user.
+     * @param breeds          The breeds to assign to the dogs.
+     * @return the seeded users, with their dogs.
+     */
+    public List<SeededUser> seed(String prefix, int users, int historyYears, String encodedPassword, Collection<String> breeds) {
+        int statuses = QuizCategoryStatus.values().length;
+        UUID[] userIds = new UUID[users];
+        UUID[] dogIds = new UUID[users];
+        for (int u = 0; u < users; u++) {
+            userIds[u] = UuidV7Generator.next();
+            dogIds[u] = UuidV7Generator.next();
+        }
+
+        execute(INSERT_USERS, prefix, encodedPassword, userIds);
+        execute(INSERT_DOGS, breeds.toArray(String[]::new), breeds.toArray(String[]::new), dogIds, userIds);
+        jdbcTemplate.queryForList(CREATE_PARTITIONS, Boolean.class, historyYears);
+        execute(INSERT_WEIGHTS, dogIds, historyYears);
+        execute(INSERT_HEART_RECORDS, MurmurStatus.values().length, dogIds, historyYears);
+        execute(INSERT_DENTAL_RECORDS, PlaqueStatus.values().length, GingivitisStatus.values().length, dogIds,
+                historyYears);
+        execute(quizResults("HORMONE", "HM", HormoneCategory.values()), statuses, statuses, statuses, dogIds,
+                historyYears);
+        execute(quizResults("MOBILITY", "MB", MobilityCategory.values()), statuses, statuses, statuses, dogIds,
+                historyYears);
+        execute(INSERT_HEALTH_RECORDS, dogIds, historyYears);
+        jdbcTemplate.execute("ANALYZE");
+
+        List<SeededUser> seeded = new ArrayList<>(users);
+        for (int u = 0; u < users; u++) {
+            seeded.add(new SeededUser(userIds[u].toString(), prefix + "user-" + (u + 1) + "@loadtest.example.com",
+                    dogIds[u].toString()));
+        }
+        return seeded;
+    }
+
+    private void execute(String sql, Object... params) {
+        jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < params.length; i++) {
+                    if (params[i] instanceof String[] array) {
+                        statement.setArray(i + 1, connection.createArrayOf("text", array));
+                    } else if (params[i] instanceof UUID[] array) {
+                        statement.setArray(i + 1, connection.createArrayOf("uuid", array));
+                    } else {
+                        statement.setObject(i + 1, params[i]);
+                    }
+                }
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    private static String quizResults(String table, String prefix, Enum<?>[] categories) {
+        return INSERT_QUIZ_RESULTS.formatted(table, prefix, categories[0].name(), categories[1].name(),
+                categories[2].name(), UUID_V7);
+    }
+
+    /**
+     * A seeded user and its dog.
+     *
+     * @param participantId The id of the user.
+     * @param email         The email of the user.
+     * @param dogId         The id of the dog of the user.
+     */
+    public record SeededUser(String participantId, String email, String dogId) {
+    }
+}
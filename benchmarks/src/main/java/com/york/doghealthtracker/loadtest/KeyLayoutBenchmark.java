@@ -0,0 +1,149 @@
+package com.york.doghealthtracker.loadtest;
+
+import com.york.doghealthtracker.entity.UuidV7Generator;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Compares the primary key layout the schema had before migration V18, random version 4 UUIDs stored as VARCHAR(36),
+ * with the one it has since, time ordered version 7 UUIDs stored as native uuid.
+ * For each layout, creates a dog table and a weight table shaped like the real ones (a primary key, a foreign key to
+ * the dog and the history index on dog and creation time), inserts the same number of weights in JDBC batches, and
+ * reports the insert throughput, overall and over the last tenth of the rows when the indexes are largest, and the size
+ * of the table and of its indexes.
+ * <p>
+ * Run with, after installing the application:
+ * <pre>
+ *     ../mvnw -f benchmarks/pom.xml compile exec:java@key-layout -Dkeylayout.rows=2000000
+ * </pre>
+ * Runs against an embedded PostgreSQL, or the existing database given by loadtest.jdbc-url, loadtest.jdbc-username
+ * and loadtest.jdbc-password, in which the benchmark tables are created and dropped again.
+ */
+public final class KeyLayoutBenchmark {
+
+    private static final int ROWS = Integer.getInteger("keylayout.rows", 1_000_000);
+    private static final int DOGS = Integer.getInteger("keylayout.dogs", 10_000);
+    private static final int BATCH_SIZE = Integer.getInteger("keylayout.batch-size", 1_000);
+
+    private KeyLayoutBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        EmbeddedPostgres embeddedDatabase = settings.useEmbeddedDatabase() ? EmbeddedPostgres.builder().start() : null;
+        try (Connection connection = embeddedDatabase != null
+                ? embeddedDatabase.getPostgresDatabase().getConnection()
+                : DriverManager.getConnection(settings.jdbcUrl(), settings.jdbcUsername(), settings.jdbcPassword())) {
+            List<Result> results = new ArrayList<>();
+            results.add(run(connection, new Layout("VARCHAR(36), random v4", "VARCHAR(36)",
+                    () -> UUID.randomUUID().toString())));
+            results.add(run(connection, new Layout("uuid, time ordered v7", "UUID", UuidV7Generator::next)));
+            printReport(results);
+        } finally {
+            if (embeddedDatabase != null) {
+                embeddedDatabase.close();
+            }
+        }
+    }
+
+    private static Result run(Connection connection, Layout layout) throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS KL_WEIGHT, KL_DOG");
+            statement.execute("CREATE TABLE KL_DOG (DOG_ID %s PRIMARY KEY)".formatted(layout.columnType()));
+            statement.execute("""
+                    CREATE TABLE KL_WEIGHT (
+                        WG_ID %1$s PRIMARY KEY,
+                        WG_DOG_ID %1$s NOT NULL REFERENCES KL_DOG (DOG_ID),
+                        WG_CURRENT NUMERIC(5, 2) NOT NULL,
+                        WG_CREATED_TS TIMESTAMP(6) NOT NULL)
+                    """.formatted(layout.columnType()));
+            statement.execute("CREATE INDEX KL_WEIGHT_DOG_CREATED_TS ON KL_WEIGHT (WG_DOG_ID, WG_CREATED_TS DESC)");
+        }
+
+        connection.setAutoCommit(false);
+        Object[] dogIds = new Object[DOGS];
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO KL_DOG (DOG_ID) VALUES (?)")) {
+            for (int i = 0; i < DOGS; i++) {
+                dogIds[i] = layout.ids().get();
+                insert.setObject(1, dogIds[i]);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+
+        long start = System.nanoTime();
+        long lastTenthStart = start;
+        int lastTenthFrom = ROWS - ROWS / 10;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO KL_WEIGHT (WG_ID, WG_DOG_ID, WG_CURRENT, WG_CREATED_TS) VALUES (?, ?, ?, ?)")) {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            for (int row = 0; row < ROWS; row++) {
+                if (row == lastTenthFrom) {
+                    lastTenthStart = System.nanoTime();
+                }
+                insert.setObject(1, layout.ids().get());
+                insert.setObject(2, dogIds[row % DOGS]);
+                insert.setDouble(3, 5 + row % 40);
+                insert.setTimestamp(4, now);
+                insert.addBatch();
+                if ((row + 1) % BATCH_SIZE == 0 || row == ROWS - 1) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        long end = System.nanoTime();
+
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("VACUUM ANALYZE KL_WEIGHT");
+            try (ResultSet sizes = statement.executeQuery("""
+                    SELECT pg_relation_size('KL_WEIGHT'), pg_relation_size('KL_WEIGHT_PKEY'),
+                           pg_relation_size('KL_WEIGHT_DOG_CREATED_TS')
+                    """)) {
+                sizes.next();
+                Result result = new Result(layout.name(),
+                        ROWS / seconds(end - start), (ROWS - lastTenthFrom) / seconds(end - lastTenthStart),
+                        sizes.getLong(1), sizes.getLong(2), sizes.getLong(3));
+                statement.execute("DROP TABLE KL_WEIGHT, KL_DOG");
+                return result;
+            }
+        }
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1_000_000_000d;
+    }
+
+    private static void printReport(List<Result> results) {
+        System.out.printf("%nKey layout: %d weights of %d dogs, inserted in batches of %d%n%n", ROWS, DOGS, BATCH_SIZE);
+        System.out.printf("%-24s %12s %15s %10s %10s %14s%n",
+                "Layout", "Rows/s", "Last 10% rows/s", "Table MB", "PK MB", "Dog index MB");
+        for (Result result : results) {
+            System.out.printf(Locale.ROOT, "%-24s %12.0f %15.0f %10.1f %10.1f %14.1f%n",
+                    result.layout(), result.rowsPerSecond(), result.lastTenthRowsPerSecond(),
+                    megabytes(result.tableBytes()), megabytes(result.primaryKeyBytes()),
+                    megabytes(result.dogIndexBytes()));
+        }
+        System.out.println();
+    }
+
+    private static double megabytes(long bytes) {
+        return bytes / (1024d * 1024d);
+    }
+
+    private record Layout(String name, String columnType, Supplier<Object> ids) {
+    }
+
+    private record Result(String layout, double rowsPerSecond, double lastTenthRowsPerSecond, long tableBytes,
+                          long primaryKeyBytes, long dogIndexBytes) {
+    }
+}
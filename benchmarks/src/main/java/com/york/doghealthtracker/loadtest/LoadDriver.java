@@ -0,0 +1,83 @@
+package com.york.doghealthtracker.loadtest;
+
+import org.hibernate.stat.Statistics;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives one endpoint at a time with a fixed number of concurrent clients, each sending its next request as soon as
+ * the previous one completes. Endpoints are driven one after the other, so the SQL statements counted by the Hibernate
+ * statistics during a run all belong to the driven endpoint.
+ */
+public class LoadDriver {
+
+    private final HttpClient httpClient;
+    private final Statistics statistics;
+    private final int concurrency;
+
+    public LoadDriver(HttpClient httpClient, Statistics statistics, int concurrency) {
+        this.httpClient = httpClient;
+        this.statistics = statistics;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Sends unmeasured warm-up requests, then measured requests to the endpoint of the given scenario.
+     *
+     * @param scenario       The scenario of the endpoint.
+     * @param warmupRequests The number of warm-up requests.
+     * @param requests       The number of measured requests.
+     * @return the EndpointResult of the measured requests.
+     */
+    public EndpointResult drive(EndpointScenario scenario, int warmupRequests, int requests) throws InterruptedException {
+        if (warmupRequests > 0) {
+            run(scenario, 0, warmupRequests, new long[warmupRequests]);
+        }
+
+        long[] latencies = new long[requests];
+        long statementsBefore = statistics.getPrepareStatementCount();
+        long start = System.nanoTime();
+        int errors = run(scenario, warmupRequests, requests, latencies);
+        long elapsed = System.nanoTime() - start;
+        long statements = statistics.getPrepareStatementCount() - statementsBefore;
+
+        return new EndpointResult(scenario.name(), latencies, errors, elapsed, statements);
+    }
+
+    private int run(EndpointScenario scenario, int firstRequest, int requests, long[] latencies) throws InterruptedException {
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                tasks.add(() -> {
+                    for (int n = next.getAndIncrement(); n < requests; n = next.getAndIncrement()) {
+                        HttpRequest request = scenario.request().apply(firstRequest + n);
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() / 100 != 2) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[n] = System.nanoTime() - start;
+                    }
+                    return null;
+                });
+            }
+            clients.invokeAll(tasks);
+        } finally {
+            clients.shutdownNow();
+        }
+        return errors.get();
+    }
+}
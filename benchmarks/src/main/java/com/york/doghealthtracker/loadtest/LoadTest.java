@@ -0,0 +1,230 @@
+package com.york.doghealthtracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.york.doghealthtracker.DoghealthtrackerApplication;
+import com.york.doghealthtracker.config.DogConfig;
+import com.york.doghealthtracker.loadtest.HistorySeeder.SeededUser;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * End-to-end load test of the application.
+ * Starts the application against an embedded PostgreSQL (or an existing database, see LoadTestSettings), so the
+ * schema is created by the real Flyway migrations, and seeds users and dogs with years of history. Then drives the
+ * dashboard, weight history and health record upload endpoints over HTTP, one endpoint at a time, and reports the
+ * p50 and p99 latency, the throughput, and the number of SQL statements per request of every endpoint.
+ * The application runs with its own configuration, except for the database, the upload location, a random port, the
+ * Hibernate statistics used to count statements, and application logging above INFO only.
+ * <p>
+ * Run with, after installing the application:
+ * <pre>
+ *     ../mvnw -f benchmarks/pom.xml compile exec:java@load-test -Dloadtest.users=500 -Dloadtest.concurrency=32
+ * </pre>
+ */
+public final class LoadTest {
+
+    private static final String PASSWORD = "load-test-password";
+    private static final String MULTIPART_BOUNDARY = "load-test-boundary";
+
+    private final LoadTestSettings settings;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient;
+    private final String baseUrl;
+
+    private LoadTest(LoadTestSettings settings, int port, ExecutorService httpExecutor) {
+        this.settings = settings;
+        this.baseUrl = "http://localhost:" + port;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(httpExecutor)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        Path uploadLocation = Files.createTempDirectory("load-test-uploads");
+        EmbeddedPostgres embeddedDatabase = settings.useEmbeddedDatabase() ? EmbeddedPostgres.builder().start() : null;
+        ExecutorService httpExecutor = Executors.newCachedThreadPool();
+
+        try {
+            Map<String, Object> properties = new HashMap<>();
+            properties.put("spring.datasource.url", embeddedDatabase != null
+                    ? embeddedDatabase.getJdbcUrl("postgres", "postgres")
+                    : settings.jdbcUrl());
+            properties.put("spring.datasource.username", embeddedDatabase != null ? "postgres" : settings.jdbcUsername());
+            properties.put("spring.datasource.password", embeddedDatabase != null ? "postgres" : settings.jdbcPassword());
+            properties.put("server.port", 0);
+            properties.put("app.file-storage.type", "filesystem");
+            properties.put("app.file-storage.location", uploadLocation.toString());
+            properties.put("spring.jpa.properties.hibernate.generate_statistics", true);
+            properties.put("logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener", "WARN");
+            properties.put("logging.level.com.york.doghealthtracker", "WARN");
+
+            // passed as command line arguments, which take precedence over application.yml
+            List<String> arguments = new ArrayList<>(Arrays.asList(args));
+            properties.forEach((name, value) -> arguments.add("--" + name + "=" + value));
+
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DoghealthtrackerApplication.class)
+                    .run(arguments.toArray(String[]::new))) {
+                int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                new LoadTest(settings, port, httpExecutor).run(context);
+            }
+        } finally {
+            httpExecutor.shutdownNow();
+            if (embeddedDatabase != null) {
+                embeddedDatabase.close();
+            }
+            FileSystemUtils.deleteRecursively(uploadLocation);
+        }
+    }
+
+    private void run(ConfigurableApplicationContext context) throws Exception {
+        String prefix = "lt-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+        HistorySeeder seeder = new HistorySeeder(context.getBean(JdbcTemplate.class));
+
+        long seedStart = System.nanoTime();
+        List<SeededUser> users = seeder.seed(prefix, settings.users(), settings.historyYears(),
+                context.getBean(PasswordEncoder.class).encode(PASSWORD),
+                context.getBean(DogConfig.class).getGoalWeightRanges().keySet());
+        long seedMillis = (System.nanoTime() - seedStart) / 1_000_000;
+
+        List<Session> sessions = login(users);
+
+        Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        LoadDriver driver = new LoadDriver(httpClient, statistics, settings.concurrency());
+        byte[] document = document(settings.uploadSizeBytes());
+
+        List<EndpointScenario> scenarios = List.of(
+                new EndpointScenario("GET /users/{participant-id}/dashboard", n -> {
+                    Session session = sessions.get(n % sessions.size());
+                    return authorized(session, "/users/" + session.user().participantId() + "/dashboard").GET().build();
+                }),
+                new EndpointScenario("GET /dogs/{dog-id}/weights", n -> {
+                    Session session = sessions.get(n % sessions.size());
+                    return authorized(session, "/dogs/" + session.user().dogId() + "/weights").GET().build();
+                }),
+                new EndpointScenario("POST /dogs/{dog-id}/health-records", n -> {
+                    Session session = sessions.get(n % sessions.size());
+                    return authorized(session, "/dogs/" + session.user().dogId() + "/health-records")
+                            .header("Content-Type", "multipart/form-data; boundary=" + MULTIPART_BOUNDARY)
+                            .POST(HttpRequest.BodyPublishers.ofByteArray(uploadBody(document, n)))
+                            .build();
+                }));
+
+        List<EndpointResult> results = new ArrayList<>();
+        for (EndpointScenario scenario : scenarios) {
+            results.add(driver.drive(scenario, settings.warmupRequests(), settings.requests()));
+        }
+
+        printReport(seedMillis, results);
+    }
+
+    /**
+     * Logs every seeded user in, with the configured concurrency.
+     */
+    private List<Session> login(List<SeededUser> users) throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(settings.concurrency());
+        try {
+            List<Future<Session>> sessions = new ArrayList<>(users.size());
+            for (SeededUser user : users) {
+                sessions.add(executor.submit(() -> login(user)));
+            }
+            List<Session> loggedIn = new ArrayList<>(users.size());
+            for (Future<Session> session : sessions) {
+                loggedIn.add(session.get());
+            }
+            return loggedIn;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Session login(SeededUser user) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of("email", user.email(), "password", PASSWORD));
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login of " + user.email() + " failed with status " + response.statusCode());
+        }
+        JsonNode jwt = objectMapper.readTree(response.body());
+        return new Session(user, jwt.get("token").asText());
+    }
+
+    private HttpRequest.Builder authorized(Session session, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + session.token())
+                .timeout(Duration.ofSeconds(60));
+    }
+
+    private static byte[] document(int size) {
+        byte[] document = new byte[size];
+        new Random(42).nextBytes(document);
+        byte[] header = "%PDF-1.7\n".getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(header, 0, document, 0, Math.min(header.length, size));
+        return document;
+    }
+
+    /**
+     * Builds the multipart body of the n-th upload. The request number is written into the document, so that every
+     * upload has distinct content.
+     */
+    private static byte[] uploadBody(byte[] document, int n) {
+        byte[] content = document.clone();
+        ByteBuffer.wrap(content, content.length - Integer.BYTES, Integer.BYTES).putInt(n);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(content.length + 512);
+        body.writeBytes(("--" + MULTIPART_BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"documentName\"\r\n\r\n"
+                + "Load test record " + n + "\r\n"
+                + "--" + MULTIPART_BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"record-" + n + ".pdf\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(content);
+        body.writeBytes(("\r\n--" + MULTIPART_BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return body.toByteArray();
+    }
+
+    private void printReport(long seedMillis, List<EndpointResult> results) {
+        System.out.printf("%nLoad test: %d users and dogs with %d years of history (seeded in %d ms), "
+                        + "%d concurrent clients, %d warm-up and %d measured requests per endpoint%n%n",
+                settings.users(), settings.historyYears(), seedMillis, settings.concurrency(),
+                settings.warmupRequests(), settings.requests());
+        System.out.printf("%-40s %9s %7s %9s %9s %9s %10s %8s%n",
+                "Endpoint", "Requests", "Errors", "p50 ms", "p99 ms", "Max ms", "Req/s", "SQL/req");
+        for (EndpointResult result : results) {
+            System.out.printf(Locale.ROOT, "%-40s %9d %7d %9.2f %9.2f %9.2f %10.1f %8.2f%n",
+                    result.name(), result.requests(), result.errors(), result.latencyMillis(50), result.latencyMillis(99),
+                    result.latencyMillis(100), result.throughputPerSecond(), result.statementsPerRequest());
+        }
+        System.out.println();
+    }
+
+    private record Session(SeededUser user, String token) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.york.doghealthtracker.loadtest;
+
+/**
+ * Settings of a load test run, read from system properties.
+ *
+ * @param users              The number of users to seed, each with one dog (loadtest.users).
+ * @param historyYears       The years of health history to seed per dog (loadtest.history-years).
+ * @param concurrency        The number of concurrent clients driving an endpoint (loadtest.concurrency).
+ * @param requests           The number of measured requests per endpoint (loadtest.requests).
+ * @param warmupRequests     The number of unmeasured requests per endpoint before the measured ones
+ *                           (loadtest.warmup-requests).
+ * @param uploadSizeBytes    The size of the uploaded health record documents (loadtest.upload-size-bytes).
+ * @param jdbcUrl            The JDBC URL of an existing PostgreSQL database to run against, or null to run against an
+ *                           embedded PostgreSQL (loadtest.jdbc-url).
+ * @param jdbcUsername       The username of the existing database (loadtest.jdbc-username).
+ * @param jdbcPassword       The password of the existing database (loadtest.jdbc-password).
+ */
+public record LoadTestSettings(int users,
+                               int historyYears,
+                               int concurrency,
+                               int requests,
+                               int warmupRequests,
+                               int uploadSizeBytes,
+                               String jdbcUrl,
+                               String jdbcUsername,
+                               String jdbcPassword) {
+
+    public LoadTestSettings {
+        if (users < 1 || historyYears < 1 || concurrency < 1 || requests < 1 || warmupRequests < 0 || uploadSizeBytes < 1) {
+            throw new IllegalArgumentException("Invalid load test settings: users, history-years, concurrency, requests and "
+                    + "upload-size-bytes must be positive, warmup-requests must not be negative.");
+        }
+    }
+
+    public static LoadTestSettings fromSystemProperties() {
+        String jdbcUrl = System.getProperty("loadtest.jdbc-url");
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.users", 200),
+                Integer.getInteger("loadtest.history-years", 3),
+                Integer.getInteger("loadtest.concurrency", 16),
+                Integer.getInteger("loadtest.requests", 2000),
+                Integer.getInteger("loadtest.warmup-requests", 500),
+                Integer.getInteger("loadtest.upload-size-bytes", 64 * 1024),
+                jdbcUrl == null || jdbcUrl.isBlank() ? null : jdbcUrl,
+                System.getProperty("loadtest.jdbc-username", "postgres"),
+                System.getProperty("loadtest.jdbc-password", "postgres"));
+    }
+
+    public boolean useEmbeddedDatabase() {
+        return jdbcUrl == null;
+    }
+}
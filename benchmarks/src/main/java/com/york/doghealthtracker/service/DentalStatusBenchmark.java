@@ -0,0 +1,45 @@
+package com.york.doghealthtracker.service;
+
+import com.york.doghealthtracker.benchmarks.BenchmarkData;
+import com.york.doghealthtracker.entity.DentalEntity;
+import com.york.doghealthtracker.model.DentalResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks DentalService.calculateDentalStatus on 100k dental records, mapped to their responses upfront as the
+ * calculation works on responses. The service is constructed without its repositories, which the calculation does
+ * not use.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DentalStatusBenchmark {
+
+    private DentalService dentalService;
+    private DentalResponse[] responses;
+
+    @Setup
+    public void setUp() {
+        dentalService = new DentalService(null, null, null, null, null);
+
+        DentalEntity[] records = BenchmarkData.dentalRecords(BenchmarkData.RECORDS);
+        responses = new DentalResponse[records.length];
+        for (int i = 0; i < records.length; i++) {
+            responses[i] = dentalService.mapToDentalResponse(records[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkData.RECORDS)
+    public void dentalStatus(Blackhole blackhole) {
+        for (DentalResponse response : responses) {
+            blackhole.consume(dentalService.calculateDentalStatus(response));
+        }
+    }
+}
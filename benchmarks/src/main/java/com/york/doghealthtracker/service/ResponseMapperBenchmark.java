@@ -0,0 +1,87 @@
+package com.york.doghealthtracker.service;
+
+import com.york.doghealthtracker.benchmarks.BenchmarkData;
+import com.york.doghealthtracker.entity.DogEntity;
+import com.york.doghealthtracker.repository.projection.DentalView;
+import com.york.doghealthtracker.repository.projection.HeartView;
+import com.york.doghealthtracker.repository.projection.WeightView;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the response mappers of the services on 100k records each: the dog entity mapper, and the projection
+ * mappers the history endpoints use. The services are constructed without their collaborators, which the mappers do
+ * not use.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseMapperBenchmark {
+
+    private DogService dogService;
+    private WeightService weightService;
+    private DentalService dentalService;
+    private HeartService heartService;
+
+    private DogEntity[] dogs;
+    private WeightView[] weights;
+    private DentalView[] dentalRecords;
+    private HeartView[] heartRecords;
+
+    @Setup
+    public void setUp() {
+        dogService = new DogService(null, null, null, null, null);
+        weightService = new WeightService(null, null, null, null, null, null, null);
+        dentalService = new DentalService(null, null, null, null, null);
+        heartService = new HeartService(null, null, null, null, null, null);
+
+        dogs = BenchmarkData.dogs(BenchmarkData.RECORDS);
+        weights = Arrays.stream(BenchmarkData.weights(BenchmarkData.RECORDS))
+                .map(WeightView::of)
+                .toArray(WeightView[]::new);
+        dentalRecords = Arrays.stream(BenchmarkData.dentalRecords(BenchmarkData.RECORDS))
+                .map(DentalView::of)
+                .toArray(DentalView[]::new);
+        heartRecords = Arrays.stream(BenchmarkData.heartRecords(BenchmarkData.RECORDS))
+                .map(HeartView::of)
+                .toArray(HeartView[]::new);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkData.RECORDS)
+    public void dogResponse(Blackhole blackhole) {
+        for (DogEntity dog : dogs) {
+            blackhole.consume(dogService.mapToDogResponse(dog));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkData.RECORDS)
+    public void weightResponse(Blackhole blackhole) {
+        for (WeightView weight : weights) {
+            blackhole.consume(weightService.mapToResponse(weight));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkData.RECORDS)
+    public void dentalResponse(Blackhole blackhole) {
+        for (DentalView record : dentalRecords) {
+            blackhole.consume(dentalService.mapToDentalResponse(record));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkData.RECORDS)
+    public void heartResponse(Blackhole blackhole) {
+        for (HeartView record : heartRecords) {
+            blackhole.consume(heartService.toResponse(record));
+        }
+    }
+}
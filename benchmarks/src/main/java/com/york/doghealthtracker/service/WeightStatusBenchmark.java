@@ -0,0 +1,50 @@
+package com.york.doghealthtracker.service;
+
+import com.york.doghealthtracker.benchmarks.BenchmarkData;
+import com.york.doghealthtracker.config.DogConfig;
+import com.york.doghealthtracker.entity.DogEntity;
+import com.york.doghealthtracker.entity.WeightEntity;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks WeightService.calculateWeightStatus on 100k weights of dogs of various breeds, with the goal weight
+ * ranges of application.yml. The service is constructed without its repositories, which the calculation does not use.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WeightStatusBenchmark {
+
+    private WeightService weightService;
+    private String[] breeds;
+    private float[] weights;
+
+    @Setup
+    public void setUp() {
+        DogConfig dogConfig = BenchmarkData.applicationConfig("dog", new DogConfig());
+        weightService = new WeightService(null, null, dogConfig, null, null, null, null);
+
+        DogEntity[] dogs = BenchmarkData.dogs(BenchmarkData.RECORDS);
+        WeightEntity[] records = BenchmarkData.weights(BenchmarkData.RECORDS);
+        breeds = new String[BenchmarkData.RECORDS];
+        weights = new float[BenchmarkData.RECORDS];
+        for (int i = 0; i < BenchmarkData.RECORDS; i++) {
+            breeds[i] = dogs[i].getBreed();
+            weights[i] = records[i].getCurrent();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkData.RECORDS)
+    public void weightStatus(Blackhole blackhole) {
+        for (int i = 0; i < breeds.length; i++) {
+            blackhole.consume(weightService.calculateWeightStatus(breeds[i], weights[i]));
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.york.doghealthtracker.service.highlight;
+
+import com.york.doghealthtracker.benchmarks.BenchmarkData;
+import com.york.doghealthtracker.entity.HeartEntity;
+import com.york.doghealthtracker.model.HeartResponse;
+import com.york.doghealthtracker.model.MurmurStatus;
+import com.york.doghealthtracker.model.QuizCategoryStatus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the evaluation of the status and the health highlights of heart records by HeartEvaluator with the
+ * evaluation it replaced, over 100k heart records. The replaced evaluation worked on a HeartResponse, so it converted
+ * the rates of every record to BigDecimal and back to float, and calculated the status of every record twice.
+ * Mapping the records to their responses is left out, as it is the same for both.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HeartEvaluationBenchmark {
+
+    private HeartEntity[] records;
+
+    @Setup
+    public void setUp() {
+        records = BenchmarkData.heartRecords(BenchmarkData.RECORDS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkData.RECORDS)
+    public void replacedEvaluation(Blackhole blackhole) {
+        for (HeartEntity record : records) {
+            HeartResponse response = ReplacedHeartEvaluation.toResponse(record);
+            QuizCategoryStatus status = ReplacedHeartEvaluation.calculateHeartStatus(response);
+            HighlightSet highlights = ReplacedHeartEvaluation.heartHighlights(response,
+                    ReplacedHeartEvaluation.calculateHeartStatus(response));
+            blackhole.consume(status);
+            blackhole.consume(highlights);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkData.RECORDS)
+    public void heartEvaluator(Blackhole blackhole) {
+        HeartEvaluator evaluator = HeartEvaluator.on(LocalDate.now());
+        for (HeartEntity record : records) {
+            HeartEvaluator.HeartEvaluation evaluation = evaluator.evaluate(record);
+            blackhole.consume(evaluation.status());
+            blackhole.consume(evaluation.highlights());
+        }
+    }
+
+    /**
+     * The heart evaluation of HeartService and HealthHighlightEngine before HeartEvaluator, kept as the baseline.
+     */
+    static final class ReplacedHeartEvaluation {
+
+        private ReplacedHeartEvaluation() {
+        }
+
+        static HeartResponse toResponse(HeartEntity entity) {
+            HeartResponse resp = new HeartResponse();
+            resp.setHeartId(entity.getId());
+            resp.setFatigue(entity.getHasFatigue());
+            resp.setCoughing(entity.getIsCoughing());
+            resp.setMurmurStatus(entity.getMurmursStatus());
+            resp.setHeartRate(BigDecimal.valueOf(entity.getHeartRate()));
+            resp.setBreathingRate(BigDecimal.valueOf(entity.getBreathingRate()));
+            resp.setLastDirofilariaPreventionDate(entity.getLastDirofilariaLastPrevention());
+            return resp;
+        }
+
+        static QuizCategoryStatus calculateHeartStatus(HeartResponse heartResponse) {
+            int totalMetrics = 0;
+            int healthyCount = 0;
+
+            if (heartResponse.getFatigue() != null) {
+                totalMetrics++;
+                if (!heartResponse.getFatigue()) {
+                    healthyCount++;
+                }
+            }
+
+            if (heartResponse.getCoughing() != null) {
+                totalMetrics++;
+                if (!heartResponse.getCoughing()) {
+                    healthyCount++;
+                }
+            }
+
+            if (heartResponse.getMurmurStatus() != null) {
+                totalMetrics++;
+                MurmurStatus murmur = heartResponse.getMurmurStatus();
+                if (murmur == MurmurStatus.NONE || murmur == MurmurStatus.GRADE_I) {
+                    healthyCount++;
+                }
+            }
+
+            if (heartResponse.getHeartRate() != null) {
+                totalMetrics++;
+                float hr = heartResponse.getHeartRate().floatValue();
+                if (hr >= 60 && hr <= 120) {
+                    healthyCount++;
+                }
+            }
+
+            if (heartResponse.getBreathingRate() != null) {
+                totalMetrics++;
+                float br = heartResponse.getBreathingRate().floatValue();
+                if (br >= 10 && br <= 35) {
+                    healthyCount++;
+                }
+            }
+
+            if (totalMetrics == 0) {
+                return QuizCategoryStatus.YELLOW;
+            }
+
+            float ratio = (float) healthyCount / totalMetrics;
+
+            if (ratio >= 0.75f) {
+                return QuizCategoryStatus.GREEN;
+            } else if (ratio >= 0.40f) {
+                return QuizCategoryStatus.YELLOW;
+            } else {
+                return QuizCategoryStatus.RED;
+            }
+        }
+
+        static HighlightSet heartHighlights(HeartResponse heart, QuizCategoryStatus status) {
+            HighlightSet set = HighlightSet.EMPTY;
+
+            if (Boolean.TRUE.equals(heart.getFatigue())) {
+                set = set.with(HighlightKey.FATIGUE_DETECTED);
+            }
+
+            if (Boolean.TRUE.equals(heart.getCoughing())) {
+                set = set.with(HighlightKey.COUGHING_DETECTED);
+            }
+
+            if (heart.getMurmurStatus() != null) {
+                switch (heart.getMurmurStatus()) {
+                    case GRADE_II, GRADE_III -> set = set.with(HighlightKey.MURMUR_MID_RISK);
+                    case GRADE_IV, GRADE_V, GRADE_VI -> set = set.with(HighlightKey.MURMUR_HIGH_RISK);
+                    default -> {}
+                }
+            }
+
+            if (heart.getHeartRate() != null) {
+                float hr = heart.getHeartRate().floatValue();
+                if (hr < 60 || hr > 120) {
+                    set = set.with(HighlightKey.ABNORMAL_HEART_RATE);
+                }
+            }
+
+            if (heart.getBreathingRate() != null) {
+                float br = heart.getBreathingRate().floatValue();
+                if (br < 10 || br > 35) {
+                    set = set.with(HighlightKey.ABNORMAL_BREATHING_RATE);
+                }
+            }
+
+            if (heart.getLastDirofilariaPreventionDate() != null) {
+                LocalDateTime last = heart.getLastDirofilariaPreventionDate().atStartOfDay();
+                if (last.isBefore(LocalDateTime.now().minusMonths(1))) {
+                    set = set.with(HighlightKey.DIROFILARIA_DUE);
+                }
+            } else {
+                set = set.with(HighlightKey.DIROFILARIA_UNKNOWN);
+            }
+
+            return switch (status) {
+                case RED -> set.with(HighlightKey.HEART_HIGH_RISK);
+                case YELLOW -> set.with(HighlightKey.HEART_MID_RISK);
+                case GREEN -> set.with(HighlightKey.HEART_HEALTHY);
+            };
+        }
+    }
+}
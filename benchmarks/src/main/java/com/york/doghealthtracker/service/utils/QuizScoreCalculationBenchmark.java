@@ -0,0 +1,55 @@
+package com.york.doghealthtracker.service.utils;
+
+import com.york.doghealthtracker.benchmarks.BenchmarkData;
+import com.york.doghealthtracker.model.QuizAnswer;
+import com.york.doghealthtracker.model.QuizCategoryStatus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks QuizScoreCalculationService on the answers of 100k quiz categories of three questions, the size of the
+ * categories of the hormone and mobility quizzes. The category status is calculated the way HormoneService and
+ * MobilityService calculate it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuizScoreCalculationBenchmark {
+
+    private static final int QUESTIONS_PER_CATEGORY = 3;
+
+    private QuizAnswer[][] categories;
+
+    @Setup
+    public void setUp() {
+        categories = BenchmarkData.quizAnswers(BenchmarkData.RECORDS, QUESTIONS_PER_CATEGORY);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkData.RECORDS)
+    public void answerScores(Blackhole blackhole) {
+        for (QuizAnswer[] answers : categories) {
+            for (QuizAnswer answer : answers) {
+                blackhole.consume(QuizScoreCalculationService.mapAnswerToScore(answer));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkData.RECORDS)
+    public void categoryStatus(Blackhole blackhole) {
+        for (QuizAnswer[] answers : categories) {
+            int score = Arrays.stream(answers)
+                    .mapToInt(QuizScoreCalculationService::mapAnswerToScore)
+                    .sum();
+            QuizCategoryStatus status = QuizScoreCalculationService.mapScoreToStatus(score);
+            blackhole.consume(status);
+        }
+    }
+}
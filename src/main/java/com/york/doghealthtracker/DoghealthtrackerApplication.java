@@ -4,8 +4,10 @@ import com.york.doghealthtracker.config.HighlightConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class DoghealthtrackerApplication {
 
 	public static void main(String[] args) {
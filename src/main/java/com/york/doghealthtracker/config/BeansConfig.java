@@ -1,9 +1,16 @@
 package com.york.doghealthtracker.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 public class BeansConfig {
@@ -11,4 +18,59 @@ public class BeansConfig {
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }
+
+    /**
+     * Executor used to retrieve dashboard sections concurrently. Every submitted task runs with the security context
+     * and the request attributes of the submitting thread, so that @PreAuthorize checks of the called services keep
+     * working and share the per-request authorization cache, and counts its SQL statements towards the QueryCount of
+     * the submitting request. The queue is bounded, and tasks submitted while it is full are rejected, so that a slow
+     * or failing database cannot pile up dashboard sections.
+     *
+     * @param poolSize      The maximum number of concurrently running dashboard section tasks.
+     * @param queueCapacity The maximum number of pending dashboard section tasks.
+     * @return ThreadPoolTaskExecutor for dashboard section retrieval.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor dashboardExecutor(@Value("${app.dashboard.pool-size}") int poolSize,
+                                                    @Value("${app.dashboard.queue-capacity}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setTaskDecorator(runnable -> {
+            RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+            QueryCount queryCount = QueryCount.current();
+            Runnable securedRunnable = new DelegatingSecurityContextRunnable(runnable);
+            return () -> {
+                RequestContextHolder.setRequestAttributes(requestAttributes);
+                QueryCount.attach(queryCount);
+                try {
+                    securedRunnable.run();
+                } finally {
+                    QueryCount.attach(null);
+                    RequestContextHolder.resetRequestAttributes();
+                }
+            };
+        });
+        return executor;
+    }
+
+    /**
+     * Executor used by RequestResponseLoggingFilter to format and write log lines off the request thread.
+     * When the queue is full, log lines are discarded rather than blocking requests.
+     *
+     * @param queueCapacity The maximum number of pending log tasks.
+     * @return ThreadPoolTaskExecutor for request logging.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor requestLoggingExecutor(@Value("${app.request-logging.queue-capacity}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("request-logging-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        return executor;
+    }
 }
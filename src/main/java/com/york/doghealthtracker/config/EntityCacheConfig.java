@@ -0,0 +1,48 @@
+package com.york.doghealthtracker.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration of the Hibernate second-level cache, wired by EntityCacheConfiguration. Every cache region used by the
+ * entities and the cached queries must be configured, the application fails to start on a missing one.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.entity-cache")
+public class EntityCacheConfig {
+
+    /**
+     * Enables the second-level cache and the query cache.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The cache regions by name: the entity regions, the query result regions, and the update timestamps region of
+     * the query cache.
+     */
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Region {
+
+        /**
+         * Maximum number of entries of the region.
+         */
+        private long maxSize = 10000;
+
+        /**
+         * How long an entry stays in the region after it was written. Empty for no expiry, which the update
+         * timestamps region requires: a query result must never outlive the timestamps it is validated against.
+         */
+        private Duration ttl;
+    }
+}
@@ -0,0 +1,85 @@
+package com.york.doghealthtracker.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Wires the Hibernate second-level cache: an in-process JCache CacheManager backed by Caffeine, with one cache per
+ * region configured in EntityCacheConfig, handed to Hibernate together with the query cache settings. Every region
+ * reports cache.gets, cache.puts and cache.evictions like the other Caffeine caches, and its hit ratio as
+ * cache.hit.ratio, all tagged with the region name.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.entity-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EntityCacheConfiguration {
+
+    /**
+     * Creates the cache of every configured region. Values are stored by reference, as Hibernate only caches the
+     * immutable disassembled state of its entities and query results. The CacheManager is not the provider's default
+     * one, so that several application contexts in one JVM, as in tests, do not share regions.
+     *
+     * @param entityCacheConfig The configuration of the regions.
+     * @param meterRegistry     The registry to bind the metrics of the regions to.
+     * @return CacheManager holding the cache of every region.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(EntityCacheConfig entityCacheConfig, MeterRegistry meterRegistry) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(URI.create("entity-cache-" + UUID.randomUUID()),
+                provider.getDefaultClassLoader());
+        entityCacheConfig.getRegions().forEach((name, region) -> {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>()
+                    .setStoreByValue(false)
+                    .setNativeStatisticsEnabled(true)
+                    .setMaximumSize(OptionalLong.of(region.getMaxSize()))
+                    .setExpireAfterWrite(region.getTtl() != null
+                            ? OptionalLong.of(region.getTtl().toNanos())
+                            : OptionalLong.empty());
+            Cache<Object, Object> cache = cacheManager.createCache(name, configuration);
+            @SuppressWarnings("unchecked")
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache =
+                    cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+            CaffeineCacheMetrics.monitor(meterRegistry, nativeCache, name);
+            Gauge.builder("cache.hit.ratio", nativeCache, c -> c.stats().hitRate())
+                    .tag("cache", name)
+                    .description("The ratio of cache requests which were hits")
+                    .register(meterRegistry);
+        });
+        return cacheManager;
+    }
+
+    /**
+     * Enables the second-level cache and the query cache on the given CacheManager. A region used by an entity or a
+     * query but missing from the configuration fails the startup instead of being created unbounded.
+     *
+     * @param entityCacheManager The CacheManager holding the cache of every region.
+     * @return HibernatePropertiesCustomizer enabling the second-level cache.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheProperties(CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package com.york.doghealthtracker.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the blob storage backend used by FileStorageService.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.file-storage")
+public class FileStorageConfig {
+
+    /**
+     * The storage backend: filesystem or s3.
+     */
+    private String type = "filesystem";
+
+    /**
+     * Root directory of the filesystem backend.
+     */
+    private String location;
+
+    /**
+     * How long presigned download URLs stay valid.
+     */
+    private Duration presignedUrlTtl = Duration.ofMinutes(5);
+
+    private S3 s3 = new S3();
+
+    @Getter
+    @Setter
+    public static class S3 {
+
+        /**
+         * Endpoint of an S3-compatible service such as MinIO. Empty for AWS S3.
+         */
+        private String endpoint;
+
+        private String region = "us-east-1";
+
+        private String bucket;
+
+        /**
+         * Static credentials. When empty, the default AWS credentials provider chain is used.
+         */
+        private String accessKey;
+
+        private String secretKey;
+
+        /**
+         * Address buckets as endpoint/bucket instead of bucket.endpoint, as required by MinIO.
+         */
+        private boolean pathStyleAccess = true;
+    }
+}
@@ -0,0 +1,45 @@
+package com.york.doghealthtracker.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration of the monthly partitions of the HEART and WEIGHT history and of their archive, maintained by
+ * HistoryPartitionService.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.history-partitions")
+public class HistoryPartitionConfig {
+
+    /**
+     * Runs the partition maintenance job. Requires the PostgreSQL schema created by Flyway. Without it, records of
+     * months without a partition are kept in the default partition.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Cron expression of the partition maintenance job, which also runs once on startup.
+     */
+    private String cron = "0 30 3 * * *";
+
+    /**
+     * Number of months after the current one to create partitions for.
+     */
+    private int monthsAhead = 3;
+
+    /**
+     * Age in months from which a month of history is moved to the archive. Partitions are archived once every record
+     * in them is older than that; 0 disables archiving.
+     */
+    private int archiveAfterMonths = 24;
+
+    /**
+     * When set, history reads continue into the archive once the partitioned table has no older records, so that
+     * clients see archived records as if they had never moved.
+     */
+    private boolean readArchive = true;
+}
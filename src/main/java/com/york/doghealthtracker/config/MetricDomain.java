@@ -0,0 +1,39 @@
+package com.york.doghealthtracker.config;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Derives the domain tag of application metrics (weight, heart, dental, health-record, ...) from the name of a
+ * controller, service or repository class, e.g. HealthRecordService is tagged health-record.
+ */
+public final class MetricDomain {
+
+    public static final String TAG = "domain";
+
+    private static final List<String> SUFFIXES = List.of("Controller", "Service", "Repository");
+    private static final Map<Class<?>, String> DOMAINS = new ConcurrentHashMap<>();
+
+    private MetricDomain() {
+    }
+
+    /**
+     * @param type The controller, service or repository class.
+     * @return the domain of the class, in lower case words separated by hyphens.
+     */
+    public static String of(Class<?> type) {
+        return DOMAINS.computeIfAbsent(type, MetricDomain::resolve);
+    }
+
+    private static String resolve(Class<?> type) {
+        String name = type.getSimpleName();
+        for (String suffix : SUFFIXES) {
+            if (name.endsWith(suffix) && name.length() > suffix.length()) {
+                name = name.substring(0, name.length() - suffix.length());
+                break;
+            }
+        }
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1-$2").toLowerCase();
+    }
+}
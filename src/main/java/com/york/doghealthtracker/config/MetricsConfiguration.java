@@ -0,0 +1,52 @@
+package com.york.doghealthtracker.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Adds the domain tag (see MetricDomain) to the timers Spring Boot records around every controller endpoint
+ * (http.server.requests) and every Spring Data repository call (spring.data.repository.invocations). Service methods
+ * are timed by ServiceTimingAspect; HikariCP pool gauges (hikaricp.connections.*) are bound by Spring Boot.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    private static final String NO_DOMAIN = "none";
+
+    @Bean
+    public ServerRequestObservationConvention domainServerRequestObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+                String domain = handler instanceof HandlerMethod handlerMethod
+                        ? MetricDomain.of(handlerMethod.getBeanType())
+                        : NO_DOMAIN;
+                return super.getLowCardinalityKeyValues(context).and(KeyValue.of(MetricDomain.TAG, domain));
+            }
+        };
+    }
+
+    @Bean
+    public RepositoryTagsProvider domainRepositoryTagsProvider() {
+        return new DefaultRepositoryTagsProvider() {
+            @Override
+            public Iterable<Tag> repositoryTags(RepositoryMethodInvocation invocation) {
+                return Tags.of(super.repositoryTags(invocation))
+                        .and(MetricDomain.TAG, MetricDomain.of(invocation.getRepositoryInterface()));
+            }
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.york.doghealthtracker.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration of the page size of the keyset-paginated history endpoints.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.pagination")
+public class PaginationConfig {
+
+    /**
+     * Page size used when the client does not request one.
+     */
+    private int defaultLimit = 50;
+
+    /**
+     * Largest page size a client can request.
+     */
+    private int maxLimit = 200;
+
+    /**
+     * Resolves the page size of a request.
+     *
+     * @param limit The page size requested by the client, may be null.
+     * @return The requested page size capped at maxLimit, or defaultLimit if none was requested.
+     * @throws IllegalArgumentException if the requested page size is not positive.
+     */
+    public int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return defaultLimit;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive.");
+        }
+        return Math.min(limit, maxLimit);
+    }
+}
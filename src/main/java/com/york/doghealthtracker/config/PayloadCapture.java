@@ -0,0 +1,83 @@
+package com.york.doghealthtracker.config;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Captures up to a fixed number of bytes of a request or response body which streams through
+ * RequestResponseLoggingFilter. Bytes beyond the limit are only counted, so the body is never fully buffered.
+ */
+class PayloadCapture {
+
+    private final int maxBytes;
+    private final BooleanSupplier enabledCheck;
+    private Boolean enabled;
+    private byte[] buffer;
+    private int captured;
+    private long total;
+
+    /**
+     * @param maxBytes     The maximum number of bytes to capture.
+     * @param enabledCheck Decides on the first written byte if the body should be captured at all.
+     */
+    PayloadCapture(int maxBytes, BooleanSupplier enabledCheck) {
+        this.maxBytes = maxBytes;
+        this.enabledCheck = enabledCheck;
+    }
+
+    void write(int b) {
+        total++;
+        if (isEnabled() && captured < maxBytes) {
+            buffer[captured++] = (byte) b;
+        }
+    }
+
+    void write(byte[] bytes, int offset, int length) {
+        if (length <= 0) {
+            return;
+        }
+        total += length;
+        if (isEnabled() && captured < maxBytes) {
+            int copied = Math.min(length, maxBytes - captured);
+            System.arraycopy(bytes, offset, buffer, captured, copied);
+            captured += copied;
+        }
+    }
+
+    private boolean isEnabled() {
+        if (enabled == null) {
+            enabled = enabledCheck.getAsBoolean();
+            if (enabled) {
+                buffer = new byte[maxBytes];
+            }
+        }
+        return enabled;
+    }
+
+    /**
+     * Takes a snapshot of the captured body. The snapshot can be formatted off the request thread.
+     *
+     * @return Snapshot of the captured bytes.
+     */
+    Snapshot snapshot() {
+        byte[] bytes = buffer != null ? Arrays.copyOf(buffer, captured) : new byte[0];
+        return new Snapshot(bytes, total, Boolean.TRUE.equals(enabled));
+    }
+
+    record Snapshot(byte[] bytes, long total, boolean captured) {
+
+        String format(Charset charset) {
+            if (total == 0) {
+                return "";
+            }
+            if (!captured) {
+                return String.format("[%d bytes not logged]", total);
+            }
+            String body = new String(bytes, charset);
+            return total > bytes.length
+                    ? String.format("%s...[truncated, %d bytes total]", body, total)
+                    : body;
+        }
+    }
+}
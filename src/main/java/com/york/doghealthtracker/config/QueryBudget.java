@@ -0,0 +1,19 @@
+package com.york.doghealthtracker.config;
+
+import java.lang.annotation.*;
+
+/**
+ * Declares the maximum number of SQL statements a request to the annotated controller method may execute, including
+ * the statements of the authentication and authorization checks. Requests exceeding the budget are reported by
+ * QueryCountFilter, or failed when app.query-budget.fail-on-exceed is set.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface QueryBudget {
+
+    /**
+     * @return the maximum number of SQL statements per request.
+     */
+    int value();
+}
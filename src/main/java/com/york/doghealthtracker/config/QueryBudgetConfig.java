@@ -0,0 +1,24 @@
+package com.york.doghealthtracker.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration of the per request SQL statement counting performed by QueryCountFilter.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.query-budget")
+public class QueryBudgetConfig {
+
+    private boolean enabled = true;
+
+    /**
+     * When set, the statement exceeding the QueryBudget of an endpoint fails with a QueryBudgetExceededException
+     * instead of only being reported. Meant for tests, so that N+1 regressions fail the build.
+     */
+    private boolean failOnExceed = false;
+}
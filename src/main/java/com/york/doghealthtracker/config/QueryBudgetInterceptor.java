@@ -0,0 +1,49 @@
+package com.york.doghealthtracker.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Applies the QueryBudget of the handling controller method to the QueryCount of the request.
+ * The generated API interfaces map requests to an underscore prefixed default method (e.g. _getWeights) that delegates
+ * to the method implemented by the controller (getWeights), so the budget is looked up on the latter. Budgets are
+ * resolved once per handler method.
+ */
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    private static final String DELEGATING_METHOD_PREFIX = "_";
+
+    private final Map<Method, Optional<QueryBudget>> budgets = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryCount queryCount = QueryCount.current();
+        if (queryCount != null && handler instanceof HandlerMethod handlerMethod) {
+            budgets.computeIfAbsent(handlerMethod.getMethod(), method -> resolveBudget(handlerMethod))
+                    .ifPresent(budget -> queryCount.budget(budget.value()));
+        }
+        return true;
+    }
+
+    private Optional<QueryBudget> resolveBudget(HandlerMethod handlerMethod) {
+        Method method = handlerMethod.getMethod();
+        QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(method, QueryBudget.class);
+        if (budget == null && method.getName().startsWith(DELEGATING_METHOD_PREFIX)) {
+            Method implementation = ReflectionUtils.findMethod(handlerMethod.getBeanType(),
+                    method.getName().substring(DELEGATING_METHOD_PREFIX.length()), method.getParameterTypes());
+            if (implementation != null) {
+                budget = AnnotatedElementUtils.findMergedAnnotation(implementation, QueryBudget.class);
+            }
+        }
+        return Optional.ofNullable(budget);
+    }
+}
@@ -0,0 +1,72 @@
+package com.york.doghealthtracker.config;
+
+import com.york.doghealthtracker.exception.QueryBudgetExceededException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The number of SQL statements executed by an HTTP request. The count of the request handled by the current thread is
+ * held in a thread local; tasks the request hands to other threads (e.g. dashboard sections) attach the same count.
+ */
+public final class QueryCount {
+
+    private static final ThreadLocal<QueryCount> CURRENT = new ThreadLocal<>();
+
+    private final AtomicInteger statements = new AtomicInteger();
+    private final boolean failOnExceed;
+    private volatile int budget = Integer.MAX_VALUE;
+
+    QueryCount(boolean failOnExceed) {
+        this.failOnExceed = failOnExceed;
+    }
+
+    /**
+     * @return the QueryCount of the request handled by the current thread, or null outside of requests.
+     */
+    public static QueryCount current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Attaches the given QueryCount to the current thread, or detaches the current one when null.
+     *
+     * @param queryCount The QueryCount of the request handled by the current thread.
+     */
+    public static void attach(QueryCount queryCount) {
+        if (queryCount == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(queryCount);
+        }
+    }
+
+    /**
+     * Counts a statement of the request.
+     *
+     * @param sql The SQL of the statement.
+     * @throws QueryBudgetExceededException if the statement exceeds the budget and failOnExceed is set.
+     */
+    void increment(String sql) {
+        int count = statements.incrementAndGet();
+        if (failOnExceed && count > budget) {
+            throw new QueryBudgetExceededException("Statement " + count + " exceeds the query budget of " + budget
+                    + ": " + sql);
+        }
+    }
+
+    public int statements() {
+        return statements.get();
+    }
+
+    public int budget() {
+        return budget;
+    }
+
+    void budget(int budget) {
+        this.budget = budget;
+    }
+
+    public boolean exceeded() {
+        return statements.get() > budget;
+    }
+}
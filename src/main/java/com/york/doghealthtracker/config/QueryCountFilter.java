@@ -0,0 +1,76 @@
+package com.york.doghealthtracker.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Filter that counts the SQL statements executed by every HTTP request, including those of the security filters, and
+ * records them in the http.server.requests.queries distribution, tagged like http.server.requests. Requests exceeding
+ * the QueryBudget of their endpoint are logged and counted in http.server.requests.query.budget.exceeded.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Log4j2
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final QueryBudgetConfig config;
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountFilter(QueryBudgetConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !config.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        QueryCount queryCount = new QueryCount(config.isFailOnExceed());
+        QueryCount.attach(queryCount);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCount.attach(null);
+            record(request, response, queryCount);
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, QueryCount queryCount) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("http.server.requests.queries")
+                .description("SQL statements executed per HTTP request")
+                .baseUnit("statements")
+                .tags("method", method, "uri", uri, "status", String.valueOf(response.getStatus()))
+                .register(meterRegistry)
+                .record(queryCount.statements());
+
+        if (queryCount.exceeded()) {
+            log.warn("{} {} executed {} SQL statements, exceeding its query budget of {}",
+                    method, uri, queryCount.statements(), queryCount.budget());
+            Counter.builder("http.server.requests.query.budget.exceeded")
+                    .description("HTTP requests exceeding the query budget of their endpoint")
+                    .tags("method", method, "uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+}
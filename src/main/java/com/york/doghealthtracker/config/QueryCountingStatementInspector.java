@@ -0,0 +1,19 @@
+package com.york.doghealthtracker.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate StatementInspector counting every statement Hibernate prepares towards the QueryCount of the current
+ * request. Statements executed outside of requests, or directly through JDBC, are not counted.
+ */
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCount queryCount = QueryCount.current();
+        if (queryCount != null) {
+            queryCount.increment(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,55 @@
+package com.york.doghealthtracker.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of the request/response logging performed by RequestResponseLoggingFilter.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.request-logging")
+public class RequestLoggingConfig {
+
+    private boolean enabled = true;
+
+    /**
+     * Fraction of requests (0.0 - 1.0) that are logged.
+     */
+    private double sampleRate = 1.0;
+
+    /**
+     * Maximum number of request and response body bytes captured for logging.
+     */
+    private int maxPayloadBytes = 4096;
+
+    /**
+     * Content types whose bodies are captured for logging. Bodies of any other content type are not captured.
+     */
+    private List<MediaType> loggedContentTypes = new ArrayList<>(List.of(MediaType.APPLICATION_JSON));
+
+    /**
+     * Checks if the body of the given content type should be captured for logging.
+     *
+     * @param contentType The content type of the body.
+     * @return true if the content type is included in loggedContentTypes, false otherwise.
+     */
+    public boolean isLoggedContentType(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            return loggedContentTypes.stream().anyMatch(type -> type.includes(mediaType));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
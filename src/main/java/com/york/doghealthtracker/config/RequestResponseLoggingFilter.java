@@ -5,44 +5,79 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.nio.charset.Charset;
 import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 /**
- * Filter that intercepts incoming HTTP requests
+ * Filter that intercepts incoming HTTP requests and logs them together with their responses.
+ * Only a sample of requests is logged (app.request-logging.sample-rate). Request and response bodies stream through
+ * without being buffered; only the first app.request-logging.max-payload-bytes bytes of bodies with a content type in
+ * app.request-logging.logged-content-types are captured. Log lines are formatted and written on the request logging
+ * executor, off the request thread.
  */
 @Component
 @Log4j2
 public class RequestResponseLoggingFilter extends OncePerRequestFilter {
 
+    private final RequestLoggingConfig config;
+    private final TaskExecutor requestLoggingExecutor;
+
+    public RequestResponseLoggingFilter(RequestLoggingConfig config,
+                                        @Qualifier("requestLoggingExecutor") TaskExecutor requestLoggingExecutor) {
+        this.config = config;
+        this.requestLoggingExecutor = requestLoggingExecutor;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !config.isEnabled() || ThreadLocalRandom.current().nextDouble() >= config.getSampleRate();
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
-        ContentCachingRequestWrapper requestWrapper = new ContentCachingRequestWrapper(request);
-        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        PayloadCapture requestCapture = new PayloadCapture(config.getMaxPayloadBytes(),
+                () -> config.isLoggedContentType(request.getContentType()));
+        PayloadCapture responseCapture = new PayloadCapture(config.getMaxPayloadBytes(),
+                () -> config.isLoggedContentType(response.getContentType()));
+
+        LoggingRequestWrapper requestWrapper = new LoggingRequestWrapper(request, requestCapture);
+        LoggingResponseWrapper responseWrapper = new LoggingResponseWrapper(response, responseCapture);
 
         try {
             filterChain.doFilter(requestWrapper, responseWrapper);
         } finally {
-            String reqBody = new String(requestWrapper.getContentAsByteArray(), StandardCharsets.UTF_8);
-            String resBody = new String(responseWrapper.getContentAsByteArray(), StandardCharsets.UTF_8);
+            responseWrapper.flushWriter();
 
-            String headers = Collections.list(request.getHeaderNames())
+            String method = request.getMethod();
+            String uri = request.getRequestURI();
+            Map<String, String> headers = Collections.list(request.getHeaderNames())
                     .stream()
-                    .collect(Collectors.toMap(h -> h, request::getHeader))
-                    .toString();
-
-            log.info("REQUEST {} {} headers={} body={}", request.getMethod(), request.getRequestURI(), headers, reqBody);
-            log.info("RESPONSE {} status={} body={}", request.getRequestURI(), response.getStatus(), resBody);
+                    .collect(Collectors.toMap(h -> h, h -> maskHeader(h, request.getHeader(h)), (a, b) -> a));
+            int status = response.getStatus();
+            Charset requestCharset = requestWrapper.getCharset();
+            Charset responseCharset = responseWrapper.getCharset();
+            PayloadCapture.Snapshot requestBody = requestCapture.snapshot();
+            PayloadCapture.Snapshot responseBody = responseCapture.snapshot();
 
-            responseWrapper.copyBodyToResponse();
+            requestLoggingExecutor.execute(() -> {
+                log.info("REQUEST {} {} headers={} body={}", method, uri, headers, requestBody.format(requestCharset));
+                log.info("RESPONSE {} status={} body={}", uri, status, responseBody.format(responseCharset));
+            });
         }
     }
 
-}
\ No newline at end of file
+    private String maskHeader(String name, String value) {
+        return HttpHeaders.AUTHORIZATION.equalsIgnoreCase(name) ? "***" : value;
+    }
+
+}
@@ -2,6 +2,7 @@ package com.york.doghealthtracker.config;
 
 import com.york.doghealthtracker.security.AuthTokenFilter;
 import com.york.doghealthtracker.service.UserService;
+import com.york.doghealthtracker.service.pagination.HistoryPage;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -35,6 +36,14 @@ public class SecurityConfig {
         this.authTokenFilter = authTokenFilter;
     }
 
+    /**
+     * Configures the authorization of the requests. The Prometheus scrape endpoint is permitted without a user token,
+     * as Prometheus cannot authenticate as a user. It is served on the management port only (management.server.port),
+     * which is not exposed publicly and is restricted to the scrapers at the network level.
+     * @param http The HttpSecurity to configure.
+     * @return the SecurityFilterChain.
+     * @throws Exception if the filter chain cannot be built.
+     */
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -43,6 +52,7 @@ public class SecurityConfig {
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/auth/**", "/auth/register", "/v3/api-docs/**", "/swagger-ui/**", "/uploads/**").permitAll()
+                        .requestMatchers("/actuator/prometheus").permitAll()
                         .anyRequest().authenticated()
                 );
 
@@ -76,7 +86,7 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(List.of("http://localhost:5173"));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
-        configuration.setExposedHeaders(List.of("Authorization", "Content-Type"));
+        configuration.setExposedHeaders(List.of("Authorization", "Content-Type", HistoryPage.NEXT_CURSOR_HEADER));
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
         return source;
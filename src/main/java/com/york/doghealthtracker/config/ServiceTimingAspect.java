@@ -0,0 +1,51 @@
+package com.york.doghealthtracker.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the application services (classes named *Service) in the app.service.invocations
+ * timer, tagged by domain, class, method and the simple name of the thrown exception (none on success).
+ * Calls of a service to its own methods are not intercepted and are part of the calling method's time.
+ */
+@Aspect
+@Component
+public class ServiceTimingAspect {
+
+    private static final String TIMER_NAME = "app.service.invocations";
+
+    private final MeterRegistry meterRegistry;
+
+    public ServiceTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.york.doghealthtracker.service..*Service.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            Class<?> serviceClass = AopUtils.getTargetClass(joinPoint.getTarget());
+            Timer.builder(TIMER_NAME)
+                    .description("Invocations of application service methods")
+                    .tag(MetricDomain.TAG, MetricDomain.of(serviceClass))
+                    .tag("class", serviceClass.getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
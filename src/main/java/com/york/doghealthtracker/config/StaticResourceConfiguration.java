@@ -1,13 +1,19 @@
 package com.york.doghealthtracker.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.*;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
+/**
+ * Serves uploaded files from the local disk when the filesystem storage backend is used.
+ * With the s3 backend, /uploads requests are redirected to presigned URLs by UploadsController.
+ */
 @Configuration
+@ConditionalOnProperty(prefix = "app.file-storage", name = "type", havingValue = "filesystem", matchIfMissing = true)
 public class StaticResourceConfiguration implements WebMvcConfigurer {
 
     @Value("${app.file-storage.location}")
@@ -1,10 +1,12 @@
 package com.york.doghealthtracker.controller;
 
 import com.york.doghealthtracker.api.DentalApi;
+import com.york.doghealthtracker.config.QueryBudget;
 import com.york.doghealthtracker.model.DentalListResponse;
 import com.york.doghealthtracker.model.DentalRequest;
 import com.york.doghealthtracker.model.DentalResponse;
 import com.york.doghealthtracker.service.DentalService;
+import com.york.doghealthtracker.service.pagination.HistoryPage;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -27,9 +29,13 @@ public class DentalController implements DentalApi {
     }
 
     @Override
-    public ResponseEntity<DentalListResponse> getDentalRecords(String dogId) {
-        DentalListResponse response = dentalService.getDentalListResponse(dogId);
-        return ResponseEntity.ok(response);
+    @QueryBudget(10)
+    public ResponseEntity<DentalListResponse> getDentalRecords(String dogId, String cursor, Integer limit) {
+        HistoryPage<DentalResponse> page = dentalService.getDentalStatuses(dogId, cursor, limit);
+        DentalListResponse response = new DentalListResponse()
+                .dentalRecords(page.items())
+                .healthHighlights(dentalService.getDentalHealthHighlights(dogId));
+        return page.okResponse().body(response);
     }
 
 
@@ -1,22 +1,33 @@
 package com.york.doghealthtracker.controller;
 
 import com.york.doghealthtracker.api.HealthRecordsApi;
+import com.york.doghealthtracker.config.QueryBudget;
 import com.york.doghealthtracker.model.HealthRecordResponse;
 import com.york.doghealthtracker.service.HealthRecordService;
+import com.york.doghealthtracker.service.pagination.HistoryPage;
 import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 public class HealthRecordController implements HealthRecordsApi {
 
     private final HealthRecordService healthRecordService;
+    private final NativeWebRequest request;
 
-    public HealthRecordController(HealthRecordService healthRecordService) {
+    public HealthRecordController(HealthRecordService healthRecordService, NativeWebRequest request) {
         this.healthRecordService = healthRecordService;
+        this.request = request;
+    }
+
+    @Override
+    public Optional<NativeWebRequest> getRequest() {
+        return Optional.ofNullable(request);
     }
 
     @Override
@@ -27,7 +38,7 @@ public class HealthRecordController implements HealthRecordsApi {
 
     @Override
     public ResponseEntity<Resource> downloadHealthRecord(String dogId, String healthRecordId) {
-        return healthRecordService.getHealthRecordFile(dogId, healthRecordId);
+        return healthRecordService.getHealthRecordFile(dogId, healthRecordId, request);
     }
 
     @Override
@@ -42,8 +53,10 @@ public class HealthRecordController implements HealthRecordsApi {
     }
 
     @Override
-    public ResponseEntity<List<HealthRecordResponse>> getHealthRecords(String dogId) {
-        return ResponseEntity.ok(healthRecordService.getHealthRecords(dogId));
+    @QueryBudget(8)
+    public ResponseEntity<List<HealthRecordResponse>> getHealthRecords(String dogId, String cursor, Integer limit) {
+        HistoryPage<HealthRecordResponse> healthRecords = healthRecordService.getHealthRecords(dogId, cursor, limit);
+        return healthRecords.okResponse().body(healthRecords.items());
     }
 
 //    @Override
@@ -1,9 +1,11 @@
 package com.york.doghealthtracker.controller;
 
 import com.york.doghealthtracker.api.HeartApi;
+import com.york.doghealthtracker.config.QueryBudget;
 import com.york.doghealthtracker.model.HeartRequest;
 import com.york.doghealthtracker.model.HeartResponse;
 import com.york.doghealthtracker.service.HeartService;
+import com.york.doghealthtracker.service.pagination.HistoryPage;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -26,9 +28,10 @@ public class HeartController implements HeartApi {
     }
 
     @Override
-    public ResponseEntity<List<HeartResponse>> getHeartRecords(String dogId) {
-        List<HeartResponse> heartStatuses = heartService.getHeartStatuses(dogId);
-        return ResponseEntity.ok(heartStatuses);
+    @QueryBudget(8)
+    public ResponseEntity<List<HeartResponse>> getHeartRecords(String dogId, String cursor, Integer limit) {
+        HistoryPage<HeartResponse> heartStatuses = heartService.getHeartStatuses(dogId, cursor, limit);
+        return heartStatuses.okResponse().body(heartStatuses.items());
     }
 
     @Override
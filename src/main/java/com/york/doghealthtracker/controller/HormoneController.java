@@ -1,6 +1,7 @@
 package com.york.doghealthtracker.controller;
 
 import com.york.doghealthtracker.api.HormonesApi;
+import com.york.doghealthtracker.config.QueryBudget;
 import com.york.doghealthtracker.entity.DogEntity;
 import com.york.doghealthtracker.model.HormoneQuestion;
 import com.york.doghealthtracker.model.HormoneStatusResponse;
@@ -40,6 +41,7 @@ public class HormoneController implements HormonesApi {
     }
 
     @Override
+    @QueryBudget(3)
     public ResponseEntity<HormoneStatusResponse> getHormoneStatus() {
 
         DogEntity dog = userContextService.getDogInContext();
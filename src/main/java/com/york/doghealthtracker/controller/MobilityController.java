@@ -1,6 +1,7 @@
 package com.york.doghealthtracker.controller;
 
 import com.york.doghealthtracker.api.MobilityApi;
+import com.york.doghealthtracker.config.QueryBudget;
 import com.york.doghealthtracker.entity.DogEntity;
 import com.york.doghealthtracker.model.*;
 import com.york.doghealthtracker.service.MobilityService;
@@ -37,6 +38,7 @@ public class MobilityController implements MobilityApi {
     }
 
     @Override
+    @QueryBudget(3)
     public ResponseEntity<MobilityStatusResponse> getMobilityStatus() {
         DogEntity dog = userContextService.getDogInContext();
 
@@ -0,0 +1,32 @@
+package com.york.doghealthtracker.controller;
+
+import com.york.doghealthtracker.exception.ResourceNotFoundException;
+import com.york.doghealthtracker.service.FileStorageService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Redirects requests for uploaded files to presigned blob store URLs when the s3 storage backend is used,
+ * so stored file URLs keep working without the file content passing through the application.
+ */
+@RestController
+@ConditionalOnProperty(prefix = "app.file-storage", name = "type", havingValue = "s3")
+public class UploadsController {
+
+    private final FileStorageService fileStorageService;
+
+    public UploadsController(FileStorageService fileStorageService) {
+        this.fileStorageService = fileStorageService;
+    }
+
+    @GetMapping("/uploads/{folder}/{filename}")
+    public ResponseEntity<Void> redirectToUpload(@PathVariable String folder, @PathVariable String filename) {
+        return fileStorageService.presignedDownloadUrl(folder, filename, null, null)
+                .map(url -> ResponseEntity.status(HttpStatus.FOUND).location(url).<Void>build())
+                .orElseThrow(() -> new ResourceNotFoundException("File not found: " + filename));
+    }
+}
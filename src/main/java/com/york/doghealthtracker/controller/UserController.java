@@ -1,6 +1,7 @@
 package com.york.doghealthtracker.controller;
 
 import com.york.doghealthtracker.api.UsersApi;
+import com.york.doghealthtracker.config.QueryBudget;
 import com.york.doghealthtracker.entity.DogEntity;
 import com.york.doghealthtracker.model.*;
 import com.york.doghealthtracker.service.DogService;
@@ -44,6 +45,7 @@ public class UserController implements UsersApi {
     }
 
     @Override
+    @QueryBudget(3)
     public ResponseEntity<DogResponse> getDogByParticipantId(String participantId) {
             return dogService.findDogByOwnerId(participantId)
                     .map(ResponseEntity::ok)
@@ -51,6 +53,7 @@ public class UserController implements UsersApi {
         }
 
     @Override
+    @QueryBudget(16)
     public ResponseEntity<DashboardResponse> getDashboardByParticipantId(String participantId) {
         DogEntity dog = userContextService.getDogInContext();
         DashboardResponse response = userService.getUserDashboard(participantId, dog.getId());
@@ -1,9 +1,11 @@
 package com.york.doghealthtracker.controller;
 
 import com.york.doghealthtracker.api.WeightApi;
+import com.york.doghealthtracker.config.QueryBudget;
 import com.york.doghealthtracker.model.WeightRequest;
 import com.york.doghealthtracker.model.WeightResponse;
 import com.york.doghealthtracker.service.WeightService;
+import com.york.doghealthtracker.service.pagination.HistoryPage;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -26,14 +28,16 @@ public class WeightController implements WeightApi {
     }
 
     @Override
-    public ResponseEntity<List<WeightResponse>> getWeights(String dogId) {
-        List<WeightResponse> weights = weightService.getWeights(dogId);
-        return ResponseEntity.ok(weights);
+    @QueryBudget(8)
+    public ResponseEntity<List<WeightResponse>> getWeights(String dogId, String cursor, Integer limit) {
+        HistoryPage<WeightResponse> weights = weightService.getWeights(dogId, cursor, limit);
+        return weights.okResponse().body(weights.items());
     }
 
     @Override
     public ResponseEntity<Void> deleteWeight(String dogId, String weightId) {
-         weightService.deleteWeight(weightId);
-        return ResponseEntity.noContent().build();
+        boolean deleted = weightService.deleteWeight(dogId, weightId);
+        return deleted ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
     }
 }
\ No newline at end of file
@@ -1,9 +1,13 @@
 package com.york.doghealthtracker.entity;
 
+import com.york.doghealthtracker.entity.converter.GingivitisStatusConverter;
+import com.york.doghealthtracker.entity.converter.PlaqueStatusConverter;
 import com.york.doghealthtracker.model.GingivitisStatus;
 import com.york.doghealthtracker.model.PlaqueStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -19,21 +23,22 @@ public class DentalEntity {
 
     @Id
     @Column(name = "dl_id")
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    @JavaType(UuidStringJavaType.class)
     private String id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "dl_dog_id")
     private DogEntity dog;
 
-    @Enumerated(EnumType.STRING)
+    @Convert(converter = PlaqueStatusConverter.class)
     @Column(name = "dl_plaque_status")
     private PlaqueStatus plaqueStatus;
 
     @Column(name = "dl_tooth_loss")
     private Boolean toothLoss;
 
-    @Enumerated(EnumType.STRING)
+    @Convert(converter = GingivitisStatusConverter.class)
     @Column(name = "dl_gingivitis_status")
     private GingivitisStatus gingivitisStatus;
 
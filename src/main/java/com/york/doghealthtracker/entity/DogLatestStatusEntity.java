@@ -0,0 +1,58 @@
+package com.york.doghealthtracker.entity;
+
+import com.york.doghealthtracker.model.QuizCategoryStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JavaType;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * The latest status of a dog in a single health category, kept up to date with the history tables so that status
+ * reads do not have to go through the history.
+ * Saving a status merges it with the stored one, unless it is flagged as new (see DogLatestStatusService.saveAll), in
+ * which case it is inserted without first being looked up.
+ */
+@Entity
+@Table(name = "dog_latest_status")
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DogLatestStatusEntity implements Persistable<DogLatestStatusId> {
+
+    @EmbeddedId
+    private DogLatestStatusId id;
+
+    @Column(name = "dls_record_id")
+    @JavaType(UuidStringJavaType.class)
+    private String recordId;
+
+    @Column(name = "dls_measurement")
+    private Float measurement;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dls_status")
+    private QuizCategoryStatus status;
+
+    @Column(name = "dls_highlight_keys")
+    private String highlightKeys;
+
+    @Column(name = "dls_record_count", nullable = false)
+    private long recordCount;
+
+    @Column(name = "dls_recorded_ts")
+    private LocalDateTime recordedTs;
+
+    @Column(name = "dls_stale_after")
+    private LocalDate staleAfter;
+
+    @Column(name = "dls_updated_ts", nullable = false)
+    private LocalDateTime updatedTs;
+
+    @Transient
+    private boolean isNew;
+}
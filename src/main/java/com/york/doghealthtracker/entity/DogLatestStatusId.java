@@ -0,0 +1,24 @@
+package com.york.doghealthtracker.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JavaType;
+
+import java.io.Serializable;
+
+@Embeddable
+@Getter
+@Setter
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class DogLatestStatusId implements Serializable {
+
+    @Column(name = "dls_dog_id")
+    @JavaType(UuidStringJavaType.class)
+    private String dogId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dls_category")
+    private LatestStatusCategory category;
+}
@@ -2,6 +2,8 @@ package com.york.doghealthtracker.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.net.URI;
 import java.time.LocalDateTime;
@@ -17,7 +19,8 @@ public class HealthRecordEntity {
 
     @Id
     @Column(name = "hr_id")
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    @JavaType(UuidStringJavaType.class)
     private String id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -33,6 +36,9 @@ public class HealthRecordEntity {
     @Column(name = "hr_content_type")
     private String contentType;
 
+    @Column(name = "hr_content_hash")
+    private String contentHash;
+
     @Column(name = "hr_created_ts")
     private LocalDateTime createdTs;
 }
@@ -1,10 +1,14 @@
 package com.york.doghealthtracker.entity;
 
+import com.york.doghealthtracker.entity.converter.MurmurStatusConverter;
 import com.york.doghealthtracker.model.MurmurStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.type.SqlTypes;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -19,7 +23,8 @@ public class HeartEntity {
 
     @Id
     @Column(name = "ht_id")
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    @JavaType(UuidStringJavaType.class)
     private String id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -32,14 +37,16 @@ public class HeartEntity {
     @Column(name = "ht_coughing")
     private Boolean isCoughing;
 
-    @Enumerated(EnumType.STRING)
+    @Convert(converter = MurmurStatusConverter.class)
     @Column(name = "ht_murmurs")
     private MurmurStatus murmursStatus;
 
     @Column(name = "ht_heart_rate")
+    @JdbcTypeCode(SqlTypes.SMALLINT)
     private Integer heartRate;
 
     @Column(name = "ht_breathing_rate")
+    @JdbcTypeCode(SqlTypes.SMALLINT)
     private Integer breathingRate;
 
     @Column(name = "HT_DIROFILARIA_LAST_PREVENTION")
@@ -1,13 +1,19 @@
 package com.york.doghealthtracker.entity;
 
+import com.york.doghealthtracker.entity.converter.QuizCategoryStatusConverter;
 import com.york.doghealthtracker.model.HormoneCategory;
 import com.york.doghealthtracker.model.QuizCategoryStatus;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
 
+/**
+ * The result of a hormone quiz: one row with the status of every hormone category.
+ */
 @Entity
 @Table(name = "hormone")
 @Getter
@@ -16,21 +22,42 @@ public class HormoneEntity {
 
     @Id
     @Column(name = "hm_id")
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    @JavaType(UuidStringJavaType.class)
     private String id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "hm_dog_id", nullable = false)
     private DogEntity dog;
 
-    @Enumerated(EnumType.STRING)
-    @Column(name = "hm_type", nullable = false)
-    private HormoneCategory type;
+    @Convert(converter = QuizCategoryStatusConverter.class)
+    @Column(name = "hm_thyroid_status")
+    private QuizCategoryStatus thyroid;
 
-    @Enumerated(EnumType.STRING)
-    @Column(name = "hm_status", nullable = false)
-    private QuizCategoryStatus status;
+    @Convert(converter = QuizCategoryStatusConverter.class)
+    @Column(name = "hm_adrenal_status")
+    private QuizCategoryStatus adrenal;
+
+    @Convert(converter = QuizCategoryStatusConverter.class)
+    @Column(name = "hm_pancreatic_status")
+    private QuizCategoryStatus pancreatic;
 
     @Column(name = "hm_created_ts", nullable = false)
     private LocalDateTime createdTs;
-}
\ No newline at end of file
+
+    public QuizCategoryStatus getStatus(HormoneCategory category) {
+        return switch (category) {
+            case THYROID -> thyroid;
+            case ADRENAL -> adrenal;
+            case PANCREATIC -> pancreatic;
+        };
+    }
+
+    public void setStatus(HormoneCategory category, QuizCategoryStatus status) {
+        switch (category) {
+            case THYROID -> thyroid = status;
+            case ADRENAL -> adrenal = status;
+            case PANCREATIC -> pancreatic = status;
+        }
+    }
+}
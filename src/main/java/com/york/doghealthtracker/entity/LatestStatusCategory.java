@@ -0,0 +1,29 @@
+package com.york.doghealthtracker.entity;
+
+import com.york.doghealthtracker.model.HormoneCategory;
+import com.york.doghealthtracker.model.MobilityCategory;
+
+/**
+ * The health categories a DogLatestStatusEntity is kept for. Hormone and mobility quiz categories have a status of
+ * their own, so each of them is a separate category.
+ */
+public enum LatestStatusCategory {
+    WEIGHT,
+    DENTAL,
+    HEART,
+    HEALTH_RECORD,
+    THYROID,
+    ADRENAL,
+    PANCREATIC,
+    LUXATION,
+    DYSPLASIA,
+    ARTHRITIS;
+
+    public static LatestStatusCategory of(HormoneCategory category) {
+        return valueOf(category.name());
+    }
+
+    public static LatestStatusCategory of(MobilityCategory category) {
+        return valueOf(category.name());
+    }
+}
@@ -1,14 +1,19 @@
 package com.york.doghealthtracker.entity;
 
-import com.york.doghealthtracker.model.HormoneCategory;
+import com.york.doghealthtracker.entity.converter.QuizCategoryStatusConverter;
 import com.york.doghealthtracker.model.MobilityCategory;
 import com.york.doghealthtracker.model.QuizCategoryStatus;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
 
+/**
+ * The result of a mobility quiz: one row with the status of every mobility category.
+ */
 @Entity
 @Table(name = "mobility")
 @Getter
@@ -17,22 +22,42 @@ public class MobilityEntity {
 
     @Id
     @Column(name = "mb_id")
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    @JavaType(UuidStringJavaType.class)
     private String id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "mb_dog_id", nullable = false)
     private DogEntity dog;
 
-    @Enumerated(EnumType.STRING)
-    @Column(name = "mb_type", nullable = false)
-    private MobilityCategory type;
+    @Convert(converter = QuizCategoryStatusConverter.class)
+    @Column(name = "mb_luxation_status")
+    private QuizCategoryStatus luxation;
 
-    @Enumerated(EnumType.STRING)
-    @Column(name = "mb_status", nullable = false)
-    private QuizCategoryStatus status;
+    @Convert(converter = QuizCategoryStatusConverter.class)
+    @Column(name = "mb_dysplasia_status")
+    private QuizCategoryStatus dysplasia;
+
+    @Convert(converter = QuizCategoryStatusConverter.class)
+    @Column(name = "mb_arthritis_status")
+    private QuizCategoryStatus arthritis;
 
     @Column(name = "mb_created_ts", nullable = false)
     private LocalDateTime createdTs;
 
-}
\ No newline at end of file
+    public QuizCategoryStatus getStatus(MobilityCategory category) {
+        return switch (category) {
+            case LUXATION -> luxation;
+            case DYSPLASIA -> dysplasia;
+            case ARTHRITIS -> arthritis;
+        };
+    }
+
+    public void setStatus(MobilityCategory category, QuizCategoryStatus status) {
+        switch (category) {
+            case LUXATION -> luxation = status;
+            case DYSPLASIA -> dysplasia = status;
+            case ARTHRITIS -> arthritis = status;
+        }
+    }
+}
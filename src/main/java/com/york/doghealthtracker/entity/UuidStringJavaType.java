@@ -0,0 +1,46 @@
+package com.york.doghealthtracker.entity;
+
+import org.hibernate.type.SqlTypes;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.StringJavaType;
+import org.hibernate.type.descriptor.jdbc.JdbcType;
+import org.hibernate.type.descriptor.jdbc.JdbcTypeIndicators;
+
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Maps a String id to a native uuid column, so that entities and the API keep the canonical string form of their ids
+ * while the database stores and compares 16 byte values.
+ * An id that is not a well-formed UUID (e.g. a mistyped path variable) is bound as the nil UUID, which is never
+ * generated, so looking it up finds nothing, as it did when ids were stored as strings.
+ */
+public class UuidStringJavaType extends StringJavaType {
+
+    private static final Pattern CANONICAL_UUID =
+            Pattern.compile("\\p{XDigit}{8}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{12}");
+
+    private static final UUID NIL = new UUID(0L, 0L);
+
+    @Override
+    public JdbcType getRecommendedJdbcType(JdbcTypeIndicators indicators) {
+        return indicators.getJdbcType(SqlTypes.UUID);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <X> X unwrap(String value, Class<X> type, WrapperOptions options) {
+        if (value != null && UUID.class.isAssignableFrom(type)) {
+            return (X) (CANONICAL_UUID.matcher(value).matches() ? UUID.fromString(value) : NIL);
+        }
+        return super.unwrap(value, type, options);
+    }
+
+    @Override
+    public <X> String wrap(X value, WrapperOptions options) {
+        if (value instanceof UUID uuid) {
+            return uuid.toString();
+        }
+        return super.wrap(value, options);
+    }
+}
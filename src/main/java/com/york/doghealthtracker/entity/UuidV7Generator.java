@@ -0,0 +1,76 @@
+package com.york.doghealthtracker.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Generates time ordered version 7 UUIDs (RFC 9562): a 48 bit Unix timestamp in milliseconds, followed by the version,
+ * the variant and 74 random bits.
+ * Ids generated later sort after ids generated earlier, so inserts append to the right of the primary key indexes
+ * instead of splitting pages all over them, as random version 4 UUIDs do. Ids generated within the same millisecond
+ * stay ordered too: the random bits of such an id are those of the previous id, incremented by a random amount
+ * (RFC 9562, section 6.2, method 2). Dog ids are part of the upload URLs, so the random bits and the increments come
+ * from a SecureRandom and ids cannot be guessed from other ids.
+ */
+public class UuidV7Generator implements UuidValueGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final long TIMESTAMP_MASK = 0xFFFF_FFFF_FFFFL;
+    private static final long RAND_A_MASK = 0xFFFL;
+    private static final long RAND_B_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    private static long lastMillis = -1L;
+    private static long lastRandA;
+    private static long lastRandB;
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return next();
+    }
+
+    /**
+     * @return a new version 7 UUID, with the current time as its timestamp, sorting after every UUID previously
+     * returned by this method.
+     */
+    public static synchronized UUID next() {
+        long millis = Math.max(System.currentTimeMillis(), lastMillis);
+        long randA;
+        long randB;
+        if (millis == lastMillis) {
+            randA = lastRandA;
+            randB = lastRandB + 1 + (RANDOM.nextInt() & 0xFFFF_FFFFL);
+            if (randB > RAND_B_MASK) {
+                randB &= RAND_B_MASK;
+                randA++;
+            }
+            if (randA > RAND_A_MASK) {
+                millis++;
+                randA = RANDOM.nextInt() & RAND_A_MASK;
+                randB = RANDOM.nextLong() & RAND_B_MASK;
+            }
+        } else {
+            randA = RANDOM.nextInt() & RAND_A_MASK;
+            randB = RANDOM.nextLong() & RAND_B_MASK;
+        }
+        lastMillis = millis;
+        lastRandA = randA;
+        lastRandB = randB;
+        return uuid(millis, randA, randB);
+    }
+
+    /**
+     * @param epochMillis The Unix timestamp of the UUID, in milliseconds.
+     * @return a new version 7 UUID with the given timestamp.
+     */
+    public static UUID of(long epochMillis) {
+        return uuid(epochMillis, RANDOM.nextInt() & RAND_A_MASK, RANDOM.nextLong() & RAND_B_MASK);
+    }
+
+    private static UUID uuid(long epochMillis, long randA, long randB) {
+        return new UUID((epochMillis & TIMESTAMP_MASK) << 16 | 0x7000L | randA, 0x8000_0000_0000_0000L | randB);
+    }
+}
@@ -0,0 +1,50 @@
+package com.york.doghealthtracker.entity.converter;
+
+import jakarta.persistence.AttributeConverter;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Stores an enum as a SMALLINT code instead of its name.
+ * The code of a constant is its position in the list given by the subclass, not its ordinal, so that the stored codes
+ * do not change when the constants of the generated API enums are reordered. Every constant must be listed, which is
+ * checked when the converter is created, and a code must never be reassigned once it is stored.
+ *
+ * @param <E> The enum type to convert.
+ */
+public abstract class EnumCodeConverter<E extends Enum<E>> implements AttributeConverter<E, Short> {
+
+    private final Class<E> type;
+    private final E[] constantsByCode;
+    private final Map<E, Short> codesByConstant;
+
+    @SafeVarargs
+    protected EnumCodeConverter(Class<E> type, E... constantsByCode) {
+        this.type = type;
+        this.constantsByCode = constantsByCode;
+        this.codesByConstant = new EnumMap<>(type);
+        for (short code = 0; code < constantsByCode.length; code++) {
+            codesByConstant.put(constantsByCode[code], code);
+        }
+        if (codesByConstant.size() != type.getEnumConstants().length) {
+            throw new IllegalStateException("Not every constant of " + type.getSimpleName() + " has a code.");
+        }
+    }
+
+    @Override
+    public Short convertToDatabaseColumn(E attribute) {
+        return attribute != null ? codesByConstant.get(attribute) : null;
+    }
+
+    @Override
+    public E convertToEntityAttribute(Short code) {
+        if (code == null) {
+            return null;
+        }
+        if (code < 0 || code >= constantsByCode.length) {
+            throw new IllegalArgumentException("Unknown " + type.getSimpleName() + " code: " + code);
+        }
+        return constantsByCode[code];
+    }
+}
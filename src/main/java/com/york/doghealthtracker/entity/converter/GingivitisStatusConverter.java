@@ -0,0 +1,15 @@
+package com.york.doghealthtracker.entity.converter;
+
+import com.york.doghealthtracker.model.GingivitisStatus;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a GingivitisStatus as 0 (NONE), 1 (MILD) or 2 (SEVERE).
+ */
+@Converter
+public class GingivitisStatusConverter extends EnumCodeConverter<GingivitisStatus> {
+
+    public GingivitisStatusConverter() {
+        super(GingivitisStatus.class, GingivitisStatus.NONE, GingivitisStatus.MILD, GingivitisStatus.SEVERE);
+    }
+}
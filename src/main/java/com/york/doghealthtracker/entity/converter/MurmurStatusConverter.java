@@ -0,0 +1,16 @@
+package com.york.doghealthtracker.entity.converter;
+
+import com.york.doghealthtracker.model.MurmurStatus;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a MurmurStatus as its grade: 0 (NONE) to 6 (GRADE_VI).
+ */
+@Converter
+public class MurmurStatusConverter extends EnumCodeConverter<MurmurStatus> {
+
+    public MurmurStatusConverter() {
+        super(MurmurStatus.class, MurmurStatus.NONE, MurmurStatus.GRADE_I, MurmurStatus.GRADE_II, MurmurStatus.GRADE_III,
+                MurmurStatus.GRADE_IV, MurmurStatus.GRADE_V, MurmurStatus.GRADE_VI);
+    }
+}
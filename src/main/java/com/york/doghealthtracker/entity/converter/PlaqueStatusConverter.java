@@ -0,0 +1,15 @@
+package com.york.doghealthtracker.entity.converter;
+
+import com.york.doghealthtracker.model.PlaqueStatus;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a PlaqueStatus as 0 (HI), 1 (LO) or 2 (NORM).
+ */
+@Converter
+public class PlaqueStatusConverter extends EnumCodeConverter<PlaqueStatus> {
+
+    public PlaqueStatusConverter() {
+        super(PlaqueStatus.class, PlaqueStatus.HI, PlaqueStatus.LO, PlaqueStatus.NORM);
+    }
+}
@@ -0,0 +1,15 @@
+package com.york.doghealthtracker.entity.converter;
+
+import com.york.doghealthtracker.model.QuizCategoryStatus;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a QuizCategoryStatus as 0 (green), 1 (yellow) or 2 (red).
+ */
+@Converter
+public class QuizCategoryStatusConverter extends EnumCodeConverter<QuizCategoryStatus> {
+
+    public QuizCategoryStatusConverter() {
+        super(QuizCategoryStatus.class, QuizCategoryStatus.GREEN, QuizCategoryStatus.YELLOW, QuizCategoryStatus.RED);
+    }
+}
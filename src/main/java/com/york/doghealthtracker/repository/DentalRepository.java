@@ -1,11 +1,43 @@
 package com.york.doghealthtracker.repository;
 
 import com.york.doghealthtracker.entity.DentalEntity;
+import com.york.doghealthtracker.repository.projection.DentalView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface DentalRepository extends JpaRepository<DentalEntity, String> {
     List<DentalEntity> findByDog_Id(String dogId);
     Boolean existsByIdAndDog_Id(String id, String dogId);
+    long countByDog_Id(String dogId);
+    boolean existsByDog_IdAndToothLossTrue(String dogId);
+    Optional<DentalEntity> findTopByDog_IdOrderByCreatedTsDesc(String dogId);
+
+    @Query("""
+            select new com.york.doghealthtracker.repository.projection.DentalView(dl.id, dl.dog.id, dl.plaqueStatus,
+                    dl.toothLoss, dl.gingivitisStatus, dl.lastCleaningDate, dl.createdTs)
+            from DentalEntity dl
+            where dl.dog.id = :dogId
+            order by dl.createdTs desc, dl.id desc
+            """)
+    List<DentalView> findViewsByDog_Id(@Param("dogId") String dogId, Limit limit);
+
+    @Query("""
+            select new com.york.doghealthtracker.repository.projection.DentalView(dl.id, dl.dog.id, dl.plaqueStatus,
+                    dl.toothLoss, dl.gingivitisStatus, dl.lastCleaningDate, dl.createdTs)
+            from DentalEntity dl
+            where dl.dog.id = :dogId
+              and dl.createdTs <= :createdTs
+              and (dl.createdTs < :createdTs or (dl.createdTs = :createdTs and dl.id < :id))
+            order by dl.createdTs desc, dl.id desc
+            """)
+    List<DentalView> findViewsByDog_IdBefore(@Param("dogId") String dogId,
+            @Param("createdTs") LocalDateTime createdTs,
+            @Param("id") String id,
+            Limit limit);
 }
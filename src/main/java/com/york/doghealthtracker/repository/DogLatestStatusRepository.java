@@ -0,0 +1,11 @@
+package com.york.doghealthtracker.repository;
+
+import com.york.doghealthtracker.entity.DogLatestStatusEntity;
+import com.york.doghealthtracker.entity.DogLatestStatusId;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface DogLatestStatusRepository extends JpaRepository<DogLatestStatusEntity, DogLatestStatusId> {
+    List<DogLatestStatusEntity> findById_DogId(String dogId);
+}
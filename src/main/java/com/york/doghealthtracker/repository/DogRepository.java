@@ -2,11 +2,25 @@ package com.york.doghealthtracker.repository;
 
 import com.york.doghealthtracker.entity.DogEntity;
 import com.york.doghealthtracker.entity.UserEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface DogRepository extends JpaRepository<DogEntity, String> {
+    // Cached in the query cache; the result is invalidated by any write to DOG.
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "dog-by-owner")})
     Optional<DogEntity> findByOwnerId(String participantId);
     Boolean existsByIdAndOwner_Id(String dogId, String participantId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select d.id from DogEntity d where d.id = :dogId")
+    Optional<String> lockById(@Param("dogId") String dogId);
 }
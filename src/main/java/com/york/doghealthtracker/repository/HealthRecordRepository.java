@@ -1,9 +1,14 @@
 package com.york.doghealthtracker.repository;
 
 import com.york.doghealthtracker.entity.HealthRecordEntity;
+import com.york.doghealthtracker.repository.projection.HealthRecordView;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +17,30 @@ public interface HealthRecordRepository extends JpaRepository<HealthRecordEntity
     @NotNull
     Optional<HealthRecordEntity> findById(@NotNull String id);
     Boolean existsByIdAndDog_Id(String healthRecordId, String dogId);
+    boolean existsByDog_IdAndContentHashAndDocumentUrlEndingWith(String dogId, String contentHash, String filename);
+    Optional<HealthRecordEntity> findFirstByDog_IdAndContentHash(String dogId, String contentHash);
+    long countByDog_Id(String dogId);
+
+    @Query("""
+            select new com.york.doghealthtracker.repository.projection.HealthRecordView(hr.id, hr.dog.id,
+                    hr.documentName, hr.documentUrl, hr.contentType, hr.createdTs)
+            from HealthRecordEntity hr
+            where hr.dog.id = :dogId
+            order by hr.createdTs desc, hr.id desc
+            """)
+    List<HealthRecordView> findViewsByDog_Id(@Param("dogId") String dogId, Limit limit);
+
+    @Query("""
+            select new com.york.doghealthtracker.repository.projection.HealthRecordView(hr.id, hr.dog.id,
+                    hr.documentName, hr.documentUrl, hr.contentType, hr.createdTs)
+            from HealthRecordEntity hr
+            where hr.dog.id = :dogId
+              and hr.createdTs <= :createdTs
+              and (hr.createdTs < :createdTs or (hr.createdTs = :createdTs and hr.id < :id))
+            order by hr.createdTs desc, hr.id desc
+            """)
+    List<HealthRecordView> findViewsByDog_IdBefore(@Param("dogId") String dogId,
+            @Param("createdTs") LocalDateTime createdTs,
+            @Param("id") String id,
+            Limit limit);
 }
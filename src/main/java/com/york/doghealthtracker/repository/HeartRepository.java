@@ -1,11 +1,134 @@
 package com.york.doghealthtracker.repository;
 
 import com.york.doghealthtracker.entity.HeartEntity;
+import com.york.doghealthtracker.repository.projection.HeartView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 public interface HeartRepository extends JpaRepository<HeartEntity, String> {
-    List<HeartEntity> findByDog_Id(String dogId);
     Boolean existsByIdAndDog_Id(String id, String dogId);
+    long countByDog_Id(String dogId);
+
+    @Query("""
+            select new com.york.doghealthtracker.repository.projection.HeartView(ht.id, ht.dog.id, ht.hasFatigue,
+                    ht.isCoughing, ht.murmursStatus, ht.heartRate, ht.breathingRate, ht.lastDirofilariaLastPrevention,
+                    ht.createdTs)
+            from HeartEntity ht
+            where ht.dog.id = :dogId
+            order by ht.createdTs desc, ht.id desc
+            """)
+    List<HeartView> findViewsByDog_Id(@Param("dogId") String dogId, Limit limit);
+
+    // The redundant createdTs <= :createdTs lets PostgreSQL skip the partitions newer than the cursor.
+    @Query("""
+            select new com.york.doghealthtracker.repository.projection.HeartView(ht.id, ht.dog.id, ht.hasFatigue,
+                    ht.isCoughing, ht.murmursStatus, ht.heartRate, ht.breathingRate, ht.lastDirofilariaLastPrevention,
+                    ht.createdTs)
+            from HeartEntity ht
+            where ht.dog.id = :dogId
+              and ht.createdTs <= :createdTs
+              and (ht.createdTs < :createdTs or (ht.createdTs = :createdTs and ht.id < :id))
+            order by ht.createdTs desc, ht.id desc
+            """)
+    List<HeartView> findViewsByDog_IdBefore(@Param("dogId") String dogId,
+            @Param("createdTs") LocalDateTime createdTs,
+            @Param("id") String id,
+            Limit limit);
+
+    @Query(value = """
+            SELECT r.HT_ID, a.HTA_DOG_ID AS HT_DOG_ID, r.HT_FATIGUE, r.HT_COUGHING, r.HT_MURMURS, r.HT_HEART_RATE, r.HT_BREATHING_RATE,
+                   r.HT_DIROFILARIA_LAST_PREVENTION, r.HT_CREATED_TS
+            FROM HEART_ARCHIVE a
+                     CROSS JOIN LATERAL jsonb_to_recordset(a.HTA_RECORDS)
+                AS r (HT_ID UUID, HT_FATIGUE BOOLEAN, HT_COUGHING BOOLEAN, HT_MURMURS SMALLINT,
+                                          HT_HEART_RATE SMALLINT, HT_BREATHING_RATE SMALLINT,
+                                          HT_DIROFILARIA_LAST_PREVENTION DATE, HT_CREATED_TS TIMESTAMP)
+            WHERE a.HTA_DOG_ID = CAST(:dogId AS UUID)
+            ORDER BY r.HT_CREATED_TS DESC, r.HT_ID DESC
+            """, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<HeartEntity> findArchivedByDog_Id(@Param("dogId") String dogId, Limit limit);
+
+    @Query(value = """
+            SELECT r.HT_ID, a.HTA_DOG_ID AS HT_DOG_ID, r.HT_FATIGUE, r.HT_COUGHING, r.HT_MURMURS, r.HT_HEART_RATE, r.HT_BREATHING_RATE,
+                   r.HT_DIROFILARIA_LAST_PREVENTION, r.HT_CREATED_TS
+            FROM HEART_ARCHIVE a
+                     CROSS JOIN LATERAL jsonb_to_recordset(a.HTA_RECORDS)
+                AS r (HT_ID UUID, HT_FATIGUE BOOLEAN, HT_COUGHING BOOLEAN, HT_MURMURS SMALLINT,
+                                          HT_HEART_RATE SMALLINT, HT_BREATHING_RATE SMALLINT,
+                                          HT_DIROFILARIA_LAST_PREVENTION DATE, HT_CREATED_TS TIMESTAMP)
+            WHERE a.HTA_DOG_ID = CAST(:dogId AS UUID)
+              AND a.HTA_MONTH <= :createdTs
+              AND (r.HT_CREATED_TS < :createdTs OR (r.HT_CREATED_TS = :createdTs AND r.HT_ID < CAST(:id AS UUID)))
+            ORDER BY r.HT_CREATED_TS DESC, r.HT_ID DESC
+            """, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<HeartEntity> findArchivedByDog_IdBefore(@Param("dogId") String dogId,
+            @Param("createdTs") LocalDateTime createdTs,
+            @Param("id") String id,
+            Limit limit);
+
+    @Query(value = "SELECT coalesce(sum(HTA_RECORD_COUNT), 0) FROM HEART_ARCHIVE WHERE HTA_DOG_ID = CAST(:dogId AS UUID)",
+            nativeQuery = true)
+    long countArchivedByDog_Id(@Param("dogId") String dogId);
+
+    /**
+     * Reads a page of the heart records of a dog, most recent first. With includeArchive, a page which HEART cannot
+     * fill is completed from HEART_ARCHIVE, whose records are all older than those in HEART. The records are read as
+     * projections, the archived ones through read-only entities which are never flushed.
+     *
+     * @param dogId          The dog id to read heart records for.
+     * @param before         The creation time of the record the page starts after, or null for the most recent records.
+     * @param beforeId       The id of the record the page starts after, breaking ties between equal creation times.
+     * @param limit          The maximum number of records to read.
+     * @param includeArchive Whether to continue into the archive.
+     * @return the projections of the heart records of the page.
+     */
+    default List<HeartView> findHistory(String dogId, LocalDateTime before, String beforeId, Limit limit,
+            boolean includeArchive) {
+        List<HeartView> page = before == null
+                ? findViewsByDog_Id(dogId, limit)
+                : findViewsByDog_IdBefore(dogId, before, beforeId, limit);
+        if (!includeArchive || page.size() >= limit.max()) {
+            return page;
+        }
+        Limit remaining = Limit.of(limit.max() - page.size());
+        List<HeartEntity> archived = before == null
+                ? findArchivedByDog_Id(dogId, remaining)
+                : findArchivedByDog_IdBefore(dogId, before, beforeId, remaining);
+        if (archived.isEmpty()) {
+            return page;
+        }
+        List<HeartView> merged = new ArrayList<>(page);
+        archived.forEach(heart -> merged.add(HeartView.of(heart)));
+        return merged;
+    }
+
+    /**
+     * @param dogId          The dog id to read the most recent heart record for.
+     * @param includeArchive Whether to look into the archive when HEART has no heart records of the dog.
+     * @return an Optional of the most recent heart record of the dog, or an empty Optional if there is none.
+     */
+    default Optional<HeartView> findLatest(String dogId, boolean includeArchive) {
+        return findHistory(dogId, null, null, Limit.of(1), includeArchive).stream().findFirst();
+    }
+
+    /**
+     * @param dogId          The dog id to count heart records for.
+     * @param includeArchive Whether to count the archived records as well.
+     * @return the number of heart records of the dog.
+     */
+    default long countHistory(String dogId, boolean includeArchive) {
+        return countByDog_Id(dogId) + (includeArchive ? countArchivedByDog_Id(dogId) : 0);
+    }
 }
@@ -1,13 +1,19 @@
 package com.york.doghealthtracker.repository;
 
 import com.york.doghealthtracker.entity.HormoneEntity;
-import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface HormoneRepository extends JpaRepository<HormoneEntity, String> {
    List<HormoneEntity> findByDog_Id(String dogId);
-   @Transactional
-   void deleteByDog_Id(String dogId);
+   Optional<HormoneEntity> findFirstByDog_IdOrderByCreatedTsDesc(String dogId);
+
+   @Modifying
+   @Query("delete from HormoneEntity h where h.dog.id = :dogId")
+   int deleteAllByDogId(@Param("dogId") String dogId);
 }
@@ -2,13 +2,19 @@ package com.york.doghealthtracker.repository;
 
 import com.york.doghealthtracker.entity.HormoneEntity;
 import com.york.doghealthtracker.entity.MobilityEntity;
-import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface MobilityRepository extends JpaRepository<MobilityEntity, String> {
     List<MobilityEntity> findByDog_Id(String dogId);
-    @Transactional
-    void deleteByDog_Id(String dogId);
+    Optional<MobilityEntity> findFirstByDog_IdOrderByCreatedTsDesc(String dogId);
+
+    @Modifying
+    @Query("delete from MobilityEntity m where m.dog.id = :dogId")
+    int deleteAllByDogId(@Param("dogId") String dogId);
 }
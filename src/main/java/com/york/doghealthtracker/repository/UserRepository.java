@@ -1,11 +1,17 @@
 package com.york.doghealthtracker.repository;
 
 import com.york.doghealthtracker.entity.UserEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<UserEntity, String> {
+    // Cached in the query cache; the result is invalidated by any write to PERSONAL_DATA.
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "user-by-email")})
     Optional<UserEntity> findByEmail(String email);
     Optional<UserEntity> findByResetToken(String resetToken);
 }
@@ -1,12 +1,123 @@
 package com.york.doghealthtracker.repository;
 
 import com.york.doghealthtracker.entity.WeightEntity;
+import com.york.doghealthtracker.repository.projection.WeightView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 public interface WeightRepository extends JpaRepository<WeightEntity, String> {
-    List<WeightEntity> findByDogId(String dogId);
-    Optional<WeightEntity> findTopByDog_IdOrderByCreatedTsDesc(String dogId);
-}
\ No newline at end of file
+    long countByDog_Id(String dogId);
+
+    @Query("""
+            select new com.york.doghealthtracker.repository.projection.WeightView(w.id, w.current, w.createdTs)
+            from WeightEntity w
+            where w.dog.id = :dogId
+            order by w.createdTs desc, w.id desc
+            """)
+    List<WeightView> findViewsByDog_Id(@Param("dogId") String dogId, Limit limit);
+
+    // The redundant createdTs <= :createdTs lets PostgreSQL skip the partitions newer than the cursor.
+    @Query("""
+            select new com.york.doghealthtracker.repository.projection.WeightView(w.id, w.current, w.createdTs)
+            from WeightEntity w
+            where w.dog.id = :dogId
+              and w.createdTs <= :createdTs
+              and (w.createdTs < :createdTs or (w.createdTs = :createdTs and w.id < :id))
+            order by w.createdTs desc, w.id desc
+            """)
+    List<WeightView> findViewsByDog_IdBefore(@Param("dogId") String dogId,
+            @Param("createdTs") LocalDateTime createdTs,
+            @Param("id") String id,
+            Limit limit);
+
+    @Query(value = """
+            SELECT r.WG_ID, a.WGA_DOG_ID AS WG_DOG_ID, r.WG_CURRENT, r.WG_CREATED_TS
+            FROM WEIGHT_ARCHIVE a
+                     CROSS JOIN LATERAL jsonb_to_recordset(a.WGA_RECORDS)
+                AS r (WG_ID UUID, WG_CURRENT REAL, WG_CREATED_TS TIMESTAMP)
+            WHERE a.WGA_DOG_ID = CAST(:dogId AS UUID)
+            ORDER BY r.WG_CREATED_TS DESC, r.WG_ID DESC
+            """, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<WeightEntity> findArchivedByDog_Id(@Param("dogId") String dogId, Limit limit);
+
+    @Query(value = """
+            SELECT r.WG_ID, a.WGA_DOG_ID AS WG_DOG_ID, r.WG_CURRENT, r.WG_CREATED_TS
+            FROM WEIGHT_ARCHIVE a
+                     CROSS JOIN LATERAL jsonb_to_recordset(a.WGA_RECORDS)
+                AS r (WG_ID UUID, WG_CURRENT REAL, WG_CREATED_TS TIMESTAMP)
+            WHERE a.WGA_DOG_ID = CAST(:dogId AS UUID)
+              AND a.WGA_MONTH <= :createdTs
+              AND (r.WG_CREATED_TS < :createdTs OR (r.WG_CREATED_TS = :createdTs AND r.WG_ID < CAST(:id AS UUID)))
+            ORDER BY r.WG_CREATED_TS DESC, r.WG_ID DESC
+            """, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<WeightEntity> findArchivedByDog_IdBefore(@Param("dogId") String dogId,
+            @Param("createdTs") LocalDateTime createdTs,
+            @Param("id") String id,
+            Limit limit);
+
+    @Query(value = "SELECT coalesce(sum(WGA_RECORD_COUNT), 0) FROM WEIGHT_ARCHIVE WHERE WGA_DOG_ID = CAST(:dogId AS UUID)",
+            nativeQuery = true)
+    long countArchivedByDog_Id(@Param("dogId") String dogId);
+
+    /**
+     * Reads a page of the weight records of a dog, most recent first. With includeArchive, a page which WEIGHT cannot
+     * fill is completed from WEIGHT_ARCHIVE, whose records are all older than those in WEIGHT. The records are read as
+     * projections, the archived ones through read-only entities which are never flushed.
+     *
+     * @param dogId          The dog id to read weight records for.
+     * @param before         The creation time of the record the page starts after, or null for the most recent records.
+     * @param beforeId       The id of the record the page starts after, breaking ties between equal creation times.
+     * @param limit          The maximum number of records to read.
+     * @param includeArchive Whether to continue into the archive.
+     * @return the projections of the weight records of the page.
+     */
+    default List<WeightView> findHistory(String dogId, LocalDateTime before, String beforeId, Limit limit,
+            boolean includeArchive) {
+        List<WeightView> page = before == null
+                ? findViewsByDog_Id(dogId, limit)
+                : findViewsByDog_IdBefore(dogId, before, beforeId, limit);
+        if (!includeArchive || page.size() >= limit.max()) {
+            return page;
+        }
+        Limit remaining = Limit.of(limit.max() - page.size());
+        List<WeightEntity> archived = before == null
+                ? findArchivedByDog_Id(dogId, remaining)
+                : findArchivedByDog_IdBefore(dogId, before, beforeId, remaining);
+        if (archived.isEmpty()) {
+            return page;
+        }
+        List<WeightView> merged = new ArrayList<>(page);
+        archived.forEach(weight -> merged.add(WeightView.of(weight)));
+        return merged;
+    }
+
+    /**
+     * @param dogId          The dog id to read the most recent weight record for.
+     * @param includeArchive Whether to look into the archive when WEIGHT has no weight records of the dog.
+     * @return an Optional of the most recent weight record of the dog, or an empty Optional if there is none.
+     */
+    default Optional<WeightView> findLatest(String dogId, boolean includeArchive) {
+        return findHistory(dogId, null, null, Limit.of(1), includeArchive).stream().findFirst();
+    }
+
+    /**
+     * @param dogId          The dog id to count weight records for.
+     * @param includeArchive Whether to count the archived records as well.
+     * @return the number of weight records of the dog.
+     */
+    default long countHistory(String dogId, boolean includeArchive) {
+        return countByDog_Id(dogId) + (includeArchive ? countArchivedByDog_Id(dogId) : 0);
+    }
+}
@@ -0,0 +1,34 @@
+package com.york.doghealthtracker.repository.projection;
+
+import com.york.doghealthtracker.entity.DentalEntity;
+import com.york.doghealthtracker.model.GingivitisStatus;
+import com.york.doghealthtracker.model.PlaqueStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a dental status, holding the columns the dental responses are built from. Selected straight
+ * into the record by the history queries of DentalRepository, so the records of a page are never managed entities.
+ *
+ * @param id               The id of the dental status.
+ * @param dogId            The id of the dog the dental status belongs to.
+ * @param plaqueStatus     The plaque level status.
+ * @param toothLoss        Whether the dog has lost teeth.
+ * @param gingivitisStatus The gum health status.
+ * @param lastCleaningDate The date of the last teeth cleaning.
+ * @param createdTs        The creation time of the dental status.
+ */
+public record DentalView(String id, String dogId, PlaqueStatus plaqueStatus, Boolean toothLoss,
+                         GingivitisStatus gingivitisStatus, LocalDate lastCleaningDate, LocalDateTime createdTs) {
+
+    /**
+     * @param entity The DentalEntity to project.
+     * @return the DentalView of the entity.
+     */
+    public static DentalView of(DentalEntity entity) {
+        return new DentalView(entity.getId(), entity.getDog() != null ? entity.getDog().getId() : null,
+                entity.getPlaqueStatus(), entity.getToothLoss(), entity.getGingivitisStatus(),
+                entity.getLastCleaningDate(), entity.getCreatedTs());
+    }
+}
@@ -0,0 +1,30 @@
+package com.york.doghealthtracker.repository.projection;
+
+import com.york.doghealthtracker.entity.HealthRecordEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a health record, holding the columns the health record responses are built from. Selected
+ * straight into the record by the history queries of HealthRecordRepository, so the records of a page are never
+ * managed entities, and the content hash is never read.
+ *
+ * @param id           The id of the health record.
+ * @param dogId        The id of the dog the health record belongs to.
+ * @param documentName The name of the uploaded document.
+ * @param documentUrl  The URL the document is served from.
+ * @param contentType  The content type of the document.
+ * @param createdTs    The creation time of the health record.
+ */
+public record HealthRecordView(String id, String dogId, String documentName, String documentUrl, String contentType,
+                               LocalDateTime createdTs) {
+
+    /**
+     * @param entity The HealthRecordEntity to project.
+     * @return the HealthRecordView of the entity.
+     */
+    public static HealthRecordView of(HealthRecordEntity entity) {
+        return new HealthRecordView(entity.getId(), entity.getDog().getId(), entity.getDocumentName(),
+                entity.getDocumentUrl(), entity.getContentType(), entity.getCreatedTs());
+    }
+}
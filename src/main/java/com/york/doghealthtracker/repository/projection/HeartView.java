@@ -0,0 +1,35 @@
+package com.york.doghealthtracker.repository.projection;
+
+import com.york.doghealthtracker.entity.HeartEntity;
+import com.york.doghealthtracker.model.MurmurStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a heart record, holding the columns the heart responses are built from. Selected straight
+ * into the record by the history queries of HeartRepository, so the records of a page are never managed entities.
+ *
+ * @param id             The id of the heart record.
+ * @param dogId          The id of the dog the heart record belongs to.
+ * @param fatigue        Whether the dog shows fatigue.
+ * @param coughing       Whether the dog is coughing.
+ * @param murmurStatus   The murmur grade.
+ * @param heartRate      The heart rate in beats per minute.
+ * @param breathingRate  The breathing rate in breaths per minute.
+ * @param lastPrevention The date of the last dirofilaria prevention.
+ * @param createdTs      The creation time of the heart record.
+ */
+public record HeartView(String id, String dogId, Boolean fatigue, Boolean coughing, MurmurStatus murmurStatus,
+                        Integer heartRate, Integer breathingRate, LocalDate lastPrevention, LocalDateTime createdTs) {
+
+    /**
+     * @param entity The HeartEntity to project.
+     * @return the HeartView of the entity.
+     */
+    public static HeartView of(HeartEntity entity) {
+        return new HeartView(entity.getId(), entity.getDog() != null ? entity.getDog().getId() : null,
+                entity.getHasFatigue(), entity.getIsCoughing(), entity.getMurmursStatus(), entity.getHeartRate(),
+                entity.getBreathingRate(), entity.getLastDirofilariaLastPrevention(), entity.getCreatedTs());
+    }
+}
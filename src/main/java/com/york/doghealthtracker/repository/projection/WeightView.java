@@ -0,0 +1,24 @@
+package com.york.doghealthtracker.repository.projection;
+
+import com.york.doghealthtracker.entity.WeightEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a weight record, holding the columns the weight responses are built from. Selected straight
+ * into the record by the history queries of WeightRepository, so the records of a page are never managed entities.
+ *
+ * @param id        The id of the weight record.
+ * @param current   The weight of the dog.
+ * @param createdTs The creation time of the weight record.
+ */
+public record WeightView(String id, Float current, LocalDateTime createdTs) {
+
+    /**
+     * @param entity The WeightEntity to project.
+     * @return the WeightView of the entity.
+     */
+    public static WeightView of(WeightEntity entity) {
+        return new WeightView(entity.getId(), entity.getCurrent(), entity.getCreatedTs());
+    }
+}
@@ -1,11 +1,14 @@
 package com.york.doghealthtracker.security;
 
 import com.york.doghealthtracker.service.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -13,13 +16,23 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
+/**
+ * Filter that authenticates incoming HTTP requests through the JWT token in the Authorization header.
+ * In stateless mode (app.security.stateless-principal), the principal is built from the participant id and role
+ * claims of the token without loading the user from the database. Tokens without these claims, and non-stateless mode,
+ * fall back to loading the user through UserService.
+ */
 @Component
 public class AuthTokenFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
     private final UserService userService;
 
+    @Value("${app.security.stateless-principal}")
+    private boolean statelessPrincipal;
+
     public AuthTokenFilter(JwtUtils jwtUtils, UserService userService) {
         this.jwtUtils = jwtUtils;
         this.userService = userService;
@@ -33,11 +46,9 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUsernameFromToken(jwt);
-                UserDetails userDetails = userService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken auth =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            Optional<Claims> claims = jwt != null ? jwtUtils.parseClaims(jwt) : Optional.empty();
+            if (claims.isPresent()) {
+                UsernamePasswordAuthenticationToken auth = buildAuthentication(claims.get());
                 auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(auth);
             }
@@ -48,6 +59,20 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UsernamePasswordAuthenticationToken buildAuthentication(Claims claims) {
+        String participantId = claims.get(JwtUtils.PARTICIPANT_ID_CLAIM, String.class);
+        String role = claims.get(JwtUtils.ROLE_CLAIM, String.class);
+
+        if (statelessPrincipal && participantId != null && role != null) {
+            JwtPrincipal principal = new JwtPrincipal(participantId, claims.getSubject(), role);
+            return new UsernamePasswordAuthenticationToken(principal, null,
+                    AuthorityUtils.createAuthorityList("ROLE_" + role));
+        }
+
+        UserDetails userDetails = userService.loadUserByUsername(claims.getSubject());
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
         if (headerAuth != null && headerAuth.startsWith("Bearer ")) {
@@ -0,0 +1,19 @@
+package com.york.doghealthtracker.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal of a user authenticated through a JWT token carrying the participant id and role claims.
+ * Allows resolving the user in context without loading the user from the database.
+ *
+ * @param participantId The participant id of the authenticated user.
+ * @param email         The email of the authenticated user, used as username.
+ * @param role          The role of the authenticated user.
+ */
+public record JwtPrincipal(String participantId, String email, String role) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
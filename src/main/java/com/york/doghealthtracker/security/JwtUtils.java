@@ -1,7 +1,13 @@
 package com.york.doghealthtracker.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -9,10 +15,22 @@ import org.springframework.stereotype.Component;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Generates and validates JWT tokens.
+ * Already verified tokens are kept in a bounded cache until they expire, so that repeated requests with the same
+ * token skip signature verification and claims parsing. The cache size is configured through
+ * spring.jwt.verified-token-cache.max-size in application.yml.
+ * Token validation is timed in the jwt.validation timer, tagged by result: cached, verified or invalid.
+ */
 @Component
 public class JwtUtils {
 
+    public static final String PARTICIPANT_ID_CLAIM = "pid";
+    public static final String ROLE_CLAIM = "role";
+
     @Value("${spring.jwt.secret}")
     private String jwtSecret;
 
@@ -21,36 +39,132 @@ public class JwtUtils {
 
     private Key key;
 
+    private JwtParser jwtParser;
+
+    private final Cache<String, Claims> verifiedTokens;
+
+    private final Timer cachedValidations;
+    private final Timer verifiedValidations;
+    private final Timer invalidValidations;
+
+    public JwtUtils(@Value("${spring.jwt.verified-token-cache.max-size}") long verifiedTokenCacheSize,
+                    MeterRegistry meterRegistry) {
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "verifiedJwtTokens");
+        this.cachedValidations = validationTimer(meterRegistry, "cached");
+        this.verifiedValidations = validationTimer(meterRegistry, "verified");
+        this.invalidValidations = validationTimer(meterRegistry, "invalid");
+    }
+
+    private static Timer validationTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("jwt.validation")
+                .description("Validations of JWT tokens")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
     @PostConstruct
     public void init() {
         key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
     public String generateJwtToken(org.springframework.security.core.Authentication authentication) {
+        return generateJwtToken(authentication, null, null);
+    }
+
+    /**
+     * Generates a JWT token for the given authentication, carrying the participant id and role of the user as claims.
+     *
+     * @param authentication The authentication of the user to generate the token for.
+     * @param participantId  The participant id of the user, omitted from the token if null.
+     * @param role           The role of the user, omitted from the token if null.
+     * @return the signed JWT token.
+     */
+    public String generateJwtToken(org.springframework.security.core.Authentication authentication, String participantId, String role) {
         String username = authentication.getName();
         Date now = new Date();
         Date expiry = new Date(now.getTime() + jwtExpirationMs);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(username)
                 .setIssuedAt(now)
-                .setExpiration(expiry)
-                .signWith(key, SignatureAlgorithm.HS256)
-                .compact();
+                .setExpiration(expiry);
+
+        if (participantId != null) {
+            builder.claim(PARTICIPANT_ID_CLAIM, participantId);
+        }
+        if (role != null) {
+            builder.claim(ROLE_CLAIM, role);
+        }
+
+        return builder.signWith(key, SignatureAlgorithm.HS256).compact();
     }
 
     public String getUsernameFromToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token).getBody().getSubject();
+        return jwtParser.parseClaimsJws(token).getBody().getSubject();
     }
 
     public boolean validateJwtToken(String token) {
+        return parseClaims(token).isPresent();
+    }
+
+    /**
+     * Validates the given JWT token and extracts its claims in a single parse.
+     *
+     * @param token The JWT token to parse.
+     * @return Optional of the token Claims, or empty Optional if the token is invalid or expired.
+     */
+    public Optional<Claims> parseClaims(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+
+        long start = System.nanoTime();
+        Claims cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            cachedValidations.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.of(cached);
+        }
+
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            verifiedTokens.put(token, claims);
+            verifiedValidations.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.of(claims);
         } catch (JwtException | IllegalArgumentException ex) {
             // optional: log the exception
         }
-        return false;
+        invalidValidations.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return Optional.empty();
+    }
+
+    /**
+     * Expires cached tokens together with the token expiration claim. Tokens without an expiration claim are kept
+     * for the configured token lifetime.
+     */
+    private class TokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            long remainingMs = claims.getExpiration() != null
+                    ? claims.getExpiration().getTime() - System.currentTimeMillis()
+                    : jwtExpirationMs;
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -56,10 +56,10 @@ public class AuthService {
      * 2. Authentication object is generated;
      * 3. Authentication object is stored in the SecurityContext, which allows other parts of the code to access the
      * currently authenticated user via SecurityContextHolder.getContext().getAuthentication();
-     * 4. Jwt token is generated;
-     * 5. User roles are collected;
-     * 6. User is extracted from the Authentication object, and user entity is retrieved from database, in order to provide
-     * user's participant id into the JwtResponse.
+     * 4. User roles are collected;
+     * 5. User is extracted from the Authentication object, and user entity is retrieved from database, in order to provide
+     * user's participant id into the JwtResponse;
+     * 6. Jwt token is generated, carrying the user's participant id and role as claims.
      *
      * @param loginRequest The login object containing the user email and password used in the authentication process.
      * @return JwtResponse object containing the jwt token, authentication type, username, user roles and participantId.
@@ -71,13 +71,14 @@ public class AuthService {
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        String jwt = jwtUtils.generateJwtToken(authentication);
-
         List<String> roles = authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toList());
 
         User userDetails = (User) authentication.getPrincipal();
         Optional<UserEntity> userEntity = userRepository.findByEmail(userDetails.getUsername());
         String participantId = userEntity.map(UserEntity::getId).orElse(null);
+        String role = userEntity.map(UserEntity::getRole).orElse(null);
+
+        String jwt = jwtUtils.generateJwtToken(authentication, participantId, role);
 
         return new JwtResponse(jwt, authentication.getName(), roles, participantId);
     }
@@ -1,11 +1,19 @@
 package com.york.doghealthtracker.service;
 
-import com.york.doghealthtracker.config.HighlightConfig;
+import com.york.doghealthtracker.config.PaginationConfig;
 import com.york.doghealthtracker.entity.DentalEntity;
 import com.york.doghealthtracker.entity.DogEntity;
+import com.york.doghealthtracker.entity.DogLatestStatusEntity;
+import com.york.doghealthtracker.entity.LatestStatusCategory;
 import com.york.doghealthtracker.model.*;
 import com.york.doghealthtracker.repository.DentalRepository;
 import com.york.doghealthtracker.repository.DogRepository;
+import com.york.doghealthtracker.repository.projection.DentalView;
+import com.york.doghealthtracker.service.highlight.HealthHighlightEngine;
+import com.york.doghealthtracker.service.highlight.HighlightSet;
+import com.york.doghealthtracker.service.pagination.HistoryCursor;
+import com.york.doghealthtracker.service.pagination.HistoryPage;
+import jakarta.transaction.Transactional;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -14,7 +22,6 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Service responsible for dog dental status management.
@@ -27,12 +34,16 @@ public class DentalService {
 
     private final DentalRepository dentalRepository;
     private final DogRepository dogRepository;
-    private final HighlightConfig highlightConfig;
+    private final HealthHighlightEngine highlightEngine;
+    private final PaginationConfig paginationConfig;
+    private final DogLatestStatusService latestStatusService;
 
-    public DentalService(DentalRepository dentalRepository, DogRepository dogRepository, HighlightConfig highlightConfig) {
+    public DentalService(DentalRepository dentalRepository, DogRepository dogRepository, HealthHighlightEngine highlightEngine, PaginationConfig paginationConfig, DogLatestStatusService latestStatusService) {
         this.dentalRepository = dentalRepository;
         this.dogRepository = dogRepository;
-        this.highlightConfig = highlightConfig;
+        this.highlightEngine = highlightEngine;
+        this.paginationConfig = paginationConfig;
+        this.latestStatusService = latestStatusService;
     }
 
     /**
@@ -44,6 +55,7 @@ public class DentalService {
      * error.
      */
     @PreAuthorize("@authorizationService.hasDogOwnership(#dogId)")
+    @Transactional
     public Optional<DentalResponse> addDentalStatus(String dogId, DentalRequest request) {
         DogEntity dog = dogRepository.findById(dogId).orElse(null);
         if (dog == null) {
@@ -60,30 +72,41 @@ public class DentalService {
                 .build();
 
         DentalEntity saved = dentalRepository.save(entity);
+        refreshLatestStatus(dogId);
         return Optional.of(mapToDentalResponse(saved));
     }
 
     /**
-     * Retrieves a list of all dental statuses for a given dog.
+     * Retrieves a page of dental statuses for a given dog, most recent first.
      *
-     * @param dogId The dog id to retrieve a list of dental statuses for.
-     * @return a list of DentalResponse containing all dental statuses for the given dog.
+     * @param dogId  The dog id to retrieve a page of dental statuses for.
+     * @param cursor The token of the requested page, or null for the first page.
+     * @param limit  The requested page size, or null for the default page size.
+     * @return a HistoryPage of DentalResponse containing the dental statuses of the page.
      */
     @PreAuthorize("@authorizationService.hasDogOwnership(#dogId)")
-    public DentalListResponse getDentalListResponse(String dogId) {
-
-        List<DentalEntity> dentalEntityList = dentalRepository.findByDog_Id(dogId);
+    public HistoryPage<DentalResponse> getDentalStatuses(String dogId, String cursor, Integer limit) {
+        return HistoryPage.fetch(cursor, paginationConfig.resolveLimit(limit),
+                        pageLimit -> dentalRepository.findViewsByDog_Id(dogId, pageLimit),
+                        (before, pageLimit) -> dentalRepository.findViewsByDog_IdBefore(dogId, before.createdTs(), before.id(), pageLimit),
+                        dental -> new HistoryCursor(dental.createdTs(), dental.id()))
+                .map(this::mapToDentalResponse)
+                .map(dentalResponse -> dentalResponse
+                        .status(calculateDentalStatus(dentalResponse)));
+    }
 
-        return new DentalListResponse()
-                .dentalRecords(dentalEntityList.stream()
-                        .map(this::mapToDentalResponse)
-                        .map(dentalResponse -> dentalResponse
-                                .status(calculateDentalStatus(dentalResponse)))
-                        .collect(Collectors.toList()))
-                .healthHighlights(getDentalHealthHighlights(dentalEntityList));
+    /**
+     * Counts the dental statuses of a given dog.
+     *
+     * @param dogId The dog id to count dental statuses for.
+     * @return The number of dental statuses of the dog.
+     */
+    @PreAuthorize("@authorizationService.hasDogOwnership(#dogId)")
+    public long countDentalStatuses(String dogId) {
+        return dentalRepository.countByDog_Id(dogId);
     }
 
-    private QuizCategoryStatus calculateDentalStatus(DentalResponse dentalResponse) {
+    QuizCategoryStatus calculateDentalStatus(DentalResponse dentalResponse) {
         int totalMetrics = 0;
         int healthyCount = 0;
 
@@ -137,41 +160,58 @@ public class DentalService {
         }
     }
 
-    private List<HealthHighlight> getDentalHealthHighlights(List<DentalEntity> dentalEntityList) {
-
-        List<HealthHighlight> healthHighlights = new ArrayList<>();
-
-        DentalEntity latestRecord = dentalEntityList.stream()
-                .max(Comparator.comparing(DentalEntity::getCreatedTs))
-                .orElse(null);
-
-        if (dentalEntityList.stream()
-                .anyMatch(DentalEntity::getToothLoss)) {
-            healthHighlights.add(constructHealthHighlight("toothLoss"));
-        }
-
-        if (latestRecord != null) {
-            if (latestRecord.getLastCleaningDate() != null &&
-                    latestRecord.getLastCleaningDate().isBefore(LocalDate.now().minusMonths(12))) {
-                healthHighlights.add(constructHealthHighlight("overdueCleaning"));
-            }
-
-            if (latestRecord.getPlaqueStatus() != null) {
-                switch (latestRecord.getPlaqueStatus()) {
-                    case HI, NORM -> healthHighlights.add(constructHealthHighlight("highPlaque"));
-                }
-            }
-        }
+    /**
+     * Retrieves the dental health highlights of a given dog from the dog_latest_status projection, calculating them
+     * from the dental history if the projection is missing or stale.
+     *
+     * @param dogId The dog id to retrieve dental health highlights for.
+     * @return a list of HealthHighlight related to the dental statuses of the dog.
+     */
+    @PreAuthorize("@authorizationService.hasDogOwnership(#dogId)")
+    public List<HealthHighlight> getDentalHealthHighlights(String dogId) {
+        return latestStatusService.getHealthHighlights(latestStatusService.findFresh(dogId, LatestStatusCategory.DENTAL)
+                .orElseGet(() -> calculateLatestStatus(dogId)));
+    }
 
-        if (healthHighlights.isEmpty()) {
-            healthHighlights.add(constructHealthHighlight("dentalDefault"));
+    /**
+     * Recalculates the latest dental status of a given dog, and saves it in the dog_latest_status projection under the
+     * lock of the dog. Used by the writes which change the dental status.
+     *
+     * @param dogId The dog id to recalculate the latest dental status for.
+     * @return an Optional of the saved DogLatestStatusEntity, or an empty Optional if there is no such dog.
+     */
+    @Transactional
+    public Optional<DogLatestStatusEntity> refreshLatestStatus(String dogId) {
+        if (!latestStatusService.lockDog(dogId)) {
+            return Optional.empty();
         }
-
-        return healthHighlights;
+        return Optional.of(latestStatusService.save(calculateLatestStatus(dogId)));
     }
 
-    private HealthHighlight constructHealthHighlight(String highlightType) {
-        return highlightConfig.getMap().get(highlightType);
+    /**
+     * Calculates the latest dental status of a given dog, without saving it. The status is calculated from the most
+     * recent dental status, and the highlights from the most recent dental status and the tooth loss history. Only
+     * index lookups are used, the dental history is never scanned.
+     *
+     * @param dogId The dog id to calculate the latest dental status for.
+     * @return the calculated DogLatestStatusEntity.
+     */
+    public DogLatestStatusEntity calculateLatestStatus(String dogId) {
+        DentalEntity latest = dentalRepository.findTopByDog_IdOrderByCreatedTsDesc(dogId).orElse(null);
+        LocalDate lastCleaningDate = latest != null ? latest.getLastCleaningDate() : null;
+        HighlightSet highlights = highlightEngine.dentalHighlights(dentalRepository.existsByDog_IdAndToothLossTrue(dogId),
+                lastCleaningDate, latest != null ? latest.getPlaqueStatus() : null);
+
+        return DogLatestStatusService.calculated(dogId, LatestStatusCategory.DENTAL, DogLatestStatusEntity.builder()
+                .recordId(latest != null ? latest.getId() : null)
+                .status(latest != null ? calculateDentalStatus(mapToDentalResponse(latest)) : null)
+                .highlightKeys(highlights.toStoredKeys())
+                .recordCount(dentalRepository.countByDog_Id(dogId))
+                .recordedTs(latest != null ? latest.getCreatedTs() : null)
+                .staleAfter(lastCleaningDate != null
+                        ? DogLatestStatusService.staleAfter(lastCleaningDate.plusMonths(12), lastCleaningDate.plusMonths(12).plusDays(1))
+                        : null)
+                .build());
     }
 
     /**
@@ -198,6 +238,7 @@ public class DentalService {
      * @return an Optional object of the DentalResponse with updated values, or an empty Optional in case of an error.
      */
     @PreAuthorize("@authorizationService.hasDogOwnership(#dogId) && @authorizationService.hasDentalStatusOwnership(#dogId, #dentalId)")
+    @Transactional
     public Optional<DentalResponse> updateDentalStatus(String dogId, String dentalId, DentalRequest request) {
         return dentalRepository.findById(dentalId)
                 .filter(e -> e.getDog() != null && dogId.equals(e.getDog().getId()))
@@ -208,6 +249,7 @@ public class DentalService {
                     entity.setLastCleaningDate(request.getLastCleaningDate());
                     entity.setCreatedTs(LocalDateTime.now());
                     DentalEntity saved = dentalRepository.save(entity);
+                    refreshLatestStatus(dogId);
 
                     log.info("Successfully updated dental status with id: {} for dog with id: {}", dentalId, dogId);
                     return mapToDentalResponse(saved);
@@ -222,11 +264,13 @@ public class DentalService {
      * @return true if dental status was deleted successfully, false otherwise.
      */
     @PreAuthorize("@authorizationService.hasDogOwnership(#dogId) && @authorizationService.hasDentalStatusOwnership(#dogId, #dentalId)")
+    @Transactional
     public boolean deleteDentalStatus(String dogId, String dentalId) {
         return dentalRepository.findById(dentalId)
                 .filter(e -> e.getDog() != null && dogId.equals(e.getDog().getId()))
                 .map(e -> {
                     dentalRepository.delete(e);
+                    refreshLatestStatus(dogId);
                     log.info("Successfully deleted dental status with id: {} for dog with id: {}", dentalId, dogId);
                     return true;
                 })
@@ -242,15 +286,25 @@ public class DentalService {
      * @param entity The DentalEntity object to map to DentalResponse.
      * @return DentalResponse object.
      */
-    private DentalResponse mapToDentalResponse(DentalEntity entity) {
+    DentalResponse mapToDentalResponse(DentalEntity entity) {
+        return mapToDentalResponse(DentalView.of(entity));
+    }
+
+    /**
+     * Maps the DentalView projection to a DentalResponse object containing the dental status information.
+     *
+     * @param dental The DentalView projection to map to DentalResponse.
+     * @return DentalResponse object.
+     */
+    DentalResponse mapToDentalResponse(DentalView dental) {
         DentalResponse resp = new DentalResponse();
-        resp.setDentalId(entity.getId());
-        resp.setDogId(entity.getDog() != null ? entity.getDog().getId() : null);
-        resp.setPlaqueStatus(entity.getPlaqueStatus());
-        resp.setToothLoss(entity.getToothLoss());
-        resp.setGingivitisStatus(entity.getGingivitisStatus());
-        resp.setLastCleaningDate(entity.getLastCleaningDate());
-        resp.setCreatedTs(entity.getCreatedTs().atOffset(ZoneOffset.UTC));
+        resp.setDentalId(dental.id());
+        resp.setDogId(dental.dogId());
+        resp.setPlaqueStatus(dental.plaqueStatus());
+        resp.setToothLoss(dental.toothLoss());
+        resp.setGingivitisStatus(dental.gingivitisStatus());
+        resp.setLastCleaningDate(dental.lastCleaningDate());
+        resp.setCreatedTs(dental.createdTs().atOffset(ZoneOffset.UTC));
         return resp;
     }
 }
\ No newline at end of file
@@ -0,0 +1,169 @@
+package com.york.doghealthtracker.service;
+
+import com.york.doghealthtracker.entity.DogLatestStatusEntity;
+import com.york.doghealthtracker.entity.DogLatestStatusId;
+import com.york.doghealthtracker.entity.LatestStatusCategory;
+import com.york.doghealthtracker.model.HealthHighlight;
+import com.york.doghealthtracker.repository.DogLatestStatusRepository;
+import com.york.doghealthtracker.repository.DogRepository;
+import com.york.doghealthtracker.service.highlight.HealthHighlightEngine;
+import com.york.doghealthtracker.service.highlight.HighlightSet;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Service responsible for the dog_latest_status projection, which holds the latest measurement, status and health
+ * highlight keys of a dog per health category.
+ * The projection is written by the services owning the history of each category, in the same transaction as the
+ * history change and under the lock of the dog, and read by status and dashboard reads instead of going through the
+ * history. Reads never lock or write: a row which is missing (e.g. for a dog without any write in its category yet) or
+ * stale is calculated from the history in memory by the owning service, and replaced on the next write.
+ */
+@Service
+public class DogLatestStatusService {
+
+    private final DogLatestStatusRepository latestStatusRepository;
+    private final DogRepository dogRepository;
+    private final HealthHighlightEngine highlightEngine;
+
+    public DogLatestStatusService(DogLatestStatusRepository latestStatusRepository, DogRepository dogRepository, HealthHighlightEngine highlightEngine) {
+        this.latestStatusRepository = latestStatusRepository;
+        this.dogRepository = dogRepository;
+        this.highlightEngine = highlightEngine;
+    }
+
+    /**
+     * Locks the given dog until the end of the current transaction. Latest status updates of the same dog are
+     * serialized this way, so that each update recalculates the status from history committed by the previous one.
+     * Must be called within a transaction.
+     *
+     * @param dogId The id of the dog to lock.
+     * @return true if the dog exists and is locked, false if there is no such dog.
+     */
+    public boolean lockDog(String dogId) {
+        return dogRepository.lockById(dogId).isPresent();
+    }
+
+    /**
+     * Assigns the id of a latest status calculated for a given dog and category, and the time of the calculation as its
+     * update timestamp.
+     *
+     * @param dogId    The id of the dog the status belongs to.
+     * @param category The category of the status.
+     * @param status   The calculated status.
+     * @return the given status.
+     */
+    public static DogLatestStatusEntity calculated(String dogId, LatestStatusCategory category, DogLatestStatusEntity status) {
+        status.setId(new DogLatestStatusId(dogId, category));
+        status.setUpdatedTs(LocalDateTime.now());
+        return status;
+    }
+
+    /**
+     * Saves a calculated latest status, replacing the previous one of its dog and category.
+     *
+     * @param status The status to save, with the id assigned by calculated.
+     * @return the saved DogLatestStatusEntity.
+     */
+    public DogLatestStatusEntity save(DogLatestStatusEntity status) {
+        return latestStatusRepository.save(status);
+    }
+
+    /**
+     * Saves calculated latest statuses, replacing the previous ones of their dogs and categories.
+     * The previous statuses are looked up in a single query, and the statuses without a previous one are flagged as
+     * new, so that no category is looked up on its own and the writes are sent to the database in JDBC batches.
+     *
+     * @param statuses The statuses to save, with the ids assigned by calculated.
+     * @return the saved DogLatestStatusEntity objects.
+     */
+    public List<DogLatestStatusEntity> saveAll(Collection<DogLatestStatusEntity> statuses) {
+        Set<DogLatestStatusId> existing = latestStatusRepository.findAllById(statuses.stream()
+                        .map(DogLatestStatusEntity::getId)
+                        .toList())
+                .stream()
+                .map(DogLatestStatusEntity::getId)
+                .collect(Collectors.toSet());
+        statuses.forEach(status -> status.setNew(!existing.contains(status.getId())));
+
+        return latestStatusRepository.saveAll(statuses);
+    }
+
+    /**
+     * Retrieves the latest status of a given dog in a given category.
+     *
+     * @param dogId    The id of the dog to retrieve the status for.
+     * @param category The category of the status.
+     * @return an Optional of the DogLatestStatusEntity, or an empty Optional if there is no such status or it is stale.
+     */
+    public Optional<DogLatestStatusEntity> findFresh(String dogId, LatestStatusCategory category) {
+        return latestStatusRepository.findById(new DogLatestStatusId(dogId, category))
+                .filter(this::isFresh);
+    }
+
+    /**
+     * Retrieves the latest statuses of a given dog in the given categories.
+     *
+     * @param dogId      The id of the dog to retrieve the statuses for.
+     * @param categories The categories of the statuses.
+     * @return a Map of category to DogLatestStatusEntity, without the categories which have no status or a stale one.
+     */
+    public Map<LatestStatusCategory, DogLatestStatusEntity> findFresh(String dogId, Collection<LatestStatusCategory> categories) {
+        List<DogLatestStatusId> ids = categories.stream()
+                .map(category -> new DogLatestStatusId(dogId, category))
+                .toList();
+        return toFreshMap(latestStatusRepository.findAllById(ids));
+    }
+
+    /**
+     * Retrieves the latest statuses of a given dog in all categories.
+     *
+     * @param dogId The id of the dog to retrieve the statuses for.
+     * @return a Map of category to DogLatestStatusEntity, without the categories which have no status or a stale one.
+     */
+    public Map<LatestStatusCategory, DogLatestStatusEntity> findFresh(String dogId) {
+        return toFreshMap(latestStatusRepository.findById_DogId(dogId));
+    }
+
+    private Map<LatestStatusCategory, DogLatestStatusEntity> toFreshMap(List<DogLatestStatusEntity> statuses) {
+        return statuses.stream()
+                .filter(this::isFresh)
+                .collect(Collectors.toMap(status -> status.getId().getCategory(), status -> status,
+                        (a, b) -> a, () -> new EnumMap<>(LatestStatusCategory.class)));
+    }
+
+    private boolean isFresh(DogLatestStatusEntity status) {
+        return status.getStaleAfter() == null || !LocalDate.now().isAfter(status.getStaleAfter());
+    }
+
+    /**
+     * Resolves the highlight keys of a given latest status to the configured health highlights.
+     *
+     * @param status The latest status to resolve the highlights of.
+     * @return an unmodifiable list of HealthHighlight, empty if the status has no highlights.
+     */
+    public List<HealthHighlight> getHealthHighlights(DogLatestStatusEntity status) {
+        return highlightEngine.resolve(HighlightSet.fromStoredKeys(status.getHighlightKeys()));
+    }
+
+    /**
+     * Calculates the last day on which a status calculated today stays valid.
+     *
+     * @param changeDates The dates on which the calculated status or highlights change due to the passing of time,
+     *                    null elements are ignored.
+     * @return the day before the earliest change date after today, or null if the status never changes with time alone.
+     */
+    public static LocalDate staleAfter(LocalDate... changeDates) {
+        LocalDate today = LocalDate.now();
+        return Arrays.stream(changeDates)
+                .filter(Objects::nonNull)
+                .filter(date -> date.isAfter(today))
+                .min(Comparator.naturalOrder())
+                .map(date -> date.minusDays(1))
+                .orElse(null);
+    }
+}
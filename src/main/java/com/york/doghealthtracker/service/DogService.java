@@ -7,6 +7,7 @@ import com.york.doghealthtracker.model.DogResponse;
 import com.york.doghealthtracker.model.Gender;
 import com.york.doghealthtracker.repository.DogRepository;
 import com.york.doghealthtracker.repository.UserRepository;
+import com.york.doghealthtracker.service.security.DogOwnershipCache;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -17,6 +18,7 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.net.URI;
 import java.time.LocalDate;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -31,14 +33,18 @@ public class DogService {
     private final DogRepository dogRepository;
     private final UserRepository userRepository;
     private final FileStorageService fileStorageService;
+    private final DogOwnershipCache dogOwnershipCache;
+    private final WeightService weightService;
 
     @Value("${app.base-url}")
     private String baseUrl;
 
-    public DogService(DogRepository dogRepository, UserRepository userRepository, FileStorageService fileStorageService) {
+    public DogService(DogRepository dogRepository, UserRepository userRepository, FileStorageService fileStorageService, DogOwnershipCache dogOwnershipCache, WeightService weightService) {
         this.dogRepository = dogRepository;
         this.userRepository = userRepository;
         this.fileStorageService = fileStorageService;
+        this.dogOwnershipCache = dogOwnershipCache;
+        this.weightService = weightService;
     }
 
     /**
@@ -79,6 +85,7 @@ public class DogService {
             }
 
             DogEntity saved = dogRepository.save(entity);
+            dogOwnershipCache.evictUser(owner.get().getId());
             return mapToDogResponse(saved);
         } else {
             log.error("Unsuccessful dog creation.");
@@ -130,6 +137,7 @@ public class DogService {
                                            MultipartFile file) throws IOException {
         return dogRepository.findById(dogId)
                 .map(entity -> {
+                    boolean breedChanged = !Objects.equals(entity.getBreed(), breed);
                     entity.setName(name);
                     entity.setGender(gender);
                     entity.setBreed(breed);
@@ -150,6 +158,11 @@ public class DogService {
                     }
 
                     DogEntity updated = dogRepository.save(entity);
+                    dogOwnershipCache.evictDog(dogId);
+                    if (breedChanged) {
+                        // the weight status is calculated against the goal weight range of the breed
+                        weightService.refreshLatestStatus(dogId);
+                    }
                     return mapToDogResponse(updated);
                 });
     }
@@ -160,7 +173,7 @@ public class DogService {
      * @param entity The DogEntity object to map to DogResponse.
      * @return DogResponse object.
      */
-    private DogResponse mapToDogResponse(DogEntity entity) {
+    DogResponse mapToDogResponse(DogEntity entity) {
         DogResponse resp = new DogResponse();
 
         resp.setDogId(entity.getId());
@@ -1,8 +1,9 @@
 package com.york.doghealthtracker.service;
 
+import com.york.doghealthtracker.config.FileStorageConfig;
 import com.york.doghealthtracker.exception.FileStorageException;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.UrlResource;
+import com.york.doghealthtracker.service.storage.BlobMetadata;
+import com.york.doghealthtracker.service.storage.BlobStore;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
@@ -10,24 +11,36 @@ import org.springframework.core.io.Resource;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.MalformedURLException;
-import java.nio.file.*;
+import java.net.URI;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 
 /**\
- * Service responsible for storing files in, and loading files from, the local file system.
- * File storage location is injected from app.file-storage.location property in application.yml.
+ * Service responsible for storing files in, and loading files from, the configured BlobStore.
+ * Files are stored under the key folder/filename. The backend is selected by app.file-storage.type in application.yml.
  */
 @Service
 public class FileStorageService {
 
-    @Value("${app.file-storage.location}")
-    private String storageLocation;
+    private final BlobStore blobStore;
+    private final FileStorageConfig config;
+
+    public FileStorageService(BlobStore blobStore, FileStorageConfig config) {
+        this.blobStore = blobStore;
+        this.config = config;
+    }
 
     /**
-     * Stores a provided file into a local directory.
-     * @param dogId The id of the dog corresponding to the saved file. Used to build the file path.
-     * @param file The name of the saved file to be retrieved. Used to build the file path.
+     * Stores a provided file into the blob store.
+     * @param dogId The id of the dog corresponding to the saved file. Used to build the file key.
+     * @param file The name of the saved file to be retrieved. Used to build the file key.
      * @return a String representing the stored file name.
      * @throws IOException if file is null or empty.
      */
@@ -36,44 +49,140 @@ public class FileStorageService {
             throw new IllegalArgumentException("File is empty.");
         }
 
-        String original = StringUtils.cleanPath(file.getOriginalFilename());
-        String ext = "";
-        int i = original.lastIndexOf('.');
-        if (i >= 0) {
-            ext = original.substring(i);
-        }
+        String generated = UUID.randomUUID().toString() + extensionOf(file.getOriginalFilename());
 
-        String generated = UUID.randomUUID().toString() + ext;
-
-        Path dogFolder = Paths.get(storageLocation).resolve(dogId);
-        Files.createDirectories(dogFolder);
-
-        Path target = dogFolder.resolve(generated);
         try (InputStream in = file.getInputStream()) {
-            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+            blobStore.put(keyOf(dogId, generated), in, file.getSize(), file.getContentType());
         }
 
         return generated;
     }
 
     /**
-     * Retrieves and returns a stored file from the storage location as a Resource.
-     * @param dogId The id of the dog corresponding to the saved file. Used to build the file path.
-     * @param filename The name of the saved file to be retrieved. Used to build the file path.
+     * Stores a provided file into the blob store under a random name, unless the dog folder already holds a file with
+     * the same content. The file is hashed while it is streamed to a temporary blob in the dog folder, so the upload is
+     * read once. If a file with the same SHA-256 content hash is found, the temporary blob is discarded and the
+     * existing file is reused. The stored name does not derive from the content, so that the public name of a file
+     * cannot be guessed from a copy of it.
+     * @param dogId The id of the dog corresponding to the saved file. Used to build the file key.
+     * @param file The file to store.
+     * @param storedFilenameOf Looks up the name of a file of the dog already stored with a given content hash.
+     * @return StoredFile with the stored file name and the content hash.
+     * @throws IOException if the file cannot be written.
+     */
+    public StoredFile storeDeduplicated(String dogId, MultipartFile file,
+                                        Function<String, Optional<String>> storedFilenameOf) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("File is empty.");
+        }
+
+        String tempKey = keyOf(dogId, "upload-" + UUID.randomUUID() + ".tmp");
+        try {
+            MessageDigest digest = newSha256Digest();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                blobStore.put(tempKey, in, file.getSize(), file.getContentType());
+            }
+
+            String contentHash = HexFormat.of().formatHex(digest.digest());
+            Optional<String> existing = storedFilenameOf.apply(contentHash)
+                    .filter(filename -> blobStore.exists(keyOf(dogId, filename)));
+            if (existing.isPresent()) {
+                blobStore.delete(tempKey);
+                return new StoredFile(existing.get(), contentHash);
+            }
+
+            String stored = UUID.randomUUID() + extensionOf(file.getOriginalFilename());
+            blobStore.move(tempKey, keyOf(dogId, stored));
+            return new StoredFile(stored, contentHash);
+        } catch (IOException | RuntimeException e) {
+            blobStore.delete(tempKey);
+            throw e;
+        }
+    }
+
+    /**
+     * Retrieves and returns a stored file from the blob store as a Resource.
+     * @param dogId The id of the dog corresponding to the saved file. Used to build the file key.
+     * @param filename The name of the saved file to be retrieved. Used to build the file key.
      * @return Resource entity of the stored file.
      * @throws FileStorageException if file cannot be loaded properly.
      */
     public Resource load(String dogId, String filename) {
+        return blobStore.load(keyOf(dogId, filename));
+    }
+
+    /**
+     * Reads the size and modification time of a stored file.
+     * @param dogId The id of the dog corresponding to the saved file. Used to build the file key.
+     * @param filename The name of the saved file. Used to build the file key.
+     * @return BlobMetadata of the stored file.
+     * @throws FileStorageException if file does not exist.
+     */
+    public BlobMetadata stat(String dogId, String filename) {
+        return blobStore.stat(keyOf(dogId, filename));
+    }
+
+    /**
+     * Resolves the local path of a stored file, if the blob store keeps files on the local disk.
+     * @param dogId The id of the dog corresponding to the saved file. Used to build the file key.
+     * @param filename The name of the saved file to be resolved. Used to build the file key.
+     * @return Optional of the local path of the stored file.
+     * @throws FileStorageException if file does not exist.
+     */
+    public Optional<Path> localPath(String dogId, String filename) {
+        return blobStore.localPath(keyOf(dogId, filename));
+    }
+
+    /**
+     * Creates a presigned URL from which the client downloads a stored file directly from the blob store.
+     * @param dogId The id of the dog corresponding to the saved file. Used to build the file key.
+     * @param filename The name of the saved file. Used to build the file key.
+     * @param downloadName The file name suggested to the client.
+     * @param contentType The content type returned to the client.
+     * @return Optional of the presigned URL, empty if the blob store does not issue presigned URLs.
+     */
+    public Optional<URI> presignedDownloadUrl(String dogId, String filename, String downloadName, String contentType) {
+        return blobStore.presignedDownloadUrl(keyOf(dogId, filename), downloadName, contentType, config.getPresignedUrlTtl());
+    }
+
+    /**
+     * Deletes a stored file from the blob store, if it exists.
+     * @param dogId The id of the dog corresponding to the saved file. Used to build the file key.
+     * @param filename The name of the saved file to be deleted. Used to build the file key.
+     * @throws FileStorageException if the file cannot be deleted.
+     */
+    public void delete(String dogId, String filename) {
         try {
-            Path file = Paths.get(storageLocation).resolve(dogId).resolve(filename);
+            blobStore.delete(keyOf(dogId, filename));
+        } catch (IOException e) {
+            throw new FileStorageException("Could not delete file: " + filename, e);
+        }
+    }
 
-            if (!Files.exists(file)) {
-                throw new FileStorageException("File not found: " + filename);
-            }
-            return new UrlResource(file.toUri());
-        } catch (MalformedURLException e) {
-            throw new FileStorageException("Could not read file", e);
+    private String keyOf(String folder, String filename) {
+        return folder + "/" + filename;
+    }
+
+    private String extensionOf(String originalFilename) {
+        String original = StringUtils.cleanPath(originalFilename != null ? originalFilename : "");
+        int i = original.lastIndexOf('.');
+        return i >= 0 ? original.substring(i).toLowerCase(Locale.ROOT) : "";
+    }
+
+    private MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new FileStorageException("SHA-256 is not available", e);
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * A file stored together with its content hash.
+     * @param filename The stored file name.
+     * @param contentHash The hex encoded SHA-256 hash of the file content.
+     */
+    public record StoredFile(String filename, String contentHash) {
+    }
+
+}
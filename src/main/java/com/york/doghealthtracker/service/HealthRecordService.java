@@ -1,30 +1,43 @@
 package com.york.doghealthtracker.service;
 
+import com.york.doghealthtracker.config.PaginationConfig;
 import com.york.doghealthtracker.entity.DogEntity;
+import com.york.doghealthtracker.entity.DogLatestStatusEntity;
 import com.york.doghealthtracker.entity.HealthRecordEntity;
+import com.york.doghealthtracker.entity.LatestStatusCategory;
 import com.york.doghealthtracker.exception.ResourceNotFoundException;
 import com.york.doghealthtracker.exception.FileStorageException;
 import com.york.doghealthtracker.model.HealthRecordResponse;
 import com.york.doghealthtracker.repository.DogRepository;
 import com.york.doghealthtracker.repository.HealthRecordRepository;
+import com.york.doghealthtracker.repository.projection.HealthRecordView;
+import com.york.doghealthtracker.service.pagination.HistoryCursor;
+import com.york.doghealthtracker.service.pagination.HistoryPage;
 import com.york.doghealthtracker.service.security.UserContextService;
+import com.york.doghealthtracker.service.storage.BlobMetadata;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.core.io.Resource;
 
 import java.net.URI;
-import java.nio.file.Paths;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
-import java.util.List;
+import java.util.Optional;
 
 /**
  * Service responsible for uploading and downloading file records.
@@ -34,21 +47,34 @@ import java.util.List;
 @Service
 @Slf4j
 public class HealthRecordService {
+
+    private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
     private final HealthRecordRepository healthRecordRepository;
     private final DogRepository dogRepository;
     private final FileStorageService fileStorageService;
+    private final PaginationConfig paginationConfig;
+    private final DogLatestStatusService latestStatusService;
 
     @Value("${app.base-url}")
     private String baseUrl;
 
-    public HealthRecordService(HealthRecordRepository healthRecordRepository, DogRepository dogRepository, FileStorageService fileStorageService) {
+    public HealthRecordService(HealthRecordRepository healthRecordRepository, DogRepository dogRepository, FileStorageService fileStorageService, PaginationConfig paginationConfig, DogLatestStatusService latestStatusService) {
         this.healthRecordRepository = healthRecordRepository;
         this.dogRepository = dogRepository;
         this.fileStorageService = fileStorageService;
+        this.paginationConfig = paginationConfig;
+        this.latestStatusService = latestStatusService;
     }
 
     /**
      * Processes and stores a health record file into the file system.
+     * The file is stored under a random name, or shares the stored file of a health record of the dog with the same
+     * content. The dog is locked before the file is stored, so that a concurrent deletion of a health record sharing
+     * the same stored file cannot remove it before the new health record referencing it is committed.
      *
      * @param dogId        The dog id to save health record for.
      * @param file         The file to save.
@@ -56,23 +82,29 @@ public class HealthRecordService {
      * @return HealthRecordResponse with the health record data.
      */
     @PreAuthorize("@authorizationService.hasDogOwnership(#dogId)")
+    @Transactional
     public HealthRecordResponse addHealthRecord(String dogId, MultipartFile file, String documentName) {
         DogEntity dog = dogRepository.findById(dogId)
                 .orElseThrow(() -> new RuntimeException("Dog not found: " + dogId));
 
         try {
-            String storedFilename = fileStorageService.store(dogId, file);
-            String fileUrl = String.format("%s/uploads/%s/%s", baseUrl, dogId, storedFilename);
+            latestStatusService.lockDog(dogId);
+            FileStorageService.StoredFile stored = fileStorageService.storeDeduplicated(dogId, file,
+                    contentHash -> healthRecordRepository.findFirstByDog_IdAndContentHash(dogId, contentHash)
+                            .map(this::storedFilename));
+            String fileUrl = String.format("%s/uploads/%s/%s", baseUrl, dogId, stored.filename());
 
             HealthRecordEntity entity = HealthRecordEntity.builder()
                     .dog(dog)
                     .documentName(documentName)
                     .documentUrl(fileUrl)
                     .contentType(file.getContentType())
+                    .contentHash(stored.contentHash())
                     .createdTs(LocalDateTime.now((ZoneOffset.UTC)))
                     .build();
 
             HealthRecordEntity saved = healthRecordRepository.save(entity);
+            refreshLatestStatus(dogId);
 
             return toHealthRecordResponse(saved);
 
@@ -83,51 +115,143 @@ public class HealthRecordService {
 
     /**
      * Retrieves a downloadable resource version of a given health record.
+     * When the blob store issues presigned URLs, the client is redirected to download the file directly from the
+     * blob store. Otherwise the response carries a strong ETag and Last-Modified header derived from the file
+     * metadata, so conditional requests are answered with 304 Not Modified without reading the file. Range requests
+     * are answered with 206 Partial Content by Spring MVC. Full downloads of local files are handed to the servlet
+     * container's sendfile support when available, so the file bytes are transferred by the operating system without
+     * passing through the JVM.
      *
      * @param dogId          The dog id to obtain the health record for, used to load the file.
      * @param healthRecordId The health record id to obtain.
+     * @param webRequest     The current request, used to evaluate conditional and range headers.
      * @return Resource file to download.
      */
     @PreAuthorize("@authorizationService.hasDogOwnership(#dogId) && @authorizationService.hasHealthRecordOwnership(#dogId, #healthRecordId)")
-    public ResponseEntity<Resource> getHealthRecordFile(String dogId, String healthRecordId) {
+    public ResponseEntity<Resource> getHealthRecordFile(String dogId, String healthRecordId, NativeWebRequest webRequest) {
         HealthRecordEntity record = healthRecordRepository.findById(healthRecordId)
                 .orElseThrow(() -> new RuntimeException("Health record not found for dogId=" + dogId));
 
         try {
-            String filename = Paths.get(record.getDocumentUrl()).getFileName().toString();
-            Resource resource = fileStorageService.load(dogId, filename);
+            String filename = storedFilename(record);
+            String downloadName = record.getDocumentName() + ".pdf";
+
+            Optional<URI> presignedUrl = fileStorageService.presignedDownloadUrl(dogId, filename, downloadName, MediaType.APPLICATION_PDF_VALUE);
+            if (presignedUrl.isPresent()) {
+                return ResponseEntity.status(HttpStatus.FOUND)
+                        .location(presignedUrl.get())
+                        .build();
+            }
 
-            if (!resource.exists()) {
-                throw new RuntimeException("File not found: " + filename);
+            BlobMetadata metadata = fileStorageService.stat(dogId, filename);
+            long lastModified = metadata.lastModified();
+            String eTag = String.format("\"%s-%d-%d\"", record.getId(), metadata.size(), lastModified);
+
+            if (webRequest != null && webRequest.checkNotModified(eTag, lastModified)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(eTag)
+                        .lastModified(lastModified)
+                        .build();
             }
 
-            return ResponseEntity.ok()
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .eTag(eTag)
+                    .lastModified(lastModified)
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
                     .header(HttpHeaders.CONTENT_DISPOSITION,
-                            "attachment; filename=\"" + record.getDocumentName() + ".pdf\"")
-                    .contentType(MediaType.APPLICATION_PDF)
-                    .body(resource);
+                            "attachment; filename=\"" + downloadName + "\"")
+                    .contentType(MediaType.APPLICATION_PDF);
+
+            HttpServletRequest servletRequest = webRequest != null ? webRequest.getNativeRequest(HttpServletRequest.class) : null;
+            Optional<Path> localFile = fileStorageService.localPath(dogId, filename);
+            if (servletRequest != null && servletRequest.getHeader(HttpHeaders.RANGE) == null
+                    && isSendfileSupported(servletRequest) && localFile.isPresent()) {
+                servletRequest.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, localFile.get().toRealPath().toString());
+                servletRequest.setAttribute(SENDFILE_START_ATTRIBUTE, 0L);
+                servletRequest.setAttribute(SENDFILE_END_ATTRIBUTE, metadata.size());
+                return response.contentLength(metadata.size()).build();
+            }
+
+            return response.body(fileStorageService.load(dogId, filename));
 
         } catch (Exception e) {
             throw new RuntimeException("Could not read file", e);
         }
     }
 
+    private boolean isSendfileSupported(HttpServletRequest request) {
+        return Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE));
+    }
+
+    /**
+     * Retrieves a page of health records for a given dog, most recent first.
+     *
+     * @param dogId  The dog id to retrieve a page of health records for.
+     * @param cursor The token of the requested page, or null for the first page.
+     * @param limit  The requested page size, or null for the default page size.
+     * @return A HistoryPage of HealthRecordResponse containing the health records of the page.
+     */
+    @PreAuthorize("@authorizationService.hasDogOwnership(#dogId)")
+    public HistoryPage<HealthRecordResponse> getHealthRecords(String dogId, String cursor, Integer limit) {
+        return HistoryPage.fetch(cursor, paginationConfig.resolveLimit(limit),
+                        pageLimit -> healthRecordRepository.findViewsByDog_Id(dogId, pageLimit),
+                        (before, pageLimit) -> healthRecordRepository.findViewsByDog_IdBefore(dogId, before.createdTs(), before.id(), pageLimit),
+                        healthRecord -> new HistoryCursor(healthRecord.createdTs(), healthRecord.id()))
+                .map(this::toHealthRecordResponse);
+    }
+
     /**
-     * Retrieves a list of all health records for a given dog.
+     * Counts the health records of a given dog.
      *
-     * @param dogId The dog id to retrieve a list of health records for.
-     * @return A list of HealthRecordResponse containing all health records for the given dog.
+     * @param dogId The dog id to count health records for.
+     * @return The number of health records of the dog.
      */
     @PreAuthorize("@authorizationService.hasDogOwnership(#dogId)")
-    public List<HealthRecordResponse> getHealthRecords(String dogId) {
-        return healthRecordRepository.findByDog_Id(dogId)
+    public long countHealthRecords(String dogId) {
+        return healthRecordRepository.countByDog_Id(dogId);
+    }
+
+    /**
+     * Recalculates the latest health record entry of a given dog, and saves it in the dog_latest_status projection
+     * under the lock of the dog. Used by the writes which change the health records of the dog.
+     *
+     * @param dogId The dog id to recalculate the latest health record entry for.
+     * @return an Optional of the saved DogLatestStatusEntity, or an empty Optional if there is no such dog.
+     */
+    @Transactional
+    public Optional<DogLatestStatusEntity> refreshLatestStatus(String dogId) {
+        if (!latestStatusService.lockDog(dogId)) {
+            return Optional.empty();
+        }
+        return Optional.of(latestStatusService.save(calculateLatestStatus(dogId)));
+    }
+
+    /**
+     * Calculates the latest health record entry of a given dog, which holds the most recent health record and the
+     * health record count, without saving it.
+     *
+     * @param dogId The dog id to calculate the latest health record entry for.
+     * @return the calculated DogLatestStatusEntity.
+     */
+    public DogLatestStatusEntity calculateLatestStatus(String dogId) {
+        HealthRecordView latest = healthRecordRepository.findViewsByDog_Id(dogId, Limit.of(1))
                 .stream()
-                .map(this::toHealthRecordResponse)
-                .toList();
+                .findFirst()
+                .orElse(null);
+
+        return DogLatestStatusService.calculated(dogId, LatestStatusCategory.HEALTH_RECORD, DogLatestStatusEntity.builder()
+                .recordId(latest != null ? latest.id() : null)
+                .recordCount(healthRecordRepository.countByDog_Id(dogId))
+                .recordedTs(latest != null ? latest.createdTs() : null)
+                .build());
     }
 
     /**
      * Deletes a given health record, if exists.
+     * Health records of the same dog with identical content and file extension share one stored file. The file is
+     * deleted only if no other health record of the dog still references it. Both the check and the deletion happen
+     * under the lock of the dog, which uploads take before storing a file, the deletion right before the transaction
+     * commits.
      *
      * @param dogId          The dog id to delete the health record for.
      * @param healthRecordId The health record id to delete.
@@ -135,14 +259,34 @@ public class HealthRecordService {
     @PreAuthorize("@authorizationService.hasDogOwnership(#dogId) && @authorizationService.hasHealthRecordOwnership(#dogId, #healthRecordId)")
     @Transactional
     public void deleteHealthRecord(String dogId, String healthRecordId) {
+        latestStatusService.lockDog(dogId);
 
         HealthRecordEntity record = healthRecordRepository.findById(healthRecordId)
                 .orElseThrow(() -> new ResourceNotFoundException(String.format("Health record with id %s not found", healthRecordId)));
 
         healthRecordRepository.delete(record);
+        healthRecordRepository.flush();
+        refreshLatestStatus(dogId);
+
+        String filename = storedFilename(record);
+        boolean referenced = record.getContentHash() != null
+                && healthRecordRepository.existsByDog_IdAndContentHashAndDocumentUrlEndingWith(dogId, record.getContentHash(), "/" + filename);
+        if (!referenced) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    fileStorageService.delete(dogId, filename);
+                }
+            });
+        }
         log.info("Health record with id: {} deleted for dog with id: {})", healthRecordId, dogId);
     }
 
+    private String storedFilename(HealthRecordEntity record) {
+        String documentUrl = record.getDocumentUrl();
+        return documentUrl.substring(documentUrl.lastIndexOf('/') + 1);
+    }
+
     /**
      * Maps the HealthRecordEntity object to a HealthRecordResponse object containing the health record information.
      *
@@ -150,13 +294,23 @@ public class HealthRecordService {
      * @return HealthRecordResponse object.
      */
     private HealthRecordResponse toHealthRecordResponse(HealthRecordEntity entity) {
+        return toHealthRecordResponse(HealthRecordView.of(entity));
+    }
+
+    /**
+     * Maps the HealthRecordView projection to a HealthRecordResponse object containing the health record information.
+     *
+     * @param healthRecord The HealthRecordView projection to map to HealthRecordResponse.
+     * @return HealthRecordResponse object.
+     */
+    private HealthRecordResponse toHealthRecordResponse(HealthRecordView healthRecord) {
         HealthRecordResponse resp = new HealthRecordResponse();
-        resp.setHealthRecordId(entity.getId());
-        resp.setDogId(entity.getDog().getId());
-        resp.setDocumentName(entity.getDocumentName());
-        resp.setDocumentUrl(URI.create(entity.getDocumentUrl()));
-        resp.setContentType(entity.getContentType());
-        resp.setCreatedTs(OffsetDateTime.of(entity.getCreatedTs(), ZoneOffset.UTC));
+        resp.setHealthRecordId(healthRecord.id());
+        resp.setDogId(healthRecord.dogId());
+        resp.setDocumentName(healthRecord.documentName());
+        resp.setDocumentUrl(URI.create(healthRecord.documentUrl()));
+        resp.setContentType(healthRecord.contentType());
+        resp.setCreatedTs(OffsetDateTime.of(healthRecord.createdTs(), ZoneOffset.UTC));
 
         return resp;
     }
@@ -1,21 +1,30 @@
 package com.york.doghealthtracker.service;
 
-import com.york.doghealthtracker.config.HighlightConfig;
+import com.york.doghealthtracker.config.HistoryPartitionConfig;
+import com.york.doghealthtracker.config.PaginationConfig;
 import com.york.doghealthtracker.entity.DogEntity;
+import com.york.doghealthtracker.entity.DogLatestStatusEntity;
 import com.york.doghealthtracker.entity.HeartEntity;
+import com.york.doghealthtracker.entity.LatestStatusCategory;
 import com.york.doghealthtracker.model.*;
 import com.york.doghealthtracker.repository.DogRepository;
 import com.york.doghealthtracker.repository.HeartRepository;
+import com.york.doghealthtracker.repository.projection.HeartView;
+import com.york.doghealthtracker.service.highlight.HealthHighlightEngine;
+import com.york.doghealthtracker.service.highlight.HeartEvaluator;
+import com.york.doghealthtracker.service.highlight.HeartEvaluator.HeartEvaluation;
+import com.york.doghealthtracker.service.pagination.HistoryCursor;
+import com.york.doghealthtracker.service.pagination.HistoryPage;
+import jakarta.transaction.Transactional;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
-import java.util.Collections;
-import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 /**
  * Service responsible for dog heart status management.
@@ -26,12 +35,18 @@ import java.util.stream.Collectors;
 public class HeartService {
     private final HeartRepository heartRepository;
     private final DogRepository dogRepository;
-    private final HighlightConfig highlightConfig;
+    private final HealthHighlightEngine highlightEngine;
+    private final PaginationConfig paginationConfig;
+    private final DogLatestStatusService latestStatusService;
+    private final HistoryPartitionConfig partitionConfig;
 
-    public HeartService(HeartRepository heartRepository, DogRepository dogRepository, HighlightConfig highlightConfig) {
+    public HeartService(HeartRepository heartRepository, DogRepository dogRepository, HealthHighlightEngine highlightEngine, PaginationConfig paginationConfig, DogLatestStatusService latestStatusService, HistoryPartitionConfig partitionConfig) {
         this.heartRepository = heartRepository;
         this.dogRepository = dogRepository;
-        this.highlightConfig = highlightConfig;
+        this.highlightEngine = highlightEngine;
+        this.paginationConfig = paginationConfig;
+        this.latestStatusService = latestStatusService;
+        this.partitionConfig = partitionConfig;
     }
 
     /**
@@ -43,6 +58,7 @@ public class HeartService {
      * error.
      */
     @PreAuthorize("@authorizationService.hasDogOwnership(#dogId)")
+    @Transactional
     public Optional<HeartResponse> addHeartStatus(String dogId, HeartRequest request) {
         DogEntity dog = dogRepository.findById(dogId).orElse(null);
         if (dog == null) return Optional.empty();
@@ -59,152 +75,91 @@ public class HeartService {
                 .build();
 
         HeartEntity saved = heartRepository.save(entity);
+        refreshLatestStatus(dogId);
         return Optional.of(toResponse(saved));
     }
 
     /**
-     * Retrieves a list of all heart records for a given dog.
+     * Retrieves a page of heart records for a given dog, most recent first.
      *
-     * @param dogId The dog id to retrieve a list of heart statuses for.
-     * @return A list of HeartResponse containing all heart records for a given dog.
+     * @param dogId  The dog id to retrieve a page of heart statuses for.
+     * @param cursor The token of the requested page, or null for the first page.
+     * @param limit  The requested page size, or null for the default page size.
+     * @return A HistoryPage of HeartResponse containing the heart records of the page.
      */
     @PreAuthorize("@authorizationService.hasDogOwnership(#dogId)")
-    public List<HeartResponse> getHeartStatuses(String dogId) {
-        return heartRepository.findByDog_Id(dogId)
-                .stream()
-                .map(this::toResponse)
-                .map(heartResponse -> heartResponse
-                        .status(calculateHeartStatus(heartResponse))
-                        .healthHighlights(addHealthHighlights(heartResponse))
-                )
-                .collect(Collectors.toList());
+    public HistoryPage<HeartResponse> getHeartStatuses(String dogId, String cursor, Integer limit) {
+        return HistoryPage.fetch(cursor, paginationConfig.resolveLimit(limit),
+                        pageLimit -> heartRepository.findHistory(dogId, null, null, pageLimit, partitionConfig.isReadArchive()),
+                        (before, pageLimit) -> heartRepository.findHistory(dogId, before.createdTs(), before.id(), pageLimit,
+                                partitionConfig.isReadArchive()),
+                        heart -> new HistoryCursor(heart.createdTs(), heart.id()))
+                .map(evaluatedResponse(HeartEvaluator.on(LocalDate.now())));
     }
 
     /**
-     * Calculates the health status (RED, GREEN or YELLOW) of the heart entity based on the values of its properties.
-     * Ignores a given property if null, sums all properties with data in the totalMetrics variable, and all properties
-     * with good health score in the healthyCount variable. Calculates an overall health status based on the ratio
-     * between the two values.
+     * Maps heart records to HeartResponse objects with the status and the health highlights evaluated by the given
+     * evaluator, in a single evaluation per record.
      *
-     * @param heartResponse The heartResponse to analyze the status for.
-     * @return QuizCategoryStatus of color representing the status of the heart.
+     * @param evaluator The HeartEvaluator to evaluate the records with.
+     * @return a function mapping a HeartView to its evaluated HeartResponse.
      */
-    private QuizCategoryStatus calculateHeartStatus(HeartResponse heartResponse) {
-
-        int totalMetrics = 0; // how many of the properties of QuizCategoryStatus are not null
-        int healthyCount = 0; // how many of the properties of QuizCategoryStatus are considered "healthy"
-
-        if (heartResponse.getFatigue() != null) {
-            totalMetrics++;
-            if (!heartResponse.getFatigue()) {
-                healthyCount++;
-            }
-        }
-
-        if (heartResponse.getCoughing() != null) {
-            totalMetrics++;
-            if (!heartResponse.getCoughing()) {
-                healthyCount++;
-            }
-        }
-
-        if (heartResponse.getMurmurStatus() != null) {
-            totalMetrics++;
-            MurmurStatus murmur = heartResponse.getMurmurStatus();
-            if (murmur == MurmurStatus.NONE || murmur == MurmurStatus.GRADE_I) {
-                healthyCount++;
-            }
-        }
-
-        if (heartResponse.getHeartRate() != null) {
-            totalMetrics++;
-            float hr = heartResponse.getHeartRate().floatValue();
-            if (hr >= 60 && hr <= 120) {
-                healthyCount++;
-            }
-        }
-
-        if (heartResponse.getBreathingRate() != null) {
-            totalMetrics++;
-            float br = heartResponse.getBreathingRate().floatValue();
-            if (br >= 10 && br <= 35) {
-                healthyCount++;
-            }
-        }
-
-        if (totalMetrics == 0) {
-            return QuizCategoryStatus.YELLOW;
-        }
-
-        float ratio = (float) healthyCount / totalMetrics;
-
-        if (ratio >= 0.75f) {
-            return QuizCategoryStatus.GREEN;
-        } else if (ratio >= 0.40f) {
-            return QuizCategoryStatus.YELLOW;
-        } else {
-            return QuizCategoryStatus.RED;
-        }
+    private Function<HeartView, HeartResponse> evaluatedResponse(HeartEvaluator evaluator) {
+        return heart -> {
+            HeartEvaluation evaluation = evaluator.evaluate(heart);
+            return toResponse(heart)
+                    .status(evaluation.status())
+                    .healthHighlights(highlightEngine.resolve(evaluation.highlights()));
+        };
     }
 
-    private List<HealthHighlight> addHealthHighlights(HeartResponse heartResponse) {
-        if (heartResponse == null) {
-            return Collections.emptyList();
-        }
-
-        List<HealthHighlight> highlights = new java.util.ArrayList<>();
-        QuizCategoryStatus status = calculateHeartStatus(heartResponse);
-
-        if (Boolean.TRUE.equals(heartResponse.getFatigue())) {
-            highlights.add(constructHealthHighlight("fatigueDetected"));
-        }
-
-        if (Boolean.TRUE.equals(heartResponse.getCoughing())) {
-            highlights.add(constructHealthHighlight("coughingDetected"));
-        }
-
-        if (heartResponse.getMurmurStatus() != null) {
-            switch (heartResponse.getMurmurStatus()) {
-                case GRADE_II, GRADE_III -> highlights.add(constructHealthHighlight("murmurMidRisk"));
-                case GRADE_IV, GRADE_V, GRADE_VI -> highlights.add(constructHealthHighlight("murmurHighRisk"));
-                default -> {}
-            }
-        }
-
-        if (heartResponse.getHeartRate() != null) {
-            float hr = heartResponse.getHeartRate().floatValue();
-            if (hr < 60 || hr > 120) {
-                highlights.add(constructHealthHighlight("abnormalHeartRate"));
-            }
-        }
-
-        if (heartResponse.getBreathingRate() != null) {
-            float br = heartResponse.getBreathingRate().floatValue();
-            if (br < 10 || br > 35) {
-                highlights.add(constructHealthHighlight("abnormalBreathingRate"));
-            }
-        }
-
-        if (heartResponse.getLastDirofilariaPreventionDate() != null) {
-            LocalDateTime last = heartResponse.getLastDirofilariaPreventionDate().atStartOfDay();
-            if (last.isBefore(LocalDateTime.now().minusMonths(1))) {
-                highlights.add(constructHealthHighlight("dirofilariaDue"));
-            }
-        } else {
-            highlights.add(constructHealthHighlight("dirofilariaUnknown"));
-        }
+    /**
+     * Counts the heart records of a given dog.
+     *
+     * @param dogId The dog id to count heart records for.
+     * @return The number of heart records of the dog.
+     */
+    @PreAuthorize("@authorizationService.hasDogOwnership(#dogId)")
+    public long countHeartStatuses(String dogId) {
+        return heartRepository.countHistory(dogId, partitionConfig.isReadArchive());
+    }
 
-        switch (status) {
-            case RED -> highlights.add(constructHealthHighlight("heartHighRisk"));
-            case YELLOW -> highlights.add(constructHealthHighlight("heartMidRisk"));
-            case GREEN -> highlights.add(constructHealthHighlight("heartHealthy"));
+    /**
+     * Recalculates the latest heart status of a given dog, and saves it in the dog_latest_status projection under the
+     * lock of the dog. Used by the writes which change the heart status.
+     *
+     * @param dogId The dog id to recalculate the latest heart status for.
+     * @return an Optional of the saved DogLatestStatusEntity, or an empty Optional if there is no such dog.
+     */
+    @Transactional
+    public Optional<DogLatestStatusEntity> refreshLatestStatus(String dogId) {
+        if (!latestStatusService.lockDog(dogId)) {
+            return Optional.empty();
         }
-
-        return highlights;
+        return Optional.of(latestStatusService.save(calculateLatestStatus(dogId)));
     }
 
-    private HealthHighlight constructHealthHighlight(String highlightType) {
-        return highlightConfig.getMap().get(highlightType);
+    /**
+     * Calculates the latest heart status of a given dog from its most recent heart record, without saving it. Only the
+     * most recent heart record and the heart record count are read, both through the (dog, created) index.
+     *
+     * @param dogId The dog id to calculate the latest heart status for.
+     * @return the calculated DogLatestStatusEntity.
+     */
+    public DogLatestStatusEntity calculateLatestStatus(String dogId) {
+        HeartView latest = heartRepository.findLatest(dogId, partitionConfig.isReadArchive()).orElse(null);
+        HeartEvaluation evaluation = latest != null ? HeartEvaluator.on(LocalDate.now()).evaluate(latest) : null;
+        LocalDate lastPrevention = latest != null ? latest.lastPrevention() : null;
+
+        return DogLatestStatusService.calculated(dogId, LatestStatusCategory.HEART, DogLatestStatusEntity.builder()
+                .recordId(latest != null ? latest.id() : null)
+                .measurement(latest != null && latest.heartRate() != null ? latest.heartRate().floatValue() : null)
+                .status(evaluation != null ? evaluation.status() : null)
+                .highlightKeys(evaluation != null ? evaluation.highlights().toStoredKeys() : null)
+                .recordCount(heartRepository.countHistory(dogId, partitionConfig.isReadArchive()))
+                .recordedTs(latest != null ? latest.createdTs() : null)
+                .staleAfter(lastPrevention != null ? DogLatestStatusService.staleAfter(lastPrevention.plusMonths(1)) : null)
+                .build());
     }
 
     /**
@@ -231,6 +186,7 @@ public class HeartService {
      * @return an Optional object of the HeartResponse with updated values, or an empty Optional in case of an error.
      */
     @PreAuthorize("@authorizationService.hasDogOwnership(#dogId) && @authorizationService.hasHeartRecordOwnership(#dogId, #heartId)")
+    @Transactional
     public Optional<HeartResponse> updateHeartStatus(String dogId, String heartId, HeartRequest request) {
         return heartRepository.findById(heartId)
                 .filter(e -> e.getDog() != null && dogId.equals(e.getDog().getId()))
@@ -243,6 +199,7 @@ public class HeartService {
                     entity.setLastDirofilariaLastPrevention(request.getLastDirofilariaPreventionDate()); //TODO: add null check
                     entity.setCreatedTs(LocalDateTime.now());
                     HeartEntity saved = heartRepository.save(entity);
+                    refreshLatestStatus(dogId);
                     return toResponse(saved);
                 });
     }
@@ -255,11 +212,13 @@ public class HeartService {
      * @return true if heart record was deleted successfully, false otherwise.
      */
     @PreAuthorize("@authorizationService.hasDogOwnership(#dogId) && @authorizationService.hasHeartRecordOwnership(#dogId, #heartId)")
+    @Transactional
     public boolean deleteHeartStatus(String dogId, String heartId) {
         return heartRepository.findById(heartId)
                 .filter(e -> e.getDog() != null && dogId.equals(e.getDog().getId()))
                 .map(e -> {
                     heartRepository.delete(e);
+                    refreshLatestStatus(dogId);
                     return true;
                 }).orElse(false);
     }
@@ -270,17 +229,27 @@ public class HeartService {
      * @param entity The HeartEntity object to map to HeartResponse.
      * @return HeartResponse object.
      */
-    private HeartResponse toResponse(HeartEntity entity) {
+    HeartResponse toResponse(HeartEntity entity) {
+        return toResponse(HeartView.of(entity));
+    }
+
+    /**
+     * Maps the HeartView projection to a HeartResponse object containing the heart record information.
+     *
+     * @param heart The HeartView projection to map to HeartResponse.
+     * @return HeartResponse object.
+     */
+    HeartResponse toResponse(HeartView heart) {
         HeartResponse resp = new HeartResponse();
-        resp.setHeartId(entity.getId());
-        resp.setDogId(entity.getDog() != null ? entity.getDog().getId() : null);
-        resp.setFatigue(entity.getHasFatigue());
-        resp.setCoughing(entity.getIsCoughing());
-        resp.setMurmurStatus(entity.getMurmursStatus());
-        resp.setHeartRate(BigDecimal.valueOf(entity.getHeartRate()));
-        resp.setBreathingRate(BigDecimal.valueOf(entity.getBreathingRate()));
-        resp.setLastDirofilariaPreventionDate(entity.getLastDirofilariaLastPrevention());
-        resp.setCreatedTs(entity.getCreatedTs().atOffset(ZoneOffset.UTC));
+        resp.setHeartId(heart.id());
+        resp.setDogId(heart.dogId());
+        resp.setFatigue(heart.fatigue());
+        resp.setCoughing(heart.coughing());
+        resp.setMurmurStatus(heart.murmurStatus());
+        resp.setHeartRate(BigDecimal.valueOf(heart.heartRate()));
+        resp.setBreathingRate(BigDecimal.valueOf(heart.breathingRate()));
+        resp.setLastDirofilariaPreventionDate(heart.lastPrevention());
+        resp.setCreatedTs(heart.createdTs().atOffset(ZoneOffset.UTC));
         return resp;
     }
 }
\ No newline at end of file
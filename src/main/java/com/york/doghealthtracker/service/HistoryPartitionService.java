@@ -0,0 +1,112 @@
+package com.york.doghealthtracker.service;
+
+import com.york.doghealthtracker.config.HistoryPartitionConfig;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Service responsible for the monthly partitions of the HEART and WEIGHT history (see migration V20).
+ * Creates the partitions of the coming months ahead of time, as the records of a month without a partition go to the
+ * default partition, which queries cannot skip, and moves the partitions older than the retention age into the archive
+ * tables, one compressed row per dog and month. Runs on startup and then on the configured schedule. Partitions are created and archived by database
+ * functions, each in its own transaction and under an advisory lock, so that several instances can run the job.
+ */
+@Service
+@Log4j2
+@ConditionalOnProperty(prefix = "app.history-partitions", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class HistoryPartitionService {
+
+    private static final String LIST_PARTITION_MONTHS = """
+            SELECT to_date(right(c.relname, 7), 'YYYY_MM')
+            FROM pg_inherits i
+                     JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = to_regclass(?)
+              AND pg_get_expr(c.relpartbound, c.oid) <> 'DEFAULT'
+            ORDER BY 1
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final HistoryPartitionConfig partitionConfig;
+
+    public HistoryPartitionService(JdbcTemplate jdbcTemplate, HistoryPartitionConfig partitionConfig) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitionConfig = partitionConfig;
+    }
+
+    /**
+     * Creates the missing partitions up to monthsAhead months after the current one, and archives the partitions
+     * older than archiveAfterMonths, of every partitioned history table. A failure on one table is logged and does not
+     * stop the maintenance of the others.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.history-partitions.cron:0 30 3 * * *}")
+    public void maintainPartitions() {
+        LocalDate today = LocalDate.now();
+        for (PartitionedTable table : PartitionedTable.values()) {
+            try {
+                createPartitions(table, today.withDayOfMonth(1).plusMonths(partitionConfig.getMonthsAhead()));
+                if (partitionConfig.getArchiveAfterMonths() > 0) {
+                    archivePartitions(table, today.minusMonths(partitionConfig.getArchiveAfterMonths()));
+                }
+            } catch (DataAccessException e) {
+                log.error("Maintenance of the {} partitions failed.", table, e);
+            }
+        }
+    }
+
+    /**
+     * Creates the partitions of a table from the current month up to a given month, where missing.
+     *
+     * @param table     The table to create partitions of.
+     * @param lastMonth The first day of the last month to create a partition for.
+     */
+    private void createPartitions(PartitionedTable table, LocalDate lastMonth) {
+        for (LocalDate month = LocalDate.now().withDayOfMonth(1); !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT CREATE_HISTORY_PARTITION(?, ?)",
+                    Boolean.class, table.name(), month))) {
+                log.info("Created the {} partition of {}.", table, month);
+            }
+        }
+    }
+
+    /**
+     * Archives the partitions of a table whose records are all older than a given date.
+     *
+     * @param table  The table to archive partitions of.
+     * @param cutoff The date before which the records of a partition are archived.
+     */
+    private void archivePartitions(PartitionedTable table, LocalDate cutoff) {
+        List<LocalDate> months = jdbcTemplate.queryForList(LIST_PARTITION_MONTHS, LocalDate.class,
+                table.name().toLowerCase());
+        for (LocalDate month : months) {
+            if (month.plusMonths(1).isAfter(cutoff)) {
+                break;
+            }
+            Long archived = jdbcTemplate.queryForObject("SELECT ARCHIVE_HISTORY_PARTITION(?, ?, ?)",
+                    Long.class, table.name(), table.columnPrefix, month);
+            if (archived != null) {
+                log.info("Archived the {} partition of {} with {} records.", table, month, archived);
+            }
+        }
+    }
+
+    private enum PartitionedTable {
+        WEIGHT("WG"),
+        HEART("HT");
+
+        private final String columnPrefix;
+
+        PartitionedTable(String columnPrefix) {
+            this.columnPrefix = columnPrefix;
+        }
+    }
+}
@@ -1,21 +1,21 @@
 package com.york.doghealthtracker.service;
 
-import com.york.doghealthtracker.config.HighlightConfig;
 import com.york.doghealthtracker.config.HormoneQuizConfig;
 import com.york.doghealthtracker.entity.DogEntity;
+import com.york.doghealthtracker.entity.DogLatestStatusEntity;
 import com.york.doghealthtracker.entity.HormoneEntity;
+import com.york.doghealthtracker.entity.LatestStatusCategory;
 import com.york.doghealthtracker.model.*;
 import com.york.doghealthtracker.repository.HormoneRepository;
+import com.york.doghealthtracker.service.highlight.HealthHighlightEngine;
 import com.york.doghealthtracker.service.utils.QuizScoreCalculationService;
+import jakarta.transaction.Transactional;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -27,14 +27,20 @@ import java.util.stream.Collectors;
 @Log4j2
 public class HormoneService {
 
+    private static final List<LatestStatusCategory> LATEST_STATUS_CATEGORIES = Arrays.stream(HormoneCategory.values())
+            .map(LatestStatusCategory::of)
+            .toList();
+
     private final HormoneQuizConfig quizConfig;
     private final HormoneRepository hormoneRepository;
-    private final HighlightConfig highlightConfig;
+    private final HealthHighlightEngine highlightEngine;
+    private final DogLatestStatusService latestStatusService;
 
-    public HormoneService(HormoneQuizConfig quizConfig, HormoneRepository hormoneRepository, HighlightConfig highlightConfig) {
+    public HormoneService(HormoneQuizConfig quizConfig, HormoneRepository hormoneRepository, HealthHighlightEngine highlightEngine, DogLatestStatusService latestStatusService) {
         this.quizConfig = quizConfig;
         this.hormoneRepository = hormoneRepository;
-        this.highlightConfig = highlightConfig;
+        this.highlightEngine = highlightEngine;
+        this.latestStatusService = latestStatusService;
     }
 
     /**
@@ -55,46 +61,32 @@ public class HormoneService {
     /**
      * Processes quiz question submission. Calculates the results of the quiz answers, and saves them in the database.
      * Utilizes QuizScoreCalculationService for result calculations.
-     * Deletes hormone quiz status, if such exists.
+     * Replaces the hormone quiz result of the dog in a single transaction: the previous results are removed by one bulk
+     * delete, and the new result, a single row with the status of every hormone category, is inserted in one JDBC
+     * batch together with the latest hormone statuses of the dog.
      *
      * @param dog         The dog entity to save quiz score for.
      * @param requestBody The quiz answers to process, calculate status for, and save in database.
      */
+    @Transactional
     public void calculateQuizScore(DogEntity dog, Map<String, QuizAnswer> requestBody) {
 
-        deleteHormoneQuizStatusIfExists(dog.getId());
-
-        getGroupedAnswersByCategory(requestBody)
-                .forEach((category, answers) -> {
-
-                    int score = answers.stream()
-                            .mapToInt(QuizScoreCalculationService::mapAnswerToScore)
-                            .sum();
-
-                    QuizCategoryStatus status = QuizScoreCalculationService.mapScoreToStatus(score);
-
-                    HormoneEntity entity = new HormoneEntity();
-                    entity.setDog(dog);
-                    entity.setType(category);
-                    entity.setStatus(status);
-                    entity.setCreatedTs(LocalDateTime.now());
-
-                    hormoneRepository.save(entity);
-                });
-    }
-
-    /**
-     * Checks if hormone entries for given dog exist in database, and deletes them if they exist.
-     *
-     * @param dogId The dog to delete existing hormonal entries for.
-     */
-    private void deleteHormoneQuizStatusIfExists(String dogId) {
-        if (hormoneRepository.findByDog_Id(dogId).isEmpty()) {
-            log.info("No hormone entries in database to delete for dog with id: {}", dogId);
-        } else {
-            log.info("Deleting existing hormone entries in database for dog with id: {}", dogId);
-            hormoneRepository.deleteByDog_Id(dogId);
-        }
+        latestStatusService.lockDog(dog.getId());
+        int deleted = hormoneRepository.deleteAllByDogId(dog.getId());
+        log.info("Replacing {} hormone entries in database for dog with id: {}", deleted, dog.getId());
+
+        HormoneEntity entity = new HormoneEntity();
+        entity.setDog(dog);
+        entity.setCreatedTs(LocalDateTime.now());
+        getGroupedAnswersByCategory(requestBody).forEach((category, answers) -> {
+            int score = answers.stream()
+                    .mapToInt(QuizScoreCalculationService::mapAnswerToScore)
+                    .sum();
+            entity.setStatus(category, QuizScoreCalculationService.mapScoreToStatus(score));
+        });
+        HormoneEntity saved = hormoneRepository.save(entity);
+
+        latestStatusService.saveAll(latestStatuses(dog.getId(), saved));
     }
 
     /**
@@ -112,71 +104,76 @@ public class HormoneService {
     }
 
     /**
-     * Retrieves all HormoneEntity objects from the database related to the given dog, and maps them to a
-     * HormoneStatusResponse object.
+     * Retrieves the latest hormone statuses of the given dog from the dog_latest_status projection, and maps them to a
+     * HormoneStatusResponse object. The statuses are calculated from the hormone history if the projection is missing.
      *
      * @param dogId The dog id to return HormoneStatusResponse for.
      * @return a HormoneStatusResponse with hormone statuses.
      */
     @PreAuthorize("@authorizationService.hasDogOwnership(#dogId)")
     public HormoneStatusResponse getHormoneStatusResponse(String dogId) {
-        List<HormoneEntity> hormoneEntities = hormoneRepository.findByDog_Id(dogId);
-
-        HormoneStatusResponse response = new HormoneStatusResponse();
-
-        if (hormoneEntities.isEmpty()) {
-            response.setThyroid(null);
-            response.setAdrenal(null);
-            response.setPancreatic(null);
-            response.setHealthHighlights(getHormoneHealthHighlights(response));
-            return response;
+        Map<LatestStatusCategory, DogLatestStatusEntity> statuses = latestStatusService.findFresh(dogId, LATEST_STATUS_CATEGORIES);
+        if (statuses.size() < LATEST_STATUS_CATEGORIES.size()) {
+            calculateLatestStatuses(dogId).forEach(status -> statuses.put(status.getId().getCategory(), status));
         }
 
-        for (HormoneEntity entity : hormoneEntities) {
-            switch (entity.getType()) {
-                case THYROID -> response.setThyroid(entity.getStatus());
-                case ADRENAL -> response.setAdrenal(entity.getStatus());
-                case PANCREATIC -> response.setPancreatic(entity.getStatus());
-            }
-        }
-
-        response.setHealthHighlights(getHormoneHealthHighlights(response));
+        QuizCategoryStatus thyroid = statusOf(statuses.get(LatestStatusCategory.THYROID));
+        QuizCategoryStatus adrenal = statusOf(statuses.get(LatestStatusCategory.ADRENAL));
+        QuizCategoryStatus pancreatic = statusOf(statuses.get(LatestStatusCategory.PANCREATIC));
 
-        return response;
+        return toHormoneStatusResponse(thyroid, adrenal, pancreatic);
     }
 
-    private List<HealthHighlight> getHormoneHealthHighlights(HormoneStatusResponse response) {
-
-        List<HealthHighlight> healthHighlights = new ArrayList<>();
-
-        if (response.getThyroid() == null || response.getPancreatic() == null || response.getAdrenal() == null) {
-            return Collections.emptyList();
-        }
-
-        switch (response.getThyroid()) {
-            case RED -> healthHighlights.add(constructHealthHighlight("thyroidHighRisk"));
-            case YELLOW -> healthHighlights.add(constructHealthHighlight("thyroidMidRisk"));
-        }
-
-        switch (response.getAdrenal()) {
-            case RED -> healthHighlights.add(constructHealthHighlight("adrenalHighRisk"));
-            case YELLOW -> healthHighlights.add(constructHealthHighlight("adrenalMidRisk"));
-        }
+    /**
+     * Calculates the latest hormone statuses of a given dog from its hormone quiz result, without saving them. A quiz
+     * submission replaces the previous result of the dog, so only the latest row is read, and it holds the status of
+     * every hormone category.
+     *
+     * @param dogId The dog id to calculate the latest hormone statuses for.
+     * @return a list of the calculated DogLatestStatusEntity objects, one per hormone category.
+     */
+    public List<DogLatestStatusEntity> calculateLatestStatuses(String dogId) {
+        return latestStatuses(dogId, hormoneRepository.findFirstByDog_IdOrderByCreatedTsDesc(dogId).orElse(null));
+    }
 
-        switch (response.getPancreatic()) {
-            case RED -> healthHighlights.add(constructHealthHighlight("pancreaticHighRisk"));
-            case YELLOW -> healthHighlights.add(constructHealthHighlight("pancreaticMidRisk"));
+    private List<DogLatestStatusEntity> latestStatuses(String dogId, HormoneEntity result) {
+        List<DogLatestStatusEntity> latestStatuses = new ArrayList<>();
+        for (HormoneCategory category : HormoneCategory.values()) {
+            HormoneEntity latest = result != null && result.getStatus(category) != null ? result : null;
+            latestStatuses.add(DogLatestStatusService.calculated(dogId, LatestStatusCategory.of(category),
+                    latestStatus(latest, category, latest != null ? 1 : 0)));
         }
+        return latestStatuses;
+    }
 
-        if (healthHighlights.isEmpty()) {
-            healthHighlights.add(constructHealthHighlight("hormoneDefault"));
-        }
+    private DogLatestStatusEntity latestStatus(HormoneEntity latest, HormoneCategory category, long recordCount) {
+        return DogLatestStatusEntity.builder()
+                .recordId(latest != null ? latest.getId() : null)
+                .status(latest != null ? latest.getStatus(category) : null)
+                .recordCount(recordCount)
+                .recordedTs(latest != null ? latest.getCreatedTs() : null)
+                .build();
+    }
 
-        return healthHighlights;
+    private QuizCategoryStatus statusOf(DogLatestStatusEntity status) {
+        return status != null ? status.getStatus() : null;
     }
 
-    private HealthHighlight constructHealthHighlight(String highlightType) {
-       return highlightConfig.getMap().get(highlightType);
+    /**
+     * Builds a HormoneStatusResponse from already resolved hormone statuses, including the related health highlights.
+     *
+     * @param thyroid    The thyroid status, or null if not present.
+     * @param adrenal    The adrenal status, or null if not present.
+     * @param pancreatic The pancreatic status, or null if not present.
+     * @return a HormoneStatusResponse with hormone statuses and health highlights.
+     */
+    private HormoneStatusResponse toHormoneStatusResponse(QuizCategoryStatus thyroid, QuizCategoryStatus adrenal, QuizCategoryStatus pancreatic) {
+        HormoneStatusResponse response = new HormoneStatusResponse();
+        response.setThyroid(thyroid);
+        response.setAdrenal(adrenal);
+        response.setPancreatic(pancreatic);
+        response.setHealthHighlights(highlightEngine.hormoneHighlights(thyroid, adrenal, pancreatic));
+        return response;
     }
 
 }
@@ -1,21 +1,21 @@
 package com.york.doghealthtracker.service;
 
-import com.york.doghealthtracker.config.HighlightConfig;
 import com.york.doghealthtracker.config.MobilityQuizConfig;
 import com.york.doghealthtracker.entity.DogEntity;
+import com.york.doghealthtracker.entity.DogLatestStatusEntity;
+import com.york.doghealthtracker.entity.LatestStatusCategory;
 import com.york.doghealthtracker.entity.MobilityEntity;
 import com.york.doghealthtracker.model.*;
 import com.york.doghealthtracker.repository.MobilityRepository;
+import com.york.doghealthtracker.service.highlight.HealthHighlightEngine;
 import com.york.doghealthtracker.service.utils.QuizScoreCalculationService;
+import jakarta.transaction.Transactional;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -27,14 +27,20 @@ import java.util.stream.Collectors;
 @Log4j2
 public class MobilityService {
 
+    private static final List<LatestStatusCategory> LATEST_STATUS_CATEGORIES = Arrays.stream(MobilityCategory.values())
+            .map(LatestStatusCategory::of)
+            .toList();
+
     private final MobilityQuizConfig quizConfig;
     private final MobilityRepository mobilityRepository;
-    private final HighlightConfig highlightConfig;
+    private final HealthHighlightEngine highlightEngine;
+    private final DogLatestStatusService latestStatusService;
 
-    public MobilityService(MobilityQuizConfig quizConfig, MobilityRepository mobilityRepository, HighlightConfig highlightConfig) {
+    public MobilityService(MobilityQuizConfig quizConfig, MobilityRepository mobilityRepository, HealthHighlightEngine highlightEngine, DogLatestStatusService latestStatusService) {
         this.quizConfig = quizConfig;
         this.mobilityRepository = mobilityRepository;
-        this.highlightConfig = highlightConfig;
+        this.highlightEngine = highlightEngine;
+        this.latestStatusService = latestStatusService;
     }
 
     /**
@@ -55,46 +61,32 @@ public class MobilityService {
     /**
      * Processes quiz question submission. Calculates the results of the quiz answers, and saves them in the database.
      * Utilizes QuizScoreCalculationService for result calculations.
-     * Deletes mobility quiz status, if such exists.
+     * Replaces the mobility quiz result of the dog in a single transaction: the previous results are removed by one bulk
+     * delete, and the new result, a single row with the status of every mobility category, is inserted in one JDBC
+     * batch together with the latest mobility statuses of the dog.
      *
      * @param dog         The dog entity to save quiz score for.
      * @param requestBody The quiz answers to process, calculate status for, and save in database.
      */
+    @Transactional
     public void calculateQuizStatus(DogEntity dog, Map<String, QuizAnswer> requestBody) {
 
-        deleteHormoneQuizStatusIfExists(dog.getId());
-
-        getGroupedAnswersByCategory(requestBody)
-                .forEach((category, answers) -> {
-
-                    int score = answers.stream()
-                            .mapToInt(QuizScoreCalculationService::mapAnswerToScore)
-                            .sum();
-
-                    QuizCategoryStatus status = QuizScoreCalculationService.mapScoreToStatus(score);
-
-                    MobilityEntity entity = new MobilityEntity();
-                    entity.setDog(dog);
-                    entity.setType(category);
-                    entity.setStatus(status);
-                    entity.setCreatedTs(LocalDateTime.now());
-
-                    mobilityRepository.save(entity);
-                });
-    }
-
-    /**
-     * Checks if hormone entries for given dog exist in database, and deletes them if they exist.
-     *
-     * @param dogId The dog to delete existing hormonal entries for.
-     */
-    private void deleteHormoneQuizStatusIfExists(String dogId) {
-        if (mobilityRepository.findByDog_Id(dogId).isEmpty()) {
-            log.info("No mobility entries in database to delete for dog with id: {}", dogId);
-        } else {
-            log.info("Deleting existing mobility entries in database for dog with id: {}", dogId);
-            mobilityRepository.deleteByDog_Id(dogId);
-        }
+        latestStatusService.lockDog(dog.getId());
+        int deleted = mobilityRepository.deleteAllByDogId(dog.getId());
+        log.info("Replacing {} mobility entries in database for dog with id: {}", deleted, dog.getId());
+
+        MobilityEntity entity = new MobilityEntity();
+        entity.setDog(dog);
+        entity.setCreatedTs(LocalDateTime.now());
+        getGroupedAnswersByCategory(requestBody).forEach((category, answers) -> {
+            int score = answers.stream()
+                    .mapToInt(QuizScoreCalculationService::mapAnswerToScore)
+                    .sum();
+            entity.setStatus(category, QuizScoreCalculationService.mapScoreToStatus(score));
+        });
+        MobilityEntity saved = mobilityRepository.save(entity);
+
+        latestStatusService.saveAll(latestStatuses(dog.getId(), saved));
     }
 
     /**
@@ -112,63 +104,77 @@ public class MobilityService {
     }
 
     /**
-     * Retrieves all MobilityEntity objects from the database related to the given dog, and maps them to a
-     * MobilityStatusResponse object.
+     * Retrieves the latest mobility statuses of the given dog from the dog_latest_status projection, and maps them to a
+     * MobilityStatusResponse object. The statuses are calculated from the mobility history if the projection is
+     * missing.
      *
      * @param dogId The dog id to return MobilityStatusResponse for.
      * @return a MobilityStatusResponse with mobility statuses.
      */
     @PreAuthorize("@authorizationService.hasDogOwnership(#dogId)")
     public MobilityStatusResponse getMobilityStatusResponse(String dogId) {
-        List<MobilityEntity> mobilityEntities = mobilityRepository.findByDog_Id(dogId);
-
-        MobilityStatusResponse response = new MobilityStatusResponse();
-
-        for (MobilityEntity entity : mobilityEntities) {
-            switch (entity.getType()) {
-                case LUXATION -> response.setPatellarLuxation(entity.getStatus());
-                case DYSPLASIA -> response.setHipDysplasia(entity.getStatus());
-                case ARTHRITIS -> response.setArthritis(entity.getStatus());
-            }
+        Map<LatestStatusCategory, DogLatestStatusEntity> statuses = latestStatusService.findFresh(dogId, LATEST_STATUS_CATEGORIES);
+        if (statuses.size() < LATEST_STATUS_CATEGORIES.size()) {
+            calculateLatestStatuses(dogId).forEach(status -> statuses.put(status.getId().getCategory(), status));
         }
 
-        response.setHealthHighlights(getMobilityHealthHighlights(response));
+        QuizCategoryStatus patellarLuxation = statusOf(statuses.get(LatestStatusCategory.LUXATION));
+        QuizCategoryStatus hipDysplasia = statusOf(statuses.get(LatestStatusCategory.DYSPLASIA));
+        QuizCategoryStatus arthritis = statusOf(statuses.get(LatestStatusCategory.ARTHRITIS));
 
-        return response;
+        return toMobilityStatusResponse(patellarLuxation, hipDysplasia, arthritis);
     }
 
-    private List<HealthHighlight> getMobilityHealthHighlights(MobilityStatusResponse response) {
-
-        if (response.getPatellarLuxation() == null || response.getHipDysplasia() == null || response.getArthritis() == null) {
-            return Collections.emptyList();
-        }
-
-        List<HealthHighlight> healthHighlights = new ArrayList<>();
-
-        switch (response.getPatellarLuxation()) {
-            case RED -> healthHighlights.add(constructHealthHighlight("luxationHighRisk"));
-            case YELLOW -> healthHighlights.add(constructHealthHighlight("luxationMidRisk"));
-        }
-
-        switch (response.getHipDysplasia()) {
-            case RED -> healthHighlights.add(constructHealthHighlight("dysplasiaHighRisk"));
-            case YELLOW -> healthHighlights.add(constructHealthHighlight("dysplasiaMidRisk"));
-        }
+    /**
+     * Calculates the latest mobility statuses of a given dog from its mobility quiz result, without saving them. A quiz
+     * submission replaces the previous result of the dog, so only the latest row is read, and it holds the status of
+     * every mobility category.
+     *
+     * @param dogId The dog id to calculate the latest mobility statuses for.
+     * @return a list of the calculated DogLatestStatusEntity objects, one per mobility category.
+     */
+    public List<DogLatestStatusEntity> calculateLatestStatuses(String dogId) {
+        return latestStatuses(dogId, mobilityRepository.findFirstByDog_IdOrderByCreatedTsDesc(dogId).orElse(null));
+    }
 
-        switch (response.getArthritis()) {
-            case RED -> healthHighlights.add(constructHealthHighlight("arthritisHighRisk"));
-            case YELLOW -> healthHighlights.add(constructHealthHighlight("arthritisMidRisk"));
+    private List<DogLatestStatusEntity> latestStatuses(String dogId, MobilityEntity result) {
+        List<DogLatestStatusEntity> latestStatuses = new ArrayList<>();
+        for (MobilityCategory category : MobilityCategory.values()) {
+            MobilityEntity latest = result != null && result.getStatus(category) != null ? result : null;
+            latestStatuses.add(DogLatestStatusService.calculated(dogId, LatestStatusCategory.of(category),
+                    latestStatus(latest, category, latest != null ? 1 : 0)));
         }
+        return latestStatuses;
+    }
 
-        if (healthHighlights.isEmpty()) {
-            healthHighlights.add(constructHealthHighlight("mobilityDefault"));
-        }
+    private DogLatestStatusEntity latestStatus(MobilityEntity latest, MobilityCategory category, long recordCount) {
+        return DogLatestStatusEntity.builder()
+                .recordId(latest != null ? latest.getId() : null)
+                .status(latest != null ? latest.getStatus(category) : null)
+                .recordCount(recordCount)
+                .recordedTs(latest != null ? latest.getCreatedTs() : null)
+                .build();
+    }
 
-        return healthHighlights;
+    private QuizCategoryStatus statusOf(DogLatestStatusEntity status) {
+        return status != null ? status.getStatus() : null;
     }
 
-    private HealthHighlight constructHealthHighlight(String highlightType) {
-        return highlightConfig.getMap().get(highlightType);
+    /**
+     * Builds a MobilityStatusResponse from already resolved mobility statuses, including the related health highlights.
+     *
+     * @param patellarLuxation The patellar luxation status, or null if not present.
+     * @param hipDysplasia     The hip dysplasia status, or null if not present.
+     * @param arthritis        The arthritis status, or null if not present.
+     * @return a MobilityStatusResponse with mobility statuses and health highlights.
+     */
+    private MobilityStatusResponse toMobilityStatusResponse(QuizCategoryStatus patellarLuxation, QuizCategoryStatus hipDysplasia, QuizCategoryStatus arthritis) {
+        MobilityStatusResponse response = new MobilityStatusResponse();
+        response.setPatellarLuxation(patellarLuxation);
+        response.setHipDysplasia(hipDysplasia);
+        response.setArthritis(arthritis);
+        response.setHealthHighlights(highlightEngine.mobilityHighlights(patellarLuxation, hipDysplasia, arthritis));
+        return response;
     }
 
 }
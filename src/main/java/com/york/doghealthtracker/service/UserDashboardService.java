@@ -1,14 +1,35 @@
 package com.york.doghealthtracker.service;
 
-import com.york.doghealthtracker.config.HighlightConfig;
-import com.york.doghealthtracker.entity.WeightEntity;
+import com.york.doghealthtracker.entity.DogLatestStatusEntity;
+import com.york.doghealthtracker.entity.LatestStatusCategory;
 import com.york.doghealthtracker.model.*;
+import com.york.doghealthtracker.repository.projection.WeightView;
+import com.york.doghealthtracker.service.highlight.DogHighlights;
+import com.york.doghealthtracker.service.highlight.HealthHighlightEngine;
+import com.york.doghealthtracker.service.highlight.HighlightKey;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
+/**
+ * Service responsible for building the user dashboard.
+ * The dashboard is read from the dog_latest_status projection in a single primary key range query, and falls back to
+ * retrieving each section separately if the projection cannot be read.
+ *
+ * @PreAuthorize method annotations validate that user has authorization to access the given resource.
+ */
 @Service
 @Log4j2
 public class UserDashboardService {
@@ -19,7 +40,12 @@ public class UserDashboardService {
     private final DentalService dentalService;
     private final HeartService heartService;
     private final HealthRecordService healthRecordService;
-    private final HighlightConfig highlightConfig;
+    private final HealthHighlightEngine highlightEngine;
+    private final DogLatestStatusService latestStatusService;
+    private final AsyncTaskExecutor dashboardExecutor;
+
+    @Value("${app.dashboard.section-timeout-ms}")
+    private long sectionTimeoutMs;
 
     public UserDashboardService(
             WeightService weightService,
@@ -28,42 +54,200 @@ public class UserDashboardService {
             DentalService dentalService,
             HeartService heartService,
             HealthRecordService healthRecordService,
-            HighlightConfig highlightConfig) {
+            HealthHighlightEngine highlightEngine,
+            DogLatestStatusService latestStatusService,
+            @Qualifier("dashboardExecutor") AsyncTaskExecutor dashboardExecutor) {
         this.weightService = weightService;
         this.hormoneService = hormoneService;
         this.mobilityService = mobilityService;
         this.dentalService = dentalService;
         this.heartService = heartService;
         this.healthRecordService = healthRecordService;
-        this.highlightConfig = highlightConfig;
+        this.highlightEngine = highlightEngine;
+        this.latestStatusService = latestStatusService;
+        this.dashboardExecutor = dashboardExecutor;
     }
 
+    /**
+     * Retrieves the dashboard data for a given dog. Latest weight, hormone and mobility statuses and record counts are
+     * loaded from the dog_latest_status projection in one database round trip. Categories missing from the projection
+     * or stale are calculated from their history by the owning service, without locking the dog or saving them.
+     *
+     * @param userId The id of the user to retrieve dashboard for.
+     * @param dogId  The id of the dog related to the user.
+     * @return DashboardResponse object containing the user dashboard data.
+     */
+    @PreAuthorize("@authorizationService.hasDogOwnership(#dogId)")
     public DashboardResponse getDashboard(String userId, String dogId) {
         try {
-            return new DashboardResponse()
-                    .currentWeight(getCurrentWeight(dogId))
-                    .hormonesStatus(safeHormonesStatus(dogId))
-                    .mobilityStatus(safeMobilityStatus(dogId))
-                    .totalDentalRecords(safeCount(getTotalDentalRecords(dogId)))
-                    .totalHeartRecords(safeCount(getTotalHeartRecords(dogId)))
-                    .totalHealthRecords(safeCount(getTotalHealthRecords(dogId)))
-                    .healthHighlights(generateHealthHighlights(dogId));
-        } catch (Exception e) {
-            log.error("Error building dashboard for dogId {}: {}", dogId, e.getMessage(), e);
-            return new DashboardResponse()
-                    .currentWeight(0.0f)
-                    .hormonesStatus(new HormoneStatusResponse())
-                    .mobilityStatus(new MobilityStatusResponse())
-                    .totalDentalRecords(BigDecimal.ZERO)
-                    .totalHeartRecords(BigDecimal.ZERO)
-                    .totalHealthRecords(BigDecimal.ZERO)
-                    .healthHighlights(Collections.emptyList());
+            Map<LatestStatusCategory, DogLatestStatusEntity> statuses = latestStatusService.findFresh(dogId);
+            if (statuses.size() < LatestStatusCategory.values().length) {
+                calculateMissingStatuses(dogId, statuses);
+            }
+
+            if (statuses.isEmpty()) {
+                log.warn("No dashboard data found for dogId: {}", dogId);
+                return emptyDashboard();
+            }
+            return toDashboardResponse(statuses, highlightEngine.evaluate(dogId, statuses));
+        } catch (DataAccessException e) {
+            log.error("Latest status query failed for dogId {}, retrieving sections separately: {}", dogId, e.getMessage());
+            return getDashboardBySection(dogId);
+        }
+    }
+
+    /**
+     * Calculates the latest statuses missing from the given map, and adds them to it.
+     *
+     * @param dogId    The id of the dog to calculate the latest statuses for.
+     * @param statuses The latest statuses already loaded, by category.
+     */
+    private void calculateMissingStatuses(String dogId, Map<LatestStatusCategory, DogLatestStatusEntity> statuses) {
+        calculateIfMissing(statuses, List.of(LatestStatusCategory.WEIGHT),
+                () -> List.of(weightService.calculateLatestStatus(dogId)));
+        calculateIfMissing(statuses, List.of(LatestStatusCategory.DENTAL),
+                () -> List.of(dentalService.calculateLatestStatus(dogId)));
+        calculateIfMissing(statuses, List.of(LatestStatusCategory.HEART),
+                () -> List.of(heartService.calculateLatestStatus(dogId)));
+        calculateIfMissing(statuses, List.of(LatestStatusCategory.HEALTH_RECORD),
+                () -> List.of(healthRecordService.calculateLatestStatus(dogId)));
+        calculateIfMissing(statuses, List.of(LatestStatusCategory.THYROID, LatestStatusCategory.ADRENAL, LatestStatusCategory.PANCREATIC),
+                () -> hormoneService.calculateLatestStatuses(dogId));
+        calculateIfMissing(statuses, List.of(LatestStatusCategory.LUXATION, LatestStatusCategory.DYSPLASIA, LatestStatusCategory.ARTHRITIS),
+                () -> mobilityService.calculateLatestStatuses(dogId));
+    }
+
+    private void calculateIfMissing(Map<LatestStatusCategory, DogLatestStatusEntity> statuses,
+                                    List<LatestStatusCategory> categories,
+                                    Supplier<List<DogLatestStatusEntity>> calculation) {
+        if (!statuses.keySet().containsAll(categories)) {
+            calculation.get().forEach(status -> statuses.put(status.getId().getCategory(), status));
+        }
+    }
+
+    /**
+     * Maps the latest statuses of a dog and their health highlights to a DashboardResponse object.
+     *
+     * @param statuses   The latest statuses of the dog, by category.
+     * @param highlights The health highlights evaluated from the latest statuses.
+     * @return DashboardResponse object.
+     */
+    private DashboardResponse toDashboardResponse(Map<LatestStatusCategory, DogLatestStatusEntity> statuses, DogHighlights highlights) {
+        DogLatestStatusEntity weight = statuses.get(LatestStatusCategory.WEIGHT);
+        Float currentWeight = Optional.ofNullable(weight)
+                .map(DogLatestStatusEntity::getMeasurement)
+                .orElse(0.0f);
+
+        return new DashboardResponse()
+                .currentWeight(currentWeight)
+                .hormonesStatus(new HormoneStatusResponse()
+                        .thyroid(statusOf(statuses, LatestStatusCategory.THYROID))
+                        .adrenal(statusOf(statuses, LatestStatusCategory.ADRENAL))
+                        .pancreatic(statusOf(statuses, LatestStatusCategory.PANCREATIC))
+                        .healthHighlights(highlights.hormones()))
+                .mobilityStatus(new MobilityStatusResponse()
+                        .patellarLuxation(statusOf(statuses, LatestStatusCategory.LUXATION))
+                        .hipDysplasia(statusOf(statuses, LatestStatusCategory.DYSPLASIA))
+                        .arthritis(statusOf(statuses, LatestStatusCategory.ARTHRITIS))
+                        .healthHighlights(highlights.mobility()))
+                .totalDentalRecords(toCount(statuses.get(LatestStatusCategory.DENTAL)))
+                .totalHeartRecords(toCount(statuses.get(LatestStatusCategory.HEART)))
+                .totalHealthRecords(toCount(statuses.get(LatestStatusCategory.HEALTH_RECORD)))
+                .healthHighlights(highlights.dashboard());
+    }
+
+    private QuizCategoryStatus statusOf(Map<LatestStatusCategory, DogLatestStatusEntity> statuses, LatestStatusCategory category) {
+        DogLatestStatusEntity status = statuses.get(category);
+        return status != null ? status.getStatus() : null;
+    }
+
+    private BigDecimal toCount(DogLatestStatusEntity status) {
+        return status != null ? BigDecimal.valueOf(status.getRecordCount()) : BigDecimal.ZERO;
+    }
+
+    private DashboardResponse emptyDashboard() {
+        return new DashboardResponse()
+                .currentWeight(0.0f)
+                .hormonesStatus(new HormoneStatusResponse())
+                .mobilityStatus(new MobilityStatusResponse())
+                .totalDentalRecords(BigDecimal.ZERO)
+                .totalHeartRecords(BigDecimal.ZERO)
+                .totalHealthRecords(BigDecimal.ZERO)
+                .healthHighlights(Collections.emptyList());
+    }
+
+    /**
+     * Builds the dashboard by retrieving each section from its own service. Used when the aggregated dashboard query
+     * cannot be executed. Sections are retrieved concurrently on the dashboard executor, which propagates the
+     * security context of the caller, and each section falls back to its default value when it fails, when the
+     * executor is saturated, or when it does not complete within the configured section timeout.
+     *
+     * @param dogId The id of the dog to build the dashboard for.
+     * @return DashboardResponse object containing the user dashboard data.
+     */
+    private DashboardResponse getDashboardBySection(String dogId) {
+        CompletableFuture<Float> currentWeight =
+                supplySection("weight", dogId, () -> getCurrentWeight(dogId), 0.0f);
+        CompletableFuture<HormoneStatusResponse> hormonesStatus =
+                supplySection("hormone", dogId, () -> safeHormonesStatus(dogId), new HormoneStatusResponse());
+        CompletableFuture<MobilityStatusResponse> mobilityStatus =
+                supplySection("mobility", dogId, () -> safeMobilityStatus(dogId), new MobilityStatusResponse());
+        CompletableFuture<BigDecimal> totalDentalRecords =
+                supplySection("dental", dogId, () -> safeCount(getTotalDentalRecords(dogId)), BigDecimal.ZERO);
+        CompletableFuture<BigDecimal> totalHeartRecords =
+                supplySection("heart", dogId, () -> safeCount(getTotalHeartRecords(dogId)), BigDecimal.ZERO);
+        CompletableFuture<BigDecimal> totalHealthRecords =
+                supplySection("health record", dogId, () -> safeCount(getTotalHealthRecords(dogId)), BigDecimal.ZERO);
+        CompletableFuture<List<HealthHighlight>> healthHighlights =
+                supplySection("health highlights", dogId, () -> generateHealthHighlights(dogId), Collections.emptyList());
+
+        return new DashboardResponse()
+                .currentWeight(currentWeight.join())
+                .hormonesStatus(hormonesStatus.join())
+                .mobilityStatus(mobilityStatus.join())
+                .totalDentalRecords(totalDentalRecords.join())
+                .totalHeartRecords(totalHeartRecords.join())
+                .totalHealthRecords(totalHealthRecords.join())
+                .healthHighlights(healthHighlights.join());
+    }
+
+    /**
+     * Retrieves a single dashboard section asynchronously on the dashboard executor. A section rejected by the executor
+     * falls back right away, and a section timing out is cancelled, so that it does not keep running, or wait in the
+     * queue, once its fallback has been returned.
+     *
+     * @param section  The section name, used for logging.
+     * @param dogId    The id of the dog the section is retrieved for, used for logging.
+     * @param supplier The supplier retrieving the section.
+     * @param fallback The value to return if the section fails or times out.
+     * @return a CompletableFuture which always completes normally with the section value or the fallback.
+     */
+    private <T> CompletableFuture<T> supplySection(String section, String dogId, Supplier<T> supplier, T fallback) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        final Future<?> task;
+        try {
+            task = dashboardExecutor.submit(() -> {
+                try {
+                    result.complete(supplier.get());
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            log.error("Dashboard executor is saturated, skipping {} section for dogId {}", section, dogId);
+            return CompletableFuture.completedFuture(fallback);
         }
+        return result.orTimeout(sectionTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    task.cancel(true);
+                    log.error("Failed to retrieve {} section for dogId {}: {}", section, dogId, e.getMessage());
+                    return fallback;
+                });
     }
 
     private Float getCurrentWeight(String dogId) {
-        return weightService.getCurrentWeightEntity(dogId)
-                .map(WeightEntity::getCurrent)
+        return weightService.getCurrentWeight(dogId)
+                .map(WeightView::current)
                 .orElse(0.0f);
     }
 
@@ -99,10 +283,7 @@ public class UserDashboardService {
 
     private BigDecimal getTotalDentalRecords(String dogId) {
         try {
-            var dentalResponse = dentalService.getDentalListResponse(dogId);
-            if (dentalResponse == null || dentalResponse.getDentalRecords() == null)
-                return BigDecimal.ZERO;
-            return BigDecimal.valueOf(dentalResponse.getDentalRecords().size());
+            return BigDecimal.valueOf(dentalService.countDentalStatuses(dogId));
         } catch (Exception e) {
             log.error("Failed to count dental records for {}: {}", dogId, e.getMessage());
             return BigDecimal.ZERO;
@@ -111,8 +292,7 @@ public class UserDashboardService {
 
     private BigDecimal getTotalHeartRecords(String dogId) {
         try {
-            var heartStatuses = heartService.getHeartStatuses(dogId);
-            return BigDecimal.valueOf(heartStatuses != null ? heartStatuses.size() : 0);
+            return BigDecimal.valueOf(heartService.countHeartStatuses(dogId));
         } catch (Exception e) {
             log.error("Failed to count heart records for {}: {}", dogId, e.getMessage());
             return BigDecimal.ZERO;
@@ -121,8 +301,7 @@ public class UserDashboardService {
 
     private BigDecimal getTotalHealthRecords(String dogId) {
         try {
-            var records = healthRecordService.getHealthRecords(dogId);
-            return BigDecimal.valueOf(records != null ? records.size() : 0);
+            return BigDecimal.valueOf(healthRecordService.countHealthRecords(dogId));
         } catch (Exception e) {
             log.error("Failed to count health records for {}: {}", dogId, e.getMessage());
             return BigDecimal.ZERO;
@@ -131,25 +310,13 @@ public class UserDashboardService {
 
     private List<HealthHighlight> generateHealthHighlights(String dogId) {
 
-        List<HealthHighlight> healthHighlights = new ArrayList<>();
-
-        healthHighlights.add(constructHealthHighlight("generalHealthHighlight"));
-
-        List<WeightResponse> weights = weightService.getWeights(dogId);
-
-        WeightResponse latestWeight = weights.stream()
+        QuizCategoryStatus latestWeightStatus = weightService.getWeights(dogId, null, 1).items().stream()
                 .filter(w -> w.getDate() != null)
-                .max(Comparator.comparing(WeightResponse::getDate))
+                .findFirst()
+                .map(WeightResponse::getStatus)
                 .orElse(null);
 
-        if (latestWeight.getStatus() != null && latestWeight.getStatus() == QuizCategoryStatus.RED) {
-            healthHighlights.add(constructHealthHighlight("overweightRisk"));
-        }
-
-        return healthHighlights;
-    }
-
-    private HealthHighlight constructHealthHighlight(String highlightType) {
-        return highlightConfig.getMap().get(highlightType);
+        return highlightEngine.resolve(highlightEngine.weightHighlights(latestWeightStatus)
+                .with(HighlightKey.GENERAL_HEALTH_HIGHLIGHT));
     }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.york.doghealthtracker.service;
 import com.york.doghealthtracker.entity.UserEntity;
 import com.york.doghealthtracker.model.*;
 import com.york.doghealthtracker.repository.UserRepository;
+import com.york.doghealthtracker.service.security.DogOwnershipCache;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -25,11 +26,13 @@ public class UserService implements UserDetailsService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserDashboardService userDashboardService;
+    private final DogOwnershipCache dogOwnershipCache;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, UserDashboardService userDashboardService) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, UserDashboardService userDashboardService, DogOwnershipCache dogOwnershipCache) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.userDashboardService = userDashboardService;
+        this.dogOwnershipCache = dogOwnershipCache;
     }
 
     /**
@@ -68,6 +71,7 @@ public class UserService implements UserDetailsService {
     public boolean deleteUser(String userId) {
         if (userRepository.existsById(userId)) {
             userRepository.deleteById(userId);
+            dogOwnershipCache.evictUser(userId);
             return true;
         }
         return false;
@@ -1,12 +1,21 @@
 package com.york.doghealthtracker.service;
 
 import com.york.doghealthtracker.config.DogConfig;
+import com.york.doghealthtracker.config.HistoryPartitionConfig;
+import com.york.doghealthtracker.config.PaginationConfig;
 import com.york.doghealthtracker.entity.DogEntity;
+import com.york.doghealthtracker.entity.DogLatestStatusEntity;
+import com.york.doghealthtracker.entity.LatestStatusCategory;
 import com.york.doghealthtracker.entity.WeightEntity;
 import com.york.doghealthtracker.exception.InvalidDogException;
 import com.york.doghealthtracker.model.*;
 import com.york.doghealthtracker.repository.DogRepository;
 import com.york.doghealthtracker.repository.WeightRepository;
+import com.york.doghealthtracker.repository.projection.WeightView;
+import com.york.doghealthtracker.service.pagination.HistoryCursor;
+import com.york.doghealthtracker.service.highlight.HealthHighlightEngine;
+import com.york.doghealthtracker.service.pagination.HistoryPage;
+import jakarta.transaction.Transactional;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
@@ -27,11 +36,19 @@ public class WeightService {
     private final WeightRepository weightRepository;
     private final DogRepository dogRepository;
     private final DogConfig dogConfig;
+    private final PaginationConfig paginationConfig;
+    private final DogLatestStatusService latestStatusService;
+    private final HealthHighlightEngine highlightEngine;
+    private final HistoryPartitionConfig partitionConfig;
 
-    public WeightService(WeightRepository weightRepository, DogRepository dogRepository, DogConfig dogConfig) {
+    public WeightService(WeightRepository weightRepository, DogRepository dogRepository, DogConfig dogConfig, PaginationConfig paginationConfig, DogLatestStatusService latestStatusService, HealthHighlightEngine highlightEngine, HistoryPartitionConfig partitionConfig) {
         this.weightRepository = weightRepository;
         this.dogRepository = dogRepository;
         this.dogConfig = dogConfig;
+        this.paginationConfig = paginationConfig;
+        this.latestStatusService = latestStatusService;
+        this.highlightEngine = highlightEngine;
+        this.partitionConfig = partitionConfig;
     }
 
     /**
@@ -43,6 +60,7 @@ public class WeightService {
      * error.
      */
     @PreAuthorize("@authorizationService.hasDogOwnership(#dogId)")
+    @Transactional
     public Optional<WeightResponse> addWeight(String dogId, WeightRequest request) {
         return dogRepository.findById(dogId).map(dog -> {
             WeightEntity entity = new WeightEntity();
@@ -50,18 +68,21 @@ public class WeightService {
             entity.setCurrent(request.getCurrent());
             entity.setCreatedTs(LocalDateTime.now());
             WeightEntity saved = weightRepository.save(entity);
+            refreshLatestStatus(dogId);
             return mapToResponse(saved);
         });
     }
 
     /**
-     * Retrieves a list of all weight statuses for a given dog.
+     * Retrieves a page of weight statuses for a given dog, most recent first.
      *
-     * @param dogId The dog id to retrieve a list of weight statuses for.
-     * @return a list of WeightResponse containing all dental statuses for the given dog.
+     * @param dogId  The dog id to retrieve a page of weight statuses for.
+     * @param cursor The token of the requested page, or null for the first page.
+     * @param limit  The requested page size, or null for the default page size.
+     * @return a HistoryPage of WeightResponse containing the weight statuses of the page.
      */
     @PreAuthorize("@authorizationService.hasDogOwnership(#dogId)")
-    public List<WeightResponse> getWeights(String dogId) {
+    public HistoryPage<WeightResponse> getWeights(String dogId, String cursor, Integer limit) {
 
         Optional<DogEntity> dogOpt = dogRepository.findById(dogId);
 
@@ -70,26 +91,29 @@ public class WeightService {
             String breed = dogOpt.get().getBreed();
             Map<String, Float> range = getWeightRangeForBreed(breed);
 
-            List<WeightEntity> weights = weightRepository.findByDogId(dogId);
+            HistoryPage<WeightView> weights = HistoryPage.fetch(cursor, paginationConfig.resolveLimit(limit),
+                    pageLimit -> weightRepository.findHistory(dogId, null, null, pageLimit, partitionConfig.isReadArchive()),
+                    (before, pageLimit) -> weightRepository.findHistory(dogId, before.createdTs(), before.id(), pageLimit,
+                            partitionConfig.isReadArchive()),
+                    weight -> new HistoryCursor(weight.createdTs(), weight.id()));
 
-            if (weights == null || weights.isEmpty()) {
+            if (weights.items().isEmpty() && cursor == null) {
                 WeightResponse response = new WeightResponse()
                         .current(null)
                         .goalWeightRange(mapToGoalWeightRange(range))
                         .status(null)
                         .healthHighlights(Collections.emptyList());
-                return List.of(response);
+                return new HistoryPage<>(List.of(response), null);
             }
 
-            return weights.stream()
+            return weights
                     .map(this::mapToResponse)
                     .map(weightResponse -> weightResponse
                             .goalWeightRange(mapToGoalWeightRange(range))
                             .healthHighlights(addHealthHighlights(dogId))
                     )
                     .map(weightResponse -> weightResponse
-                            .status(calculateWeightStatus(weightResponse)))
-                    .toList();
+                            .status(calculateWeightStatus(weightResponse)));
         } else {
             throw new InvalidDogException("Invalid dog.");
         }
@@ -131,13 +155,27 @@ public class WeightService {
      * @return QuizCategoryStatus of color representing the status of the weight
      */
     private QuizCategoryStatus calculateWeightStatus(WeightResponse weightResponse) {
-
         GoalWeightRange range = weightResponse.getGoalWeightRange();
-        float min = range.getMin();
-        float max = range.getMax();
+        return calculateWeightStatus(range.getMin(), range.getMax(), weightResponse.getCurrent());
+    }
 
-        float currentWeight = weightResponse.getCurrent();
+    /**
+     * Calculates the health status of a given weight against the configured goal weight range of the given breed.
+     *
+     * @param breed         The dog breed to retrieve the goal weight range for.
+     * @param currentWeight The weight to analyze the status for.
+     * @return QuizCategoryStatus of color representing the status of the weight, or null if the breed has no
+     * configured goal weight range.
+     */
+    public QuizCategoryStatus calculateWeightStatus(String breed, float currentWeight) {
+        Map<String, Float> range = getWeightRangeForBreed(breed);
+        if (range == null) {
+            return null;
+        }
+        return calculateWeightStatus(range.getOrDefault("min", 0.0f), range.getOrDefault("max", 0.0f), currentWeight);
+    }
 
+    private QuizCategoryStatus calculateWeightStatus(float min, float max, float currentWeight) {
         float tolerance = 0.05f * (max - min);
         float lowerBound = min - tolerance;
         float upperBound = max + tolerance;
@@ -159,13 +197,52 @@ public class WeightService {
     }
 
     /**
-     * Retrieves the most recent weight entity from the database.
+     * Retrieves the most recent weight from the database.
      *
-     * @return Optional of WeightEntity representing the most recent weight added, or empty optional if no such value is
+     * @return Optional of WeightView representing the most recent weight added, or empty optional if no such value is
      * present.
      */
-    public Optional<WeightEntity> getCurrentWeightEntity(String dogId) {
-        return weightRepository.findTopByDog_IdOrderByCreatedTsDesc(dogId);
+    public Optional<WeightView> getCurrentWeight(String dogId) {
+        return weightRepository.findLatest(dogId, partitionConfig.isReadArchive());
+    }
+
+    /**
+     * Recalculates the latest weight status of a given dog, and saves it in the dog_latest_status projection under the
+     * lock of the dog. Used by the writes which change the weight status.
+     *
+     * @param dogId The dog id to recalculate the latest weight status for.
+     * @return an Optional of the saved DogLatestStatusEntity, or an empty Optional if there is no such dog.
+     */
+    @Transactional
+    public Optional<DogLatestStatusEntity> refreshLatestStatus(String dogId) {
+        if (!latestStatusService.lockDog(dogId)) {
+            return Optional.empty();
+        }
+        return Optional.of(latestStatusService.save(calculateLatestStatus(dogId)));
+    }
+
+    /**
+     * Calculates the latest weight status of a given dog from its most recent weight, without saving it. Only the most
+     * recent weight and the weight count are read, both through the (dog, created) index.
+     *
+     * @param dogId The dog id to calculate the latest weight status for.
+     * @return the calculated DogLatestStatusEntity.
+     */
+    public DogLatestStatusEntity calculateLatestStatus(String dogId) {
+        String breed = dogRepository.findById(dogId).map(DogEntity::getBreed).orElse(null);
+        WeightView latest = weightRepository.findLatest(dogId, partitionConfig.isReadArchive()).orElse(null);
+        QuizCategoryStatus status = latest != null && latest.current() != null
+                ? calculateWeightStatus(breed, latest.current())
+                : null;
+
+        return DogLatestStatusService.calculated(dogId, LatestStatusCategory.WEIGHT, DogLatestStatusEntity.builder()
+                .recordId(latest != null ? latest.id() : null)
+                .measurement(latest != null ? latest.current() : null)
+                .status(status)
+                .highlightKeys(highlightEngine.weightHighlights(status).toStoredKeys())
+                .recordCount(weightRepository.countHistory(dogId, partitionConfig.isReadArchive()))
+                .recordedTs(latest != null ? latest.createdTs() : null)
+                .build());
     }
 
     /**
@@ -175,23 +252,40 @@ public class WeightService {
      * @param weightId The weight status to delete.
      * @return true if weight status was deleted successfully, false otherwise.
      */
-    @PreAuthorize("@authorizationService.hasDogOwnership(#dogId) && @authorizationService.hasDentalStatusOwnership(#dogId, #dentalId)")
-    public void deleteWeight(String weightId) {
-        weightRepository.deleteById(weightId);
+    @PreAuthorize("@authorizationService.hasDogOwnership(#dogId)")
+    @Transactional
+    public boolean deleteWeight(String dogId, String weightId) {
+        return weightRepository.findById(weightId)
+                .filter(e -> e.getDog() != null && dogId.equals(e.getDog().getId()))
+                .map(e -> {
+                    weightRepository.delete(e);
+                    refreshLatestStatus(dogId);
+                    return true;
+                }).orElse(false);
     }
 
     /**
-     * Maps the WeightEntity object to a WeightResponse object containing the dental status information.
+     * Maps the WeightEntity object to a WeightResponse object containing the weight information.
      *
      * @param entity The WeightEntity object to map to WeightResponse.
      * @return WeightResponse object.
      */
-    private WeightResponse mapToResponse(WeightEntity entity) {
+    WeightResponse mapToResponse(WeightEntity entity) {
+        return mapToResponse(WeightView.of(entity));
+    }
+
+    /**
+     * Maps the WeightView projection to a WeightResponse object containing the weight information.
+     *
+     * @param weight The WeightView projection to map to WeightResponse.
+     * @return WeightResponse object.
+     */
+    WeightResponse mapToResponse(WeightView weight) {
 
         WeightResponse resp = new WeightResponse();
-        resp.setId(entity.getId());
-        resp.setCurrent(entity.getCurrent());
-        resp.setDate(entity.getCreatedTs().atOffset(ZoneOffset.UTC));
+        resp.setId(weight.id());
+        resp.setCurrent(weight.current());
+        resp.setDate(weight.createdTs().atOffset(ZoneOffset.UTC));
         return resp;
     }
 }
\ No newline at end of file
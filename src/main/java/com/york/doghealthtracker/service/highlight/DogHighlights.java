@@ -0,0 +1,23 @@
+package com.york.doghealthtracker.service.highlight;
+
+import com.york.doghealthtracker.model.HealthHighlight;
+
+import java.util.List;
+
+/**
+ * The health highlights of all categories of a dog, as evaluated by HealthHighlightEngine. All lists are unmodifiable.
+ *
+ * @param dashboard The highlights shown on the dashboard.
+ * @param weight    The weight highlights.
+ * @param dental    The dental highlights.
+ * @param heart     The highlights of the latest heart record.
+ * @param hormones  The hormone highlights.
+ * @param mobility  The mobility highlights.
+ */
+public record DogHighlights(List<HealthHighlight> dashboard,
+                            List<HealthHighlight> weight,
+                            List<HealthHighlight> dental,
+                            List<HealthHighlight> heart,
+                            List<HealthHighlight> hormones,
+                            List<HealthHighlight> mobility) {
+}
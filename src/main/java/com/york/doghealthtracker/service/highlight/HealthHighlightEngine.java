@@ -0,0 +1,251 @@
+package com.york.doghealthtracker.service.highlight;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.york.doghealthtracker.config.HighlightConfig;
+import com.york.doghealthtracker.entity.DogLatestStatusEntity;
+import com.york.doghealthtracker.entity.LatestStatusCategory;
+import com.york.doghealthtracker.model.HealthHighlight;
+import com.york.doghealthtracker.model.PlaqueStatus;
+import com.york.doghealthtracker.model.QuizCategoryStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Rule engine producing the health highlights of a dog.
+ * The engine is compiled once at startup from highlights.map: every HighlightKey is resolved to a single shared
+ * HealthHighlight instance, failing the startup if an entry is missing, and the hormone and mobility rules, which only
+ * depend on three statuses, are evaluated upfront for every combination of statuses. Highlight lists are interned per
+ * HighlightSet, so equal results share one unmodifiable list. The shared instances must not be modified.
+ * The highlights of all categories of a dog are evaluated in one pass over its latest statuses, and cached per dog
+ * until one of its latest statuses changes. The heart rules are evaluated per heart record by HeartEvaluator.
+ */
+@Component
+public class HealthHighlightEngine {
+
+    private static final List<QuizCategoryStatus> STATUSES = Arrays.asList(
+            null, QuizCategoryStatus.GREEN, QuizCategoryStatus.YELLOW, QuizCategoryStatus.RED);
+
+    private final Map<HighlightKey, HealthHighlight> highlights = new EnumMap<>(HighlightKey.class);
+    private final ConcurrentMap<HighlightSet, List<HealthHighlight>> internedLists = new ConcurrentHashMap<>();
+    private final List<List<HealthHighlight>> hormoneTable;
+    private final List<List<HealthHighlight>> mobilityTable;
+    private final Cache<String, CachedHighlights> dogHighlights;
+
+    public HealthHighlightEngine(HighlightConfig highlightConfig,
+                                 @Value("${app.highlights.cache.max-size}") long cacheMaxSize,
+                                 MeterRegistry meterRegistry) {
+        for (HighlightKey key : HighlightKey.values()) {
+            HealthHighlight configured = highlightConfig.getMap().get(key.getConfigKey());
+            if (configured == null) {
+                throw new IllegalStateException("Missing health highlight in highlights.map: " + key.getConfigKey());
+            }
+            highlights.put(key, new HealthHighlight()
+                    .title(configured.getTitle())
+                    .description(configured.getDescription())
+                    .advice(configured.getAdvice()));
+        }
+
+        this.hormoneTable = compileStatusTable(
+                HighlightKey.THYROID_HIGH_RISK, HighlightKey.THYROID_MID_RISK,
+                HighlightKey.ADRENAL_HIGH_RISK, HighlightKey.ADRENAL_MID_RISK,
+                HighlightKey.PANCREATIC_HIGH_RISK, HighlightKey.PANCREATIC_MID_RISK,
+                HighlightKey.HORMONE_DEFAULT);
+        this.mobilityTable = compileStatusTable(
+                HighlightKey.LUXATION_HIGH_RISK, HighlightKey.LUXATION_MID_RISK,
+                HighlightKey.DYSPLASIA_HIGH_RISK, HighlightKey.DYSPLASIA_MID_RISK,
+                HighlightKey.ARTHRITIS_HIGH_RISK, HighlightKey.ARTHRITIS_MID_RISK,
+                HighlightKey.MOBILITY_DEFAULT);
+
+        this.dogHighlights = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, dogHighlights, "dogHighlights");
+    }
+
+    /**
+     * Evaluates the rule of a category whose highlights only depend on three quiz statuses for every combination of
+     * statuses: no highlights unless all three statuses are known, a high or mid risk highlight for every RED or YELLOW
+     * status, and the default highlight if none of them applies.
+     */
+    private List<List<HealthHighlight>> compileStatusTable(HighlightKey firstHigh, HighlightKey firstMid,
+                                                           HighlightKey secondHigh, HighlightKey secondMid,
+                                                           HighlightKey thirdHigh, HighlightKey thirdMid,
+                                                           HighlightKey defaultKey) {
+        List<List<HealthHighlight>> table = new ArrayList<>(STATUSES.size() * STATUSES.size() * STATUSES.size());
+        for (QuizCategoryStatus first : STATUSES) {
+            for (QuizCategoryStatus second : STATUSES) {
+                for (QuizCategoryStatus third : STATUSES) {
+                    HighlightSet set = HighlightSet.EMPTY;
+                    if (first != null && second != null && third != null) {
+                        set = withRisk(set, first, firstHigh, firstMid);
+                        set = withRisk(set, second, secondHigh, secondMid);
+                        set = withRisk(set, third, thirdHigh, thirdMid);
+                        if (set.isEmpty()) {
+                            set = set.with(defaultKey);
+                        }
+                    }
+                    table.add(resolve(set));
+                }
+            }
+        }
+        return table;
+    }
+
+    private HighlightSet withRisk(HighlightSet set, QuizCategoryStatus status, HighlightKey high, HighlightKey mid) {
+        return switch (status) {
+            case RED -> set.with(high);
+            case YELLOW -> set.with(mid);
+            default -> set;
+        };
+    }
+
+    private static int statusTableIndex(QuizCategoryStatus first, QuizCategoryStatus second, QuizCategoryStatus third) {
+        int size = STATUSES.size();
+        return (STATUSES.indexOf(first) * size + STATUSES.indexOf(second)) * size + STATUSES.indexOf(third);
+    }
+
+    /**
+     * Resolves a set of highlight keys to the shared, unmodifiable list of their health highlights.
+     *
+     * @param set The highlight keys to resolve.
+     * @return an unmodifiable list of HealthHighlight, in HighlightKey declaration order.
+     */
+    public List<HealthHighlight> resolve(HighlightSet set) {
+        return internedLists.computeIfAbsent(set, keys -> Arrays.stream(HighlightKey.values())
+                .filter(keys::contains)
+                .map(highlights::get)
+                .toList());
+    }
+
+    /**
+     * @return the hormone highlights of the given hormone statuses, empty unless all of them are known.
+     */
+    public List<HealthHighlight> hormoneHighlights(QuizCategoryStatus thyroid, QuizCategoryStatus adrenal, QuizCategoryStatus pancreatic) {
+        return hormoneTable.get(statusTableIndex(thyroid, adrenal, pancreatic));
+    }
+
+    /**
+     * @return the mobility highlights of the given mobility statuses, empty unless all of them are known.
+     */
+    public List<HealthHighlight> mobilityHighlights(QuizCategoryStatus patellarLuxation, QuizCategoryStatus hipDysplasia, QuizCategoryStatus arthritis) {
+        return mobilityTable.get(statusTableIndex(patellarLuxation, hipDysplasia, arthritis));
+    }
+
+    /**
+     * @param status The status of the latest weight, or null if there is none.
+     * @return the weight highlights of the given weight status.
+     */
+    public HighlightSet weightHighlights(QuizCategoryStatus status) {
+        return status == QuizCategoryStatus.RED
+                ? HighlightSet.EMPTY.with(HighlightKey.OVERWEIGHT_RISK)
+                : HighlightSet.EMPTY;
+    }
+
+    /**
+     * Evaluates the dental rules.
+     *
+     * @param hasToothLoss     Whether any dental status of the dog recorded tooth loss.
+     * @param lastCleaningDate The last cleaning date of the latest dental status, or null.
+     * @param plaqueStatus     The plaque status of the latest dental status, or null.
+     * @return the dental highlights, never empty.
+     */
+    public HighlightSet dentalHighlights(boolean hasToothLoss, LocalDate lastCleaningDate, PlaqueStatus plaqueStatus) {
+        HighlightSet set = HighlightSet.EMPTY;
+
+        if (hasToothLoss) {
+            set = set.with(HighlightKey.TOOTH_LOSS);
+        }
+
+        if (lastCleaningDate != null && lastCleaningDate.isBefore(LocalDate.now().minusMonths(12))) {
+            set = set.with(HighlightKey.OVERDUE_CLEANING);
+        }
+
+        if (plaqueStatus == PlaqueStatus.HI || plaqueStatus == PlaqueStatus.NORM) {
+            set = set.with(HighlightKey.HIGH_PLAQUE);
+        }
+
+        return set.isEmpty() ? set.with(HighlightKey.DENTAL_DEFAULT) : set;
+    }
+
+    /**
+     * Evaluates the highlights of all categories of a dog in one pass over its latest statuses. The result is cached
+     * per dog, and reused as long as none of the latest statuses of the dog has changed.
+     *
+     * @param dogId    The id of the dog.
+     * @param statuses The latest statuses of the dog, by category.
+     * @return the DogHighlights of the dog.
+     */
+    public DogHighlights evaluate(String dogId, Map<LatestStatusCategory, DogLatestStatusEntity> statuses) {
+        DogVersion version = DogVersion.of(statuses.values());
+        CachedHighlights cached = dogHighlights.getIfPresent(dogId);
+        if (cached != null && cached.version().equals(version)) {
+            return cached.highlights();
+        }
+
+        DogHighlights evaluated = evaluate(statuses);
+        dogHighlights.put(dogId, new CachedHighlights(version, evaluated));
+        return evaluated;
+    }
+
+    private DogHighlights evaluate(Map<LatestStatusCategory, DogLatestStatusEntity> statuses) {
+        QuizCategoryStatus[] quizStatuses = new QuizCategoryStatus[LatestStatusCategory.values().length];
+        HighlightSet weight = HighlightSet.EMPTY;
+        HighlightSet dental = HighlightSet.EMPTY;
+        HighlightSet heart = HighlightSet.EMPTY;
+
+        for (DogLatestStatusEntity status : statuses.values()) {
+            LatestStatusCategory category = status.getId().getCategory();
+            switch (category) {
+                case WEIGHT -> weight = HighlightSet.fromStoredKeys(status.getHighlightKeys());
+                case DENTAL -> dental = HighlightSet.fromStoredKeys(status.getHighlightKeys());
+                case HEART -> heart = HighlightSet.fromStoredKeys(status.getHighlightKeys());
+                case HEALTH_RECORD -> {}
+                default -> quizStatuses[category.ordinal()] = status.getStatus();
+            }
+        }
+
+        return new DogHighlights(
+                resolve(weight.with(HighlightKey.GENERAL_HEALTH_HIGHLIGHT)),
+                resolve(weight),
+                resolve(dental),
+                resolve(heart),
+                hormoneHighlights(
+                        quizStatuses[LatestStatusCategory.THYROID.ordinal()],
+                        quizStatuses[LatestStatusCategory.ADRENAL.ordinal()],
+                        quizStatuses[LatestStatusCategory.PANCREATIC.ordinal()]),
+                mobilityHighlights(
+                        quizStatuses[LatestStatusCategory.LUXATION.ordinal()],
+                        quizStatuses[LatestStatusCategory.DYSPLASIA.ordinal()],
+                        quizStatuses[LatestStatusCategory.ARTHRITIS.ordinal()]));
+    }
+
+    /**
+     * Identifies the state of the latest statuses of a dog: every change of a latest status updates its timestamp.
+     */
+    private record DogVersion(int statusCount, long lastUpdate) {
+
+        static DogVersion of(Collection<DogLatestStatusEntity> statuses) {
+            long lastUpdate = Long.MIN_VALUE;
+            for (DogLatestStatusEntity status : statuses) {
+                LocalDateTime updatedTs = status.getUpdatedTs();
+                long nanos = updatedTs.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + updatedTs.getNano();
+                lastUpdate = Math.max(lastUpdate, nanos);
+            }
+            return new DogVersion(statuses.size(), lastUpdate);
+        }
+    }
+
+    private record CachedHighlights(DogVersion version, DogHighlights highlights) {
+    }
+}
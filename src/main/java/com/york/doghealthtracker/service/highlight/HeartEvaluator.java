@@ -0,0 +1,169 @@
+package com.york.doghealthtracker.service.highlight;
+
+import com.york.doghealthtracker.entity.HeartEntity;
+import com.york.doghealthtracker.model.MurmurStatus;
+import com.york.doghealthtracker.model.QuizCategoryStatus;
+import com.york.doghealthtracker.repository.projection.HeartView;
+
+import java.time.LocalDate;
+
+/**
+ * Evaluates the status and the health highlights of heart records in a single pass over their fields.
+ * The fields are read straight from HeartEntity or HeartView, and the highlights are accumulated into one bit mask, so
+ * the evaluation of a record allocates nothing beyond its HeartEvaluation. The evaluator is bound to the date it
+ * evaluates on, and can be reused for any number of records evaluated on that date.
+ */
+public final class HeartEvaluator {
+
+    private static final long FATIGUE_DETECTED = HighlightKey.FATIGUE_DETECTED.bit();
+    private static final long COUGHING_DETECTED = HighlightKey.COUGHING_DETECTED.bit();
+    private static final long MURMUR_MID_RISK = HighlightKey.MURMUR_MID_RISK.bit();
+    private static final long MURMUR_HIGH_RISK = HighlightKey.MURMUR_HIGH_RISK.bit();
+    private static final long ABNORMAL_HEART_RATE = HighlightKey.ABNORMAL_HEART_RATE.bit();
+    private static final long ABNORMAL_BREATHING_RATE = HighlightKey.ABNORMAL_BREATHING_RATE.bit();
+    private static final long DIROFILARIA_DUE = HighlightKey.DIROFILARIA_DUE.bit();
+    private static final long DIROFILARIA_UNKNOWN = HighlightKey.DIROFILARIA_UNKNOWN.bit();
+    private static final long HEART_HIGH_RISK = HighlightKey.HEART_HIGH_RISK.bit();
+    private static final long HEART_MID_RISK = HighlightKey.HEART_MID_RISK.bit();
+    private static final long HEART_HEALTHY = HighlightKey.HEART_HEALTHY.bit();
+
+    private static final int MIN_HEART_RATE = 60;
+    private static final int MAX_HEART_RATE = 120;
+    private static final int MIN_BREATHING_RATE = 10;
+    private static final int MAX_BREATHING_RATE = 35;
+
+    private final LocalDate preventionDueFrom;
+
+    private HeartEvaluator(LocalDate today) {
+        this.preventionDueFrom = today.minusMonths(1);
+    }
+
+    /**
+     * @param today The date to evaluate the records on.
+     * @return a HeartEvaluator evaluating records on the given date.
+     */
+    public static HeartEvaluator on(LocalDate today) {
+        return new HeartEvaluator(today);
+    }
+
+    /**
+     * @param heart The heart record to evaluate.
+     * @return the HeartEvaluation of the record.
+     */
+    public HeartEvaluation evaluate(HeartEntity heart) {
+        return evaluate(heart.getHasFatigue(), heart.getIsCoughing(), heart.getMurmursStatus(),
+                heart.getHeartRate(), heart.getBreathingRate(), heart.getLastDirofilariaLastPrevention());
+    }
+
+    /**
+     * @param heart The projection of the heart record to evaluate.
+     * @return the HeartEvaluation of the record.
+     */
+    public HeartEvaluation evaluate(HeartView heart) {
+        return evaluate(heart.fatigue(), heart.coughing(), heart.murmurStatus(),
+                heart.heartRate(), heart.breathingRate(), heart.lastPrevention());
+    }
+
+    /**
+     * Calculates the status and the highlights of a heart record. Every known metric counts towards the status: the
+     * record is GREEN if at least 75 percent of its known metrics are healthy, YELLOW if at least 40 percent are or if
+     * no metric is known, and RED otherwise. Every unhealthy metric and the dirofilaria prevention add a highlight,
+     * and the status adds its overall heart highlight.
+     *
+     * @param fatigue        Whether the dog shows fatigue, or null if unknown.
+     * @param coughing       Whether the dog is coughing, or null if unknown.
+     * @param murmur         The murmur grade, or null if unknown.
+     * @param heartRate      The heart rate in beats per minute, or null if unknown.
+     * @param breathingRate  The breathing rate in breaths per minute, or null if unknown.
+     * @param lastPrevention The date of the last dirofilaria prevention, or null if unknown.
+     * @return the HeartEvaluation of the record.
+     */
+    public HeartEvaluation evaluate(Boolean fatigue, Boolean coughing, MurmurStatus murmur,
+                                    Integer heartRate, Integer breathingRate, LocalDate lastPrevention) {
+        int totalMetrics = 0;
+        int healthyCount = 0;
+        long bits = 0L;
+
+        if (fatigue != null) {
+            totalMetrics++;
+            if (fatigue) {
+                bits |= FATIGUE_DETECTED;
+            } else {
+                healthyCount++;
+            }
+        }
+
+        if (coughing != null) {
+            totalMetrics++;
+            if (coughing) {
+                bits |= COUGHING_DETECTED;
+            } else {
+                healthyCount++;
+            }
+        }
+
+        if (murmur != null) {
+            totalMetrics++;
+            switch (murmur) {
+                case NONE, GRADE_I -> healthyCount++;
+                case GRADE_II, GRADE_III -> bits |= MURMUR_MID_RISK;
+                case GRADE_IV, GRADE_V, GRADE_VI -> bits |= MURMUR_HIGH_RISK;
+            }
+        }
+
+        if (heartRate != null) {
+            totalMetrics++;
+            int hr = heartRate;
+            if (hr >= MIN_HEART_RATE && hr <= MAX_HEART_RATE) {
+                healthyCount++;
+            } else {
+                bits |= ABNORMAL_HEART_RATE;
+            }
+        }
+
+        if (breathingRate != null) {
+            totalMetrics++;
+            int br = breathingRate;
+            if (br >= MIN_BREATHING_RATE && br <= MAX_BREATHING_RATE) {
+                healthyCount++;
+            } else {
+                bits |= ABNORMAL_BREATHING_RATE;
+            }
+        }
+
+        if (lastPrevention == null) {
+            bits |= DIROFILARIA_UNKNOWN;
+        } else if (!lastPrevention.isAfter(preventionDueFrom)) {
+            bits |= DIROFILARIA_DUE;
+        }
+
+        // healthyCount / totalMetrics >= 0.75 and >= 0.40, without the division
+        QuizCategoryStatus status;
+        if (totalMetrics == 0) {
+            status = QuizCategoryStatus.YELLOW;
+        } else if (healthyCount * 4 >= totalMetrics * 3) {
+            status = QuizCategoryStatus.GREEN;
+        } else if (healthyCount * 5 >= totalMetrics * 2) {
+            status = QuizCategoryStatus.YELLOW;
+        } else {
+            status = QuizCategoryStatus.RED;
+        }
+
+        bits |= switch (status) {
+            case RED -> HEART_HIGH_RISK;
+            case YELLOW -> HEART_MID_RISK;
+            case GREEN -> HEART_HEALTHY;
+        };
+
+        return new HeartEvaluation(status, new HighlightSet(bits));
+    }
+
+    /**
+     * The result of the evaluation of a heart record.
+     *
+     * @param status     The status of the record.
+     * @param highlights The highlights of the record.
+     */
+    public record HeartEvaluation(QuizCategoryStatus status, HighlightSet highlights) {
+    }
+}
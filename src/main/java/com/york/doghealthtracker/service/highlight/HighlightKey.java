@@ -0,0 +1,86 @@
+package com.york.doghealthtracker.service.highlight;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The health highlights the HealthHighlightEngine rules can produce, each bound to its entry in highlights.map.
+ * Within a category, the declaration order is the order in which highlights are returned.
+ */
+public enum HighlightKey {
+    GENERAL_HEALTH_HIGHLIGHT("generalHealthHighlight"),
+    OVERWEIGHT_RISK("overweightRisk"),
+
+    THYROID_HIGH_RISK("thyroidHighRisk"),
+    THYROID_MID_RISK("thyroidMidRisk"),
+    ADRENAL_HIGH_RISK("adrenalHighRisk"),
+    ADRENAL_MID_RISK("adrenalMidRisk"),
+    PANCREATIC_HIGH_RISK("pancreaticHighRisk"),
+    PANCREATIC_MID_RISK("pancreaticMidRisk"),
+    HORMONE_DEFAULT("hormoneDefault"),
+
+    LUXATION_HIGH_RISK("luxationHighRisk"),
+    LUXATION_MID_RISK("luxationMidRisk"),
+    DYSPLASIA_HIGH_RISK("dysplasiaHighRisk"),
+    DYSPLASIA_MID_RISK("dysplasiaMidRisk"),
+    ARTHRITIS_HIGH_RISK("arthritisHighRisk"),
+    ARTHRITIS_MID_RISK("arthritisMidRisk"),
+    MOBILITY_DEFAULT("mobilityDefault"),
+
+    TOOTH_LOSS("toothLoss"),
+    OVERDUE_CLEANING("overdueCleaning"),
+    HIGH_PLAQUE("highPlaque"),
+    DENTAL_DEFAULT("dentalDefault"),
+
+    FATIGUE_DETECTED("fatigueDetected"),
+    COUGHING_DETECTED("coughingDetected"),
+    MURMUR_MID_RISK("murmurMidRisk"),
+    MURMUR_HIGH_RISK("murmurHighRisk"),
+    ABNORMAL_HEART_RATE("abnormalHeartRate"),
+    ABNORMAL_BREATHING_RATE("abnormalBreathingRate"),
+    DIROFILARIA_DUE("dirofilariaDue"),
+    DIROFILARIA_UNKNOWN("dirofilariaUnknown"),
+    HEART_HIGH_RISK("heartHighRisk"),
+    HEART_MID_RISK("heartMidRisk"),
+    HEART_HEALTHY("heartHealthy");
+
+    private static final Map<String, HighlightKey> BY_CONFIG_KEY = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(HighlightKey::getConfigKey, Function.identity()));
+
+    private final String configKey;
+
+    HighlightKey(String configKey) {
+        this.configKey = configKey;
+    }
+
+    /**
+     * @return The key of the highlight in highlights.map.
+     */
+    public String getConfigKey() {
+        return configKey;
+    }
+
+    /**
+     * @return The bit of the highlight in a HighlightSet.
+     */
+    long bit() {
+        return 1L << ordinal();
+    }
+
+    /**
+     * Resolves a key of highlights.map to its HighlightKey.
+     *
+     * @param configKey The key in highlights.map.
+     * @return The HighlightKey.
+     * @throws IllegalArgumentException if there is no such highlight.
+     */
+    public static HighlightKey fromConfigKey(String configKey) {
+        HighlightKey key = BY_CONFIG_KEY.get(configKey);
+        if (key == null) {
+            throw new IllegalArgumentException("Unknown health highlight: " + configKey);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,61 @@
+package com.york.doghealthtracker.service.highlight;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * An immutable set of HighlightKey values, held as a bit mask over their ordinals.
+ *
+ * @param bits The bit mask of the keys in the set.
+ */
+public record HighlightSet(long bits) {
+
+    public static final HighlightSet EMPTY = new HighlightSet(0L);
+
+    private static final String STORED_KEY_SEPARATOR = ",";
+
+    public HighlightSet with(HighlightKey key) {
+        return new HighlightSet(bits | key.bit());
+    }
+
+    public boolean contains(HighlightKey key) {
+        return (bits & key.bit()) != 0;
+    }
+
+    public boolean isEmpty() {
+        return bits == 0L;
+    }
+
+    /**
+     * Formats the set in the form it is stored in dog_latest_status: the highlights.map keys, comma separated.
+     *
+     * @return the stored form of the set, or null if the set is empty.
+     */
+    public String toStoredKeys() {
+        if (isEmpty()) {
+            return null;
+        }
+        return Arrays.stream(HighlightKey.values())
+                .filter(this::contains)
+                .map(HighlightKey::getConfigKey)
+                .collect(Collectors.joining(STORED_KEY_SEPARATOR));
+    }
+
+    /**
+     * Parses a set formatted by toStoredKeys.
+     *
+     * @param storedKeys The stored form of the set, may be null or empty.
+     * @return the parsed HighlightSet.
+     * @throws IllegalArgumentException if a key is not a known highlight.
+     */
+    public static HighlightSet fromStoredKeys(String storedKeys) {
+        if (storedKeys == null || storedKeys.isEmpty()) {
+            return EMPTY;
+        }
+        long bits = 0L;
+        for (String key : storedKeys.split(STORED_KEY_SEPARATOR)) {
+            bits |= HighlightKey.fromConfigKey(key).bit();
+        }
+        return new HighlightSet(bits);
+    }
+}
@@ -0,0 +1,48 @@
+package com.york.doghealthtracker.service.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a dog's history, ordered by creation time and id, both descending. A page continues with the records
+ * strictly older than the cursor, so records added while a client is paging do not shift the following pages.
+ *
+ * @param createdTs The creation time of the last record of the previous page.
+ * @param id        The id of the last record of the previous page, breaking ties between equal creation times.
+ */
+public record HistoryCursor(LocalDateTime createdTs, String id) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Encodes the cursor into the opaque token returned to clients.
+     *
+     * @return URL safe token of the cursor.
+     */
+    public String encode() {
+        String value = createdTs.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token created by encode.
+     *
+     * @param token The token to decode.
+     * @return The decoded HistoryCursor.
+     * @throws IllegalArgumentException if the token is not a valid cursor.
+     */
+    public static HistoryCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor.");
+            }
+            return new HistoryCursor(LocalDateTime.parse(value.substring(0, separator)), value.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor.", e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.york.doghealthtracker.service.pagination;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A page of a dog's history.
+ *
+ * @param items      The records of the page, most recent first.
+ * @param nextCursor The token of the next page, or null if there are no older records.
+ */
+public record HistoryPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * Response header carrying the token of the next page.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Fetches a page of a dog's history.
+     *
+     * @param cursor    The token of the requested page, or null for the first page.
+     * @param limit     The page size.
+     * @param firstPage Function fetching the most recent rows up to a limit.
+     * @param nextPage  Function fetching the rows older than a cursor up to a limit.
+     * @param cursorOf  Function creating the cursor of a row.
+     * @return HistoryPage with at most limit items.
+     * @throws IllegalArgumentException if the cursor is not valid.
+     */
+    public static <T> HistoryPage<T> fetch(String cursor,
+                                           int limit,
+                                           Function<Limit, List<T>> firstPage,
+                                           BiFunction<HistoryCursor, Limit, List<T>> nextPage,
+                                           Function<T, HistoryCursor> cursorOf) {
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<T> rows = cursor == null
+                ? firstPage.apply(fetchLimit)
+                : nextPage.apply(HistoryCursor.decode(cursor), fetchLimit);
+        return of(rows, limit, cursorOf);
+    }
+
+    /**
+     * Creates a page from rows fetched with a limit of one more than the page size. The extra row only signals that
+     * there is a next page and is not part of the page.
+     *
+     * @param rows     The fetched rows, at most limit + 1.
+     * @param limit    The page size.
+     * @param cursorOf Function creating the cursor of a row.
+     * @return HistoryPage with at most limit items.
+     */
+    public static <T> HistoryPage<T> of(List<T> rows, int limit, Function<T, HistoryCursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return new HistoryPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new HistoryPage<>(items, cursorOf.apply(items.get(limit - 1)).encode());
+    }
+
+    public <R> HistoryPage<R> map(Function<T, R> mapper) {
+        return new HistoryPage<>(items.stream().map(mapper).toList(), nextCursor);
+    }
+
+    /**
+     * @return a 200 OK response builder carrying the NEXT_CURSOR_HEADER if there is a next page.
+     */
+    public ResponseEntity.BodyBuilder okResponse() {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (nextCursor != null) {
+            builder.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return builder;
+    }
+}
@@ -1,6 +1,5 @@
 package com.york.doghealthtracker.service.security;
 
-import com.york.doghealthtracker.entity.UserEntity;
 import com.york.doghealthtracker.exception.AccessDeniedException;
 import com.york.doghealthtracker.repository.DentalRepository;
 import com.york.doghealthtracker.repository.DogRepository;
@@ -10,6 +9,8 @@ import org.springframework.stereotype.Service;
 
 /**
  * Centralizes authorization logic for resource access.
+ * Ownership decisions are memoized per request through RequestAuthorizationCache, and dog ownership decisions are
+ * additionally cached across requests through DogOwnershipCache.
  */
 @Service("authorizationService")
 public class AuthorizationService {
@@ -19,13 +20,17 @@ public class AuthorizationService {
     private final DentalRepository dentalRepository;
     private final HeartRepository heartRepository;
     private final UserContextService userContextService;
+    private final RequestAuthorizationCache requestAuthorizationCache;
+    private final DogOwnershipCache dogOwnershipCache;
 
-    public AuthorizationService(DogRepository dogRepository, HealthRecordRepository healthRecordRepository, DentalRepository dentalRepository, HeartRepository heartRepository, UserContextService userContextService) {
+    public AuthorizationService(DogRepository dogRepository, HealthRecordRepository healthRecordRepository, DentalRepository dentalRepository, HeartRepository heartRepository, UserContextService userContextService, RequestAuthorizationCache requestAuthorizationCache, DogOwnershipCache dogOwnershipCache) {
         this.dogRepository = dogRepository;
         this.healthRecordRepository = healthRecordRepository;
         this.dentalRepository = dentalRepository;
         this.heartRepository = heartRepository;
         this.userContextService = userContextService;
+        this.requestAuthorizationCache = requestAuthorizationCache;
+        this.dogOwnershipCache = dogOwnershipCache;
     }
 
     /**
@@ -35,12 +40,14 @@ public class AuthorizationService {
      * @throws AccessDeniedException if dog does not belong to the user in context.
      */
     public void hasDogOwnership(String dogId) {
-        UserEntity userInContext = userContextService.getUserInContext();
-        boolean ownsDog = dogRepository.existsByIdAndOwner_Id(dogId, userInContext.getId());
+        String userId = userContextService.getUserIdInContext();
+        boolean ownsDog = requestAuthorizationCache.get("dog:" + userId + ":" + dogId,
+                () -> dogOwnershipCache.isOwner(userId, dogId,
+                        () -> dogRepository.existsByIdAndOwner_Id(dogId, userId)));
 
         if (!ownsDog) {
             throw new AccessDeniedException(
-                    String.format("Unauthorized access. User %s does not have ownership of dog %s", userInContext.getId(), dogId)
+                    String.format("Unauthorized access. User %s does not have ownership of dog %s", userId, dogId)
             );
         }
     }
@@ -53,7 +60,8 @@ public class AuthorizationService {
      * @throws AccessDeniedException if dental status does not belong to the dog.
      */
     public void hasDentalStatusOwnership(String dogId, String dentalStatusId) {
-        boolean ownsDentalStatus = dentalRepository.existsByIdAndDog_Id(dentalStatusId, dogId);
+        boolean ownsDentalStatus = requestAuthorizationCache.get("dental:" + dogId + ":" + dentalStatusId,
+                () -> dentalRepository.existsByIdAndDog_Id(dentalStatusId, dogId));
 
         if (!ownsDentalStatus) {
             throw new AccessDeniedException(
@@ -70,7 +78,8 @@ public class AuthorizationService {
      * @throws AccessDeniedException if health record does not belong to the dog.
      */
     public void hasHealthRecordOwnership(String dogId, String healthRecordId) {
-        boolean ownsHealthRecord = healthRecordRepository.existsByIdAndDog_Id(healthRecordId, dogId);
+        boolean ownsHealthRecord = requestAuthorizationCache.get("healthRecord:" + dogId + ":" + healthRecordId,
+                () -> healthRecordRepository.existsByIdAndDog_Id(healthRecordId, dogId));
 
         if (!ownsHealthRecord) {
             throw new AccessDeniedException(
@@ -87,7 +96,8 @@ public class AuthorizationService {
      * @throws AccessDeniedException if heart record does not belong to the dog.
      */
     public void hasHeartRecordOwnership(String dogId, String heartId) {
-        boolean ownsHealthRecord = heartRepository.existsByIdAndDog_Id(heartId, dogId);
+        boolean ownsHealthRecord = requestAuthorizationCache.get("heart:" + dogId + ":" + heartId,
+                () -> heartRepository.existsByIdAndDog_Id(heartId, dogId));
 
         if (!ownsHealthRecord) {
             throw new AccessDeniedException(
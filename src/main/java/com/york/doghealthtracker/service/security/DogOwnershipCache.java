@@ -0,0 +1,66 @@
+package com.york.doghealthtracker.service.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, time-expiring cache of dog ownership decisions, shared across requests.
+ * Entries are evicted by the services that change dog ownership (dog creation and update, user deletion).
+ * Size and time to live are configured through app.authorization.ownership-cache in application.yml.
+ */
+@Component
+public class DogOwnershipCache {
+
+    private final Cache<OwnershipKey, Boolean> cache;
+
+    public DogOwnershipCache(@Value("${app.authorization.ownership-cache.max-size}") long maxSize,
+                             @Value("${app.authorization.ownership-cache.ttl}") Duration ttl,
+                             MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "dogOwnership");
+    }
+
+    /**
+     * Returns the cached ownership decision for the given user and dog, or resolves and caches it.
+     *
+     * @param userId The user id to validate ownership for.
+     * @param dogId  The dog id to validate ownership of.
+     * @param loader The loader resolving the ownership decision if it is not cached.
+     * @return true if the user owns the dog, false otherwise.
+     */
+    public boolean isOwner(String userId, String dogId, Supplier<Boolean> loader) {
+        return cache.get(new OwnershipKey(userId, dogId), key -> loader.get());
+    }
+
+    /**
+     * Evicts all ownership decisions related to the given dog.
+     *
+     * @param dogId The dog id to evict ownership decisions for.
+     */
+    public void evictDog(String dogId) {
+        cache.asMap().keySet().removeIf(key -> key.dogId().equals(dogId));
+    }
+
+    /**
+     * Evicts all ownership decisions related to the given user.
+     *
+     * @param userId The user id to evict ownership decisions for.
+     */
+    public void evictUser(String userId) {
+        cache.asMap().keySet().removeIf(key -> key.userId().equals(userId));
+    }
+
+    private record OwnershipKey(String userId, String dogId) {
+    }
+}
@@ -0,0 +1,80 @@
+package com.york.doghealthtracker.service.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Memoizes authorization facts (user in context, dog and record ownership) for the duration of a single HTTP
+ * request, so that every fact is resolved against the database at most once per request.
+ * Values are stored as an attribute of the current request. Outside a request, values are not cached.
+ */
+@Component
+public class RequestAuthorizationCache {
+
+    private static final String CACHE_ATTRIBUTE = RequestAuthorizationCache.class.getName() + ".CACHE";
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public RequestAuthorizationCache(MeterRegistry meterRegistry) {
+        this.hits = Counter.builder("authorization.request.cache")
+                .description("Authorization facts resolved from the per-request cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("authorization.request.cache")
+                .description("Authorization facts resolved from the database")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the value cached in the current request for the given key, or resolves and caches it.
+     *
+     * @param key    The key identifying the authorization fact.
+     * @param loader The loader resolving the value if it is not cached. Must not return null.
+     * @return the cached or resolved value.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Supplier<T> loader) {
+        Map<String, Object> cache = currentRequestCache();
+        if (cache == null) {
+            misses.increment();
+            return loader.get();
+        }
+
+        Object cached = cache.get(key);
+        if (cached != null) {
+            hits.increment();
+            return (T) cached;
+        }
+
+        misses.increment();
+        T value = loader.get();
+        cache.put(key, value);
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> currentRequestCache() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+
+        synchronized (attributes) {
+            Object cache = attributes.getAttribute(CACHE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (cache == null) {
+                cache = new ConcurrentHashMap<String, Object>();
+                attributes.setAttribute(CACHE_ATTRIBUTE, cache, RequestAttributes.SCOPE_REQUEST);
+            }
+            return (Map<String, Object>) cache;
+        }
+    }
+}
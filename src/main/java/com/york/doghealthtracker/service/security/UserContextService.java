@@ -4,6 +4,8 @@ import com.york.doghealthtracker.entity.DogEntity;
 import com.york.doghealthtracker.entity.UserEntity;
 import com.york.doghealthtracker.repository.DogRepository;
 import com.york.doghealthtracker.repository.UserRepository;
+import com.york.doghealthtracker.security.JwtPrincipal;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
@@ -14,21 +16,41 @@ import org.springframework.stereotype.Service;
 public class UserContextService {
     private final UserRepository userRepository;
     private final DogRepository dogRepository;
+    private final RequestAuthorizationCache requestAuthorizationCache;
 
-    public UserContextService(UserRepository userRepository, DogRepository dogRepository) {
+    public UserContextService(UserRepository userRepository, DogRepository dogRepository, RequestAuthorizationCache requestAuthorizationCache) {
         this.userRepository = userRepository;
         this.dogRepository = dogRepository;
+        this.requestAuthorizationCache = requestAuthorizationCache;
     }
 
+    /**
+     * Retrieves the user in context. The user is resolved from the database at most once per request.
+     *
+     * @return UserEntity of the authenticated user.
+     */
     public UserEntity getUserInContext() {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        return requestAuthorizationCache.get("user:" + email, () -> userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found")));
+    }
+
+    /**
+     * Retrieves the participant id of the user in context. If the user is authenticated through a JWT token carrying
+     * the participant id claim, the id is resolved without database access.
+     *
+     * @return the participant id of the authenticated user.
+     */
+    public String getUserIdInContext() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return principal.participantId();
+        }
+        return getUserInContext().getId();
     }
 
     public DogEntity getDogInContext() {
-        UserEntity user = getUserInContext();
-        return dogRepository.findByOwnerId(user.getId())
+        return dogRepository.findByOwnerId(getUserIdInContext())
                 .orElseThrow(() -> new RuntimeException("Dog not found"));
     }
 }
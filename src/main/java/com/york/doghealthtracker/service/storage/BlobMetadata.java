@@ -0,0 +1,10 @@
+package com.york.doghealthtracker.service.storage;
+
+/**
+ * Metadata of a stored blob.
+ *
+ * @param size         The content length in bytes.
+ * @param lastModified The last modification time in epoch milliseconds.
+ */
+public record BlobMetadata(long size, long lastModified) {
+}
@@ -0,0 +1,82 @@
+package com.york.doghealthtracker.service.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Storage backend for uploaded files. Blobs are addressed by keys of the form folder/filename.
+ * The backend is selected by app.file-storage.type.
+ */
+public interface BlobStore {
+
+    /**
+     * Streams content into a blob, replacing any existing blob with the same key.
+     *
+     * @param key         The key of the blob.
+     * @param content     The content to store. It is read once and not closed.
+     * @param size        The content length in bytes.
+     * @param contentType The content type of the blob, may be null.
+     * @throws IOException if the content cannot be read or written.
+     */
+    void put(String key, InputStream content, long size, String contentType) throws IOException;
+
+    /**
+     * Moves a blob to a new key, replacing any existing blob with the target key.
+     *
+     * @param sourceKey The key of the blob to move.
+     * @param targetKey The new key of the blob.
+     * @throws IOException if the blob cannot be moved.
+     */
+    void move(String sourceKey, String targetKey) throws IOException;
+
+    boolean exists(String key);
+
+    /**
+     * Reads the metadata of a blob without reading its content.
+     *
+     * @param key The key of the blob.
+     * @return BlobMetadata of the blob.
+     * @throws com.york.doghealthtracker.exception.FileStorageException if the blob does not exist.
+     */
+    BlobMetadata stat(String key);
+
+    /**
+     * @param key The key of the blob.
+     * @return Resource streaming the content of the blob.
+     * @throws com.york.doghealthtracker.exception.FileStorageException if the blob does not exist.
+     */
+    Resource load(String key);
+
+    /**
+     * Deletes a blob, if it exists.
+     *
+     * @param key The key of the blob.
+     * @throws IOException if the blob cannot be deleted.
+     */
+    void delete(String key) throws IOException;
+
+    /**
+     * Creates a time limited URL from which clients download the blob directly from the backend.
+     *
+     * @param key          The key of the blob.
+     * @param downloadName The file name suggested to the client.
+     * @param contentType  The content type returned to the client.
+     * @param ttl          How long the URL stays valid.
+     * @return The presigned URL, or an empty optional if the backend serves downloads through the application.
+     */
+    Optional<URI> presignedDownloadUrl(String key, String downloadName, String contentType, Duration ttl);
+
+    /**
+     * @param key The key of the blob.
+     * @return The local file of the blob, or an empty optional if the backend does not keep blobs on the local disk.
+     */
+    default Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+}
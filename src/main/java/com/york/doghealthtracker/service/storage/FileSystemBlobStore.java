@@ -0,0 +1,100 @@
+package com.york.doghealthtracker.service.storage;
+
+import com.york.doghealthtracker.config.FileStorageConfig;
+import com.york.doghealthtracker.exception.FileStorageException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * BlobStore keeping blobs as files below app.file-storage.location on the local disk.
+ * Downloads are served by the application, which hands the local file to the servlet container's sendfile support,
+ * so no presigned URLs are issued.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.file-storage", name = "type", havingValue = "filesystem", matchIfMissing = true)
+public class FileSystemBlobStore implements BlobStore {
+
+    private final Path root;
+
+    public FileSystemBlobStore(FileStorageConfig config) {
+        this.root = Paths.get(config.getLocation()).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void put(String key, InputStream content, long size, String contentType) throws IOException {
+        Path target = pathOf(key);
+        Files.createDirectories(target.getParent());
+        Files.copy(content, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public void move(String sourceKey, String targetKey) throws IOException {
+        Path target = pathOf(targetKey);
+        Files.createDirectories(target.getParent());
+        Files.move(pathOf(sourceKey), target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(pathOf(key));
+    }
+
+    @Override
+    public BlobMetadata stat(String key) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(existingPathOf(key), BasicFileAttributes.class);
+            return new BlobMetadata(attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            throw new FileStorageException("Could not read file: " + key, e);
+        }
+    }
+
+    @Override
+    public Resource load(String key) {
+        return new FileSystemResource(existingPathOf(key));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(pathOf(key));
+    }
+
+    @Override
+    public Optional<URI> presignedDownloadUrl(String key, String downloadName, String contentType, Duration ttl) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        return Optional.of(existingPathOf(key));
+    }
+
+    private Path existingPathOf(String key) {
+        Path file = pathOf(key);
+        if (!Files.exists(file)) {
+            throw new FileStorageException("File not found: " + key);
+        }
+        return file;
+    }
+
+    private Path pathOf(String key) {
+        Path file = root.resolve(key).normalize();
+        if (!file.startsWith(root)) {
+            throw new FileStorageException("Invalid file key: " + key);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,161 @@
+package com.york.doghealthtracker.service.storage;
+
+import com.york.doghealthtracker.config.FileStorageConfig;
+import com.york.doghealthtracker.exception.FileStorageException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * BlobStore keeping blobs as objects in an S3 bucket, or in an S3-compatible service such as MinIO when
+ * app.file-storage.s3.endpoint is set. Uploads are streamed to the bucket and downloads are served from presigned
+ * URLs, so file content does not pass through the application.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.file-storage", name = "type", havingValue = "s3")
+public class S3BlobStore implements BlobStore {
+
+    private final String bucket;
+    private final S3Client s3Client;
+    private final S3Presigner s3Presigner;
+
+    public S3BlobStore(FileStorageConfig config) {
+        FileStorageConfig.S3 s3 = config.getS3();
+        this.bucket = s3.getBucket();
+
+        Region region = Region.of(s3.getRegion());
+        AwsCredentialsProvider credentials = StringUtils.hasText(s3.getAccessKey())
+                ? StaticCredentialsProvider.create(AwsBasicCredentials.create(s3.getAccessKey(), s3.getSecretKey()))
+                : DefaultCredentialsProvider.builder().build();
+        S3Configuration serviceConfiguration = S3Configuration.builder()
+                .pathStyleAccessEnabled(s3.isPathStyleAccess())
+                .build();
+
+        var clientBuilder = S3Client.builder()
+                .region(region)
+                .credentialsProvider(credentials)
+                .serviceConfiguration(serviceConfiguration);
+        var presignerBuilder = S3Presigner.builder()
+                .region(region)
+                .credentialsProvider(credentials)
+                .serviceConfiguration(serviceConfiguration);
+        if (StringUtils.hasText(s3.getEndpoint())) {
+            URI endpoint = URI.create(s3.getEndpoint());
+            clientBuilder.endpointOverride(endpoint);
+            presignerBuilder.endpointOverride(endpoint);
+        }
+        this.s3Client = clientBuilder.build();
+        this.s3Presigner = presignerBuilder.build();
+    }
+
+    @Override
+    public void put(String key, InputStream content, long size, String contentType) throws IOException {
+        try {
+            s3Client.putObject(request -> request.bucket(bucket).key(key).contentType(contentType).contentLength(size),
+                    RequestBody.fromInputStream(content, size));
+        } catch (SdkException e) {
+            throw new IOException("Could not upload file: " + key, e);
+        }
+    }
+
+    @Override
+    public void move(String sourceKey, String targetKey) throws IOException {
+        try {
+            s3Client.copyObject(request -> request
+                    .sourceBucket(bucket).sourceKey(sourceKey)
+                    .destinationBucket(bucket).destinationKey(targetKey));
+            s3Client.deleteObject(request -> request.bucket(bucket).key(sourceKey));
+        } catch (SdkException e) {
+            throw new IOException("Could not move file: " + sourceKey, e);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return head(key).isPresent();
+    }
+
+    @Override
+    public BlobMetadata stat(String key) {
+        HeadObjectResponse head = head(key)
+                .orElseThrow(() -> new FileStorageException("File not found: " + key));
+        return new BlobMetadata(head.contentLength(), head.lastModified().toEpochMilli());
+    }
+
+    @Override
+    public Resource load(String key) {
+        try {
+            return new InputStreamResource(s3Client.getObject(request -> request.bucket(bucket).key(key)));
+        } catch (NoSuchKeyException e) {
+            throw new FileStorageException("File not found: " + key, e);
+        } catch (SdkException e) {
+            throw new FileStorageException("Could not read file: " + key, e);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        try {
+            s3Client.deleteObject(request -> request.bucket(bucket).key(key));
+        } catch (SdkException e) {
+            throw new IOException("Could not delete file: " + key, e);
+        }
+    }
+
+    @Override
+    public Optional<URI> presignedDownloadUrl(String key, String downloadName, String contentType, Duration ttl) {
+        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .responseContentType(contentType)
+                .responseContentDisposition(downloadName != null ? "attachment; filename=\"" + downloadName + "\"" : null)
+                .build();
+        try {
+            return Optional.of(s3Presigner.presignGetObject(request -> request
+                            .signatureDuration(ttl)
+                            .getObjectRequest(getObjectRequest))
+                    .url()
+                    .toURI());
+        } catch (Exception e) {
+            throw new FileStorageException("Could not create download URL for file: " + key, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        s3Presigner.close();
+        s3Client.close();
+    }
+
+    private Optional<HeadObjectResponse> head(String key) {
+        try {
+            return Optional.of(s3Client.headObject(request -> request.bucket(bucket).key(key)));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        } catch (SdkException e) {
+            throw new FileStorageException("Could not read file: " + key, e);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+-- Indexes are built CONCURRENTLY so that writes are not blocked on large tables.
+-- Flyway runs this migration outside of a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS IDX_WEIGHT_DOG_CREATED_TS
+    ON WEIGHT (WG_DOG_ID, WG_CREATED_TS DESC) INCLUDE (WG_CURRENT);
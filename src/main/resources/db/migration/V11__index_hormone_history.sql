@@ -0,0 +1,5 @@
+-- Indexes are built CONCURRENTLY so that writes are not blocked on large tables.
+-- Flyway runs this migration outside of a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS IDX_HORMONE_DOG_TYPE_CREATED_TS
+    ON HORMONE (HM_DOG_ID, HM_TYPE, HM_CREATED_TS DESC) INCLUDE (HM_STATUS);
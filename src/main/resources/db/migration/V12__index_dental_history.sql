@@ -0,0 +1,8 @@
+-- Indexes are built CONCURRENTLY so that writes are not blocked on large tables.
+-- Flyway runs this migration outside of a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS IDX_DENTAL_DOG_CREATED_TS
+    ON DENTAL (DL_DOG_ID, DL_CREATED_TS DESC);
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS IDX_DENTAL_ID_DOG
+    ON DENTAL (DL_ID) INCLUDE (DL_DOG_ID);
@@ -0,0 +1,8 @@
+-- Indexes are built CONCURRENTLY so that writes are not blocked on large tables.
+-- Flyway runs this migration outside of a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS IDX_HEART_DOG_CREATED_TS
+    ON HEART (HT_DOG_ID, HT_CREATED_TS DESC);
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS IDX_HEART_ID_DOG
+    ON HEART (HT_ID) INCLUDE (HT_DOG_ID);
@@ -0,0 +1,5 @@
+-- Indexes are built CONCURRENTLY so that writes are not blocked on large tables.
+-- Flyway runs this migration outside of a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS IDX_MOBILITY_DOG_TYPE_CREATED_TS
+    ON MOBILITY (MB_DOG_ID, MB_TYPE, MB_CREATED_TS DESC) INCLUDE (MB_STATUS);
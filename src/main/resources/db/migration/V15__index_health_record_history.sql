@@ -0,0 +1,8 @@
+-- Indexes are built CONCURRENTLY so that writes are not blocked on large tables.
+-- Flyway runs this migration outside of a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS IDX_HEALTH_RECORD_DOG_CREATED_TS
+    ON HEALTH_RECORD (HR_DOG_ID, HR_CREATED_TS DESC);
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS IDX_HEALTH_RECORD_ID_DOG
+    ON HEALTH_RECORD (HR_ID) INCLUDE (HR_DOG_ID);
@@ -0,0 +1,8 @@
+-- Indexes are built CONCURRENTLY so that writes are not blocked on large tables.
+-- Flyway runs this migration outside of a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS IDX_DOG_OWNER
+    ON DOG (DOG_OWNER);
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS IDX_DOG_ID_OWNER
+    ON DOG (DOG_ID) INCLUDE (DOG_OWNER);
@@ -0,0 +1,73 @@
+CREATE TABLE DOG_LATEST_STATUS
+(
+    DLS_DOG_ID VARCHAR(36) CONSTRAINT NN_DOG_LATEST_STATUS_DOG_ID NOT NULL,
+    DLS_CATEGORY VARCHAR(20) CONSTRAINT NN_DOG_LATEST_STATUS_CATEGORY NOT NULL,
+    DLS_RECORD_ID VARCHAR(36),
+    DLS_MEASUREMENT NUMERIC(7,2),
+    DLS_STATUS VARCHAR(10),
+    DLS_HIGHLIGHT_KEYS VARCHAR(512),
+    DLS_RECORD_COUNT BIGINT CONSTRAINT NN_DOG_LATEST_STATUS_RECORD_COUNT NOT NULL,
+    DLS_RECORDED_TS TIMESTAMP(6),
+    DLS_STALE_AFTER DATE,
+    DLS_UPDATED_TS TIMESTAMP(6) CONSTRAINT NN_DOG_LATEST_STATUS_UPDATED_TS NOT NULL
+);
+
+ALTER TABLE DOG_LATEST_STATUS
+    ADD CONSTRAINT PK_DOG_LATEST_STATUS
+        PRIMARY KEY (DLS_DOG_ID, DLS_CATEGORY);
+
+ALTER TABLE DOG_LATEST_STATUS
+    ADD CONSTRAINT FK_DOG_LATEST_STATUS_DOG
+        FOREIGN KEY (DLS_DOG_ID)
+            REFERENCES DOG (DOG_ID)
+            ON DELETE CASCADE;
+
+COMMENT ON TABLE DOG_LATEST_STATUS IS 'This table stores the latest status of a dog per health category. It is a projection of the history tables, updated in the same transaction as the history. Reads calculate a missing or stale row from the history without writing it.';
+
+COMMENT ON COLUMN DOG_LATEST_STATUS.DLS_DOG_ID IS 'The ID of the dog the status belongs to.';
+COMMENT ON COLUMN DOG_LATEST_STATUS.DLS_CATEGORY IS 'The health category: WEIGHT, DENTAL, HEART, HEALTH_RECORD, or a hormone or mobility quiz category.';
+COMMENT ON COLUMN DOG_LATEST_STATUS.DLS_RECORD_ID IS 'The ID of the latest history record of the category, or null if the dog has no records.';
+COMMENT ON COLUMN DOG_LATEST_STATUS.DLS_MEASUREMENT IS 'The latest measurement of the category: the weight for WEIGHT, the heart rate for HEART, null otherwise.';
+COMMENT ON COLUMN DOG_LATEST_STATUS.DLS_STATUS IS 'The status derived from the latest record: RED, YELLOW or GREEN.';
+COMMENT ON COLUMN DOG_LATEST_STATUS.DLS_HIGHLIGHT_KEYS IS 'Comma separated keys of the health highlights derived from the records of the category.';
+COMMENT ON COLUMN DOG_LATEST_STATUS.DLS_RECORD_COUNT IS 'The number of history records of the category.';
+COMMENT ON COLUMN DOG_LATEST_STATUS.DLS_RECORDED_TS IS 'The creation timestamp of the latest history record.';
+COMMENT ON COLUMN DOG_LATEST_STATUS.DLS_STALE_AFTER IS 'The date after which the derived status or highlights change with time alone and must be recalculated, or null if they do not.';
+COMMENT ON COLUMN DOG_LATEST_STATUS.DLS_UPDATED_TS IS 'The timestamp of the last update of this row.';
+
+-- Backfills the health record, hormone and mobility categories of the existing dogs, which depend on the history alone.
+-- The weight, dental and heart categories depend on the breed configuration and the evaluation rules of the
+-- application, they are calculated on read until the next write of the category.
+INSERT INTO DOG_LATEST_STATUS (DLS_DOG_ID, DLS_CATEGORY, DLS_RECORD_ID, DLS_RECORD_COUNT, DLS_RECORDED_TS, DLS_UPDATED_TS)
+SELECT d.DOG_ID, 'HEALTH_RECORD', latest.HR_ID, COALESCE(counts.RECORD_COUNT, 0), latest.HR_CREATED_TS, now()
+FROM DOG d
+         LEFT JOIN (SELECT DISTINCT ON (HR_DOG_ID) HR_DOG_ID, HR_ID, HR_CREATED_TS
+                    FROM HEALTH_RECORD
+                    ORDER BY HR_DOG_ID, HR_CREATED_TS DESC, HR_ID DESC) latest ON latest.HR_DOG_ID = d.DOG_ID
+         LEFT JOIN (SELECT HR_DOG_ID, count(*) AS RECORD_COUNT
+                    FROM HEALTH_RECORD
+                    GROUP BY HR_DOG_ID) counts ON counts.HR_DOG_ID = d.DOG_ID;
+
+INSERT INTO DOG_LATEST_STATUS (DLS_DOG_ID, DLS_CATEGORY, DLS_RECORD_ID, DLS_STATUS, DLS_RECORD_COUNT, DLS_RECORDED_TS, DLS_UPDATED_TS)
+SELECT d.DOG_ID, c.CATEGORY, latest.HM_ID, latest.HM_STATUS, COALESCE(counts.RECORD_COUNT, 0), latest.HM_CREATED_TS, now()
+FROM DOG d
+         CROSS JOIN (VALUES ('THYROID'), ('ADRENAL'), ('PANCREATIC')) AS c (CATEGORY)
+         LEFT JOIN (SELECT DISTINCT ON (HM_DOG_ID, HM_TYPE) HM_DOG_ID, HM_TYPE, HM_ID, HM_STATUS, HM_CREATED_TS
+                    FROM HORMONE
+                    ORDER BY HM_DOG_ID, HM_TYPE, HM_CREATED_TS DESC, HM_ID DESC) latest
+                   ON latest.HM_DOG_ID = d.DOG_ID AND latest.HM_TYPE = c.CATEGORY
+         LEFT JOIN (SELECT HM_DOG_ID, HM_TYPE, count(*) AS RECORD_COUNT
+                    FROM HORMONE
+                    GROUP BY HM_DOG_ID, HM_TYPE) counts ON counts.HM_DOG_ID = d.DOG_ID AND counts.HM_TYPE = c.CATEGORY;
+
+INSERT INTO DOG_LATEST_STATUS (DLS_DOG_ID, DLS_CATEGORY, DLS_RECORD_ID, DLS_STATUS, DLS_RECORD_COUNT, DLS_RECORDED_TS, DLS_UPDATED_TS)
+SELECT d.DOG_ID, c.CATEGORY, latest.MB_ID, latest.MB_STATUS, COALESCE(counts.RECORD_COUNT, 0), latest.MB_CREATED_TS, now()
+FROM DOG d
+         CROSS JOIN (VALUES ('LUXATION'), ('DYSPLASIA'), ('ARTHRITIS')) AS c (CATEGORY)
+         LEFT JOIN (SELECT DISTINCT ON (MB_DOG_ID, MB_TYPE) MB_DOG_ID, MB_TYPE, MB_ID, MB_STATUS, MB_CREATED_TS
+                    FROM MOBILITY
+                    ORDER BY MB_DOG_ID, MB_TYPE, MB_CREATED_TS DESC, MB_ID DESC) latest
+                   ON latest.MB_DOG_ID = d.DOG_ID AND latest.MB_TYPE = c.CATEGORY
+         LEFT JOIN (SELECT MB_DOG_ID, MB_TYPE, count(*) AS RECORD_COUNT
+                    FROM MOBILITY
+                    GROUP BY MB_DOG_ID, MB_TYPE) counts ON counts.MB_DOG_ID = d.DOG_ID AND counts.MB_TYPE = c.CATEGORY;
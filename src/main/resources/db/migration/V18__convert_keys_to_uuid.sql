@@ -0,0 +1,89 @@
+-- Converts the primary and foreign keys from VARCHAR(36) to the native 16 byte uuid type.
+-- Ids are generated as time ordered UUIDv7 values, so new keys are appended to the right of the primary key indexes.
+-- Every existing id is a UUID string written by Hibernate. ALTER COLUMN TYPE rewrites the table and rebuilds its
+-- indexes, so the foreign keys are dropped before, and added again after, the conversion.
+
+ALTER TABLE DOG DROP CONSTRAINT FK_DOG_OWNER;
+ALTER TABLE WEIGHT DROP CONSTRAINT FK_WEIGHT_DOG;
+ALTER TABLE HORMONE DROP CONSTRAINT FK_HORMONE_DOG;
+ALTER TABLE DENTAL DROP CONSTRAINT FK_DENTAL_DOG;
+ALTER TABLE HEART DROP CONSTRAINT FK_HEART_DOG;
+ALTER TABLE MOBILITY DROP CONSTRAINT FK_MOBILITY_DOG;
+ALTER TABLE HEALTH_RECORD DROP CONSTRAINT FK_HEALTH_RECORD_DOG;
+ALTER TABLE DOG_LATEST_STATUS DROP CONSTRAINT FK_DOG_LATEST_STATUS_DOG;
+
+ALTER TABLE PERSONAL_DATA
+    ALTER COLUMN PD_PARTICIPANT_ID TYPE UUID USING PD_PARTICIPANT_ID::UUID;
+
+ALTER TABLE DOG
+    ALTER COLUMN DOG_ID TYPE UUID USING DOG_ID::UUID,
+    ALTER COLUMN DOG_OWNER TYPE UUID USING DOG_OWNER::UUID;
+
+ALTER TABLE WEIGHT
+    ALTER COLUMN WG_ID TYPE UUID USING WG_ID::UUID,
+    ALTER COLUMN WG_DOG_ID TYPE UUID USING WG_DOG_ID::UUID;
+
+ALTER TABLE HORMONE
+    ALTER COLUMN HM_ID TYPE UUID USING HM_ID::UUID,
+    ALTER COLUMN HM_DOG_ID TYPE UUID USING HM_DOG_ID::UUID;
+
+ALTER TABLE DENTAL
+    ALTER COLUMN DL_ID TYPE UUID USING DL_ID::UUID,
+    ALTER COLUMN DL_DOG_ID TYPE UUID USING DL_DOG_ID::UUID;
+
+ALTER TABLE HEART
+    ALTER COLUMN HT_ID TYPE UUID USING HT_ID::UUID,
+    ALTER COLUMN HT_DOG_ID TYPE UUID USING HT_DOG_ID::UUID;
+
+ALTER TABLE MOBILITY
+    ALTER COLUMN MB_ID TYPE UUID USING MB_ID::UUID,
+    ALTER COLUMN MB_DOG_ID TYPE UUID USING MB_DOG_ID::UUID;
+
+ALTER TABLE HEALTH_RECORD
+    ALTER COLUMN HR_ID TYPE UUID USING HR_ID::UUID,
+    ALTER COLUMN HR_DOG_ID TYPE UUID USING HR_DOG_ID::UUID;
+
+ALTER TABLE DOG_LATEST_STATUS
+    ALTER COLUMN DLS_DOG_ID TYPE UUID USING DLS_DOG_ID::UUID,
+    ALTER COLUMN DLS_RECORD_ID TYPE UUID USING DLS_RECORD_ID::UUID;
+
+ALTER TABLE DOG
+    ADD CONSTRAINT FK_DOG_OWNER
+        FOREIGN KEY (DOG_OWNER)
+            REFERENCES PERSONAL_DATA (PD_PARTICIPANT_ID);
+
+ALTER TABLE WEIGHT
+    ADD CONSTRAINT FK_WEIGHT_DOG
+        FOREIGN KEY (WG_DOG_ID)
+            REFERENCES DOG (DOG_ID);
+
+ALTER TABLE HORMONE
+    ADD CONSTRAINT FK_HORMONE_DOG
+        FOREIGN KEY (HM_DOG_ID)
+            REFERENCES DOG (DOG_ID);
+
+ALTER TABLE DENTAL
+    ADD CONSTRAINT FK_DENTAL_DOG
+        FOREIGN KEY (DL_DOG_ID)
+            REFERENCES DOG (DOG_ID);
+
+ALTER TABLE HEART
+    ADD CONSTRAINT FK_HEART_DOG
+        FOREIGN KEY (HT_DOG_ID)
+            REFERENCES DOG (DOG_ID);
+
+ALTER TABLE MOBILITY
+    ADD CONSTRAINT FK_MOBILITY_DOG
+        FOREIGN KEY (MB_DOG_ID)
+            REFERENCES DOG (DOG_ID);
+
+ALTER TABLE HEALTH_RECORD
+    ADD CONSTRAINT FK_HEALTH_RECORD_DOG
+        FOREIGN KEY (HR_DOG_ID)
+            REFERENCES DOG (DOG_ID);
+
+ALTER TABLE DOG_LATEST_STATUS
+    ADD CONSTRAINT FK_DOG_LATEST_STATUS_DOG
+        FOREIGN KEY (DLS_DOG_ID)
+            REFERENCES DOG (DOG_ID)
+            ON DELETE CASCADE;
@@ -0,0 +1,189 @@
+-- Compacts the column types of the health history tables.
+-- Enums are stored as SMALLINT codes (see the EnumCodeConverter subclasses), integer rates as SMALLINT and
+-- measurements as REAL, and HORMONE and MOBILITY store one row per quiz result instead of one row per category.
+
+-- DENTAL -------------------------------------------------------------------------------------------------------------
+
+ALTER TABLE DENTAL
+    ALTER COLUMN DL_PLAQUE_STATUS TYPE SMALLINT
+        USING array_position(ARRAY ['HI', 'LO', 'NORM'], DL_PLAQUE_STATUS::TEXT) - 1,
+    ALTER COLUMN DL_GINGIVITIS_STATUS TYPE SMALLINT
+        USING array_position(ARRAY ['NONE', 'MILD', 'SEVERE'], DL_GINGIVITIS_STATUS::TEXT) - 1,
+    ALTER COLUMN DL_SEVERITY_SCORE TYPE REAL;
+
+COMMENT ON COLUMN DENTAL.DL_PLAQUE_STATUS IS 'Plaque level status: 0 (HI), 1 (LO) or 2 (NORM).';
+COMMENT ON COLUMN DENTAL.DL_GINGIVITIS_STATUS IS 'Gum health status: 0 (NONE), 1 (MILD) or 2 (SEVERE).';
+
+-- HEART --------------------------------------------------------------------------------------------------------------
+
+ALTER TABLE HEART
+    ALTER COLUMN HT_MURMURS TYPE SMALLINT
+        USING array_position(ARRAY ['NONE', 'GRADE_I', 'GRADE_II', 'GRADE_III', 'GRADE_IV', 'GRADE_V', 'GRADE_VI'],
+                             HT_MURMURS::TEXT) - 1,
+    ALTER COLUMN HT_HEART_RATE TYPE SMALLINT USING round(HT_HEART_RATE),
+    ALTER COLUMN HT_BREATHING_RATE TYPE SMALLINT USING round(HT_BREATHING_RATE);
+
+COMMENT ON COLUMN HEART.HT_MURMURS IS 'The heart murmur grade: 0 (none) to 6 (grade VI).';
+
+-- WEIGHT -------------------------------------------------------------------------------------------------------------
+
+ALTER TABLE WEIGHT
+    ALTER COLUMN WG_CURRENT TYPE REAL,
+    ALTER COLUMN WG_GOAL TYPE REAL;
+
+-- HORMONE and MOBILITY -----------------------------------------------------------------------------------------------
+-- The rows of one quiz result, one per category, are merged into a single row. Earlier versions of the application wrote
+-- each category with its own creation time, possibly across a second boundary, so the rows are grouped by dog and not by
+-- time: submitting a quiz deleted the previous results of the dog, so every dog has at most one quiz result.
+
+ALTER TABLE HORMONE RENAME TO HORMONE_BY_CATEGORY;
+ALTER TABLE HORMONE_BY_CATEGORY DROP CONSTRAINT PK_HORMONE_ID;
+ALTER TABLE HORMONE_BY_CATEGORY DROP CONSTRAINT FK_HORMONE_DOG;
+
+CREATE TABLE HORMONE
+(
+    HM_ID UUID CONSTRAINT NN_HM_ID NOT NULL,
+    HM_DOG_ID UUID CONSTRAINT NN_HORMONE_DOG_ID NOT NULL,
+    HM_THYROID_STATUS SMALLINT,
+    HM_ADRENAL_STATUS SMALLINT,
+    HM_PANCREATIC_STATUS SMALLINT,
+    HM_CREATED_TS TIMESTAMP(6) CONSTRAINT NN_CREATED_TS NOT NULL
+);
+
+INSERT INTO HORMONE (HM_ID, HM_DOG_ID, HM_THYROID_STATUS, HM_ADRENAL_STATUS, HM_PANCREATIC_STATUS, HM_CREATED_TS)
+SELECT (array_agg(HM_ID ORDER BY HM_CREATED_TS DESC))[1],
+       HM_DOG_ID,
+       max(STATUS_CODE) FILTER (WHERE HM_TYPE = 'THYROID'),
+       max(STATUS_CODE) FILTER (WHERE HM_TYPE = 'ADRENAL'),
+       max(STATUS_CODE) FILTER (WHERE HM_TYPE = 'PANCREATIC'),
+       max(HM_CREATED_TS)
+FROM (SELECT HM_ID, HM_DOG_ID, HM_TYPE, HM_CREATED_TS,
+             (array_position(ARRAY ['GREEN', 'YELLOW', 'RED'], HM_STATUS::TEXT) - 1)::SMALLINT AS STATUS_CODE
+      FROM HORMONE_BY_CATEGORY) AS RESULTS
+GROUP BY HM_DOG_ID;
+
+DO
+$$
+    BEGIN
+        IF (SELECT count(*) FROM HORMONE) <> (SELECT count(DISTINCT HM_DOG_ID) FROM HORMONE_BY_CATEGORY) THEN
+            RAISE EXCEPTION 'HORMONE must hold one quiz result per dog';
+        END IF;
+    END
+$$;
+
+DROP TABLE HORMONE_BY_CATEGORY;
+
+ALTER TABLE HORMONE
+    ADD CONSTRAINT PK_HORMONE_ID
+        PRIMARY KEY (HM_ID);
+
+ALTER TABLE HORMONE
+    ADD CONSTRAINT FK_HORMONE_DOG
+        FOREIGN KEY (HM_DOG_ID)
+            REFERENCES DOG (DOG_ID);
+
+CREATE INDEX IDX_HORMONE_DOG_CREATED_TS
+    ON HORMONE (HM_DOG_ID, HM_CREATED_TS DESC);
+
+COMMENT ON TABLE HORMONE IS 'This table stores hormone quiz results for a given dog, one row per quiz result.';
+
+COMMENT ON COLUMN HORMONE.HM_ID IS 'The unique identifier for the hormone quiz result.';
+COMMENT ON COLUMN HORMONE.HM_DOG_ID IS 'The ID of the dog the hormone quiz result belongs to.';
+COMMENT ON COLUMN HORMONE.HM_THYROID_STATUS IS 'The calculated thyroid status: 0 (green), 1 (yellow) or 2 (red).';
+COMMENT ON COLUMN HORMONE.HM_ADRENAL_STATUS IS 'The calculated adrenal status: 0 (green), 1 (yellow) or 2 (red).';
+COMMENT ON COLUMN HORMONE.HM_PANCREATIC_STATUS IS 'The calculated pancreatic status: 0 (green), 1 (yellow) or 2 (red).';
+COMMENT ON COLUMN HORMONE.HM_CREATED_TS IS 'The timestamp when this hormone quiz result was created.';
+
+ALTER TABLE MOBILITY RENAME TO MOBILITY_BY_CATEGORY;
+ALTER TABLE MOBILITY_BY_CATEGORY DROP CONSTRAINT PK_MOBILITY_ID;
+ALTER TABLE MOBILITY_BY_CATEGORY DROP CONSTRAINT FK_MOBILITY_DOG;
+
+CREATE TABLE MOBILITY
+(
+    MB_ID UUID CONSTRAINT NN_MB_ID NOT NULL,
+    MB_DOG_ID UUID CONSTRAINT NN_MOBILITY_DOG_ID NOT NULL,
+    MB_LUXATION_STATUS SMALLINT,
+    MB_DYSPLASIA_STATUS SMALLINT,
+    MB_ARTHRITIS_STATUS SMALLINT,
+    MB_CREATED_TS TIMESTAMP(6) CONSTRAINT NN_CREATED_TS NOT NULL
+);
+
+INSERT INTO MOBILITY (MB_ID, MB_DOG_ID, MB_LUXATION_STATUS, MB_DYSPLASIA_STATUS, MB_ARTHRITIS_STATUS, MB_CREATED_TS)
+SELECT (array_agg(MB_ID ORDER BY MB_CREATED_TS DESC))[1],
+       MB_DOG_ID,
+       max(STATUS_CODE) FILTER (WHERE MB_TYPE = 'LUXATION'),
+       max(STATUS_CODE) FILTER (WHERE MB_TYPE = 'DYSPLASIA'),
+       max(STATUS_CODE) FILTER (WHERE MB_TYPE = 'ARTHRITIS'),
+       max(MB_CREATED_TS)
+FROM (SELECT MB_ID, MB_DOG_ID, MB_TYPE, MB_CREATED_TS,
+             (array_position(ARRAY ['GREEN', 'YELLOW', 'RED'], MB_STATUS::TEXT) - 1)::SMALLINT AS STATUS_CODE
+      FROM MOBILITY_BY_CATEGORY) AS RESULTS
+GROUP BY MB_DOG_ID;
+
+DO
+$$
+    BEGIN
+        IF (SELECT count(*) FROM MOBILITY) <> (SELECT count(DISTINCT MB_DOG_ID) FROM MOBILITY_BY_CATEGORY) THEN
+            RAISE EXCEPTION 'MOBILITY must hold one quiz result per dog';
+        END IF;
+    END
+$$;
+
+DROP TABLE MOBILITY_BY_CATEGORY;
+
+ALTER TABLE MOBILITY
+    ADD CONSTRAINT PK_MOBILITY_ID
+        PRIMARY KEY (MB_ID);
+
+ALTER TABLE MOBILITY
+    ADD CONSTRAINT FK_MOBILITY_DOG
+        FOREIGN KEY (MB_DOG_ID)
+            REFERENCES DOG (DOG_ID);
+
+CREATE INDEX IDX_MOBILITY_DOG_CREATED_TS
+    ON MOBILITY (MB_DOG_ID, MB_CREATED_TS DESC);
+
+COMMENT ON TABLE MOBILITY IS 'This table stores mobility quiz results for a given dog, one row per quiz result.';
+
+COMMENT ON COLUMN MOBILITY.MB_ID IS 'The unique identifier for the mobility quiz result.';
+COMMENT ON COLUMN MOBILITY.MB_DOG_ID IS 'The ID of the dog the mobility quiz result belongs to.';
+COMMENT ON COLUMN MOBILITY.MB_LUXATION_STATUS IS 'The calculated luxation status: 0 (green), 1 (yellow) or 2 (red).';
+COMMENT ON COLUMN MOBILITY.MB_DYSPLASIA_STATUS IS 'The calculated dysplasia status: 0 (green), 1 (yellow) or 2 (red).';
+COMMENT ON COLUMN MOBILITY.MB_ARTHRITIS_STATUS IS 'The calculated arthritis status: 0 (green), 1 (yellow) or 2 (red).';
+COMMENT ON COLUMN MOBILITY.MB_CREATED_TS IS 'The timestamp when this mobility quiz result was created.';
+
+-- The latest quiz statuses refer to the merged rows, they are recalculated from the latest quiz result of every dog.
+DELETE FROM DOG_LATEST_STATUS
+WHERE DLS_CATEGORY IN ('THYROID', 'ADRENAL', 'PANCREATIC', 'LUXATION', 'DYSPLASIA', 'ARTHRITIS');
+
+INSERT INTO DOG_LATEST_STATUS (DLS_DOG_ID, DLS_CATEGORY, DLS_RECORD_ID, DLS_STATUS, DLS_RECORD_COUNT, DLS_RECORDED_TS, DLS_UPDATED_TS)
+SELECT d.DOG_ID,
+       c.CATEGORY,
+       CASE WHEN c.STATUS IS NOT NULL THEN latest.HM_ID END,
+       (ARRAY ['GREEN', 'YELLOW', 'RED'])[c.STATUS + 1],
+       CASE WHEN c.STATUS IS NOT NULL THEN 1 ELSE 0 END,
+       CASE WHEN c.STATUS IS NOT NULL THEN latest.HM_CREATED_TS END,
+       now()
+FROM DOG d
+         LEFT JOIN (SELECT DISTINCT ON (HM_DOG_ID) *
+                    FROM HORMONE
+                    ORDER BY HM_DOG_ID, HM_CREATED_TS DESC, HM_ID DESC) latest ON latest.HM_DOG_ID = d.DOG_ID
+         CROSS JOIN LATERAL (VALUES ('THYROID', latest.HM_THYROID_STATUS),
+                                    ('ADRENAL', latest.HM_ADRENAL_STATUS),
+                                    ('PANCREATIC', latest.HM_PANCREATIC_STATUS)) AS c (CATEGORY, STATUS);
+
+INSERT INTO DOG_LATEST_STATUS (DLS_DOG_ID, DLS_CATEGORY, DLS_RECORD_ID, DLS_STATUS, DLS_RECORD_COUNT, DLS_RECORDED_TS, DLS_UPDATED_TS)
+SELECT d.DOG_ID,
+       c.CATEGORY,
+       CASE WHEN c.STATUS IS NOT NULL THEN latest.MB_ID END,
+       (ARRAY ['GREEN', 'YELLOW', 'RED'])[c.STATUS + 1],
+       CASE WHEN c.STATUS IS NOT NULL THEN 1 ELSE 0 END,
+       CASE WHEN c.STATUS IS NOT NULL THEN latest.MB_CREATED_TS END,
+       now()
+FROM DOG d
+         LEFT JOIN (SELECT DISTINCT ON (MB_DOG_ID) *
+                    FROM MOBILITY
+                    ORDER BY MB_DOG_ID, MB_CREATED_TS DESC, MB_ID DESC) latest ON latest.MB_DOG_ID = d.DOG_ID
+         CROSS JOIN LATERAL (VALUES ('LUXATION', latest.MB_LUXATION_STATUS),
+                                    ('DYSPLASIA', latest.MB_DYSPLASIA_STATUS),
+                                    ('ARTHRITIS', latest.MB_ARTHRITIS_STATUS)) AS c (CATEGORY, STATUS);
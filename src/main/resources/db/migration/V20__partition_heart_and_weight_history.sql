@@ -0,0 +1,246 @@
+-- Partitions HEART and WEIGHT by the month of their creation time, and adds the archive tables their partitions are
+-- moved to once they are older than the retention age (see HistoryPartitionService).
+-- Partitions are named <table>_PYYYY_MM, e.g. WEIGHT_P2025_01. The application creates the partitions of the coming
+-- months ahead of time. A row of a month without a partition, e.g. while the partition maintenance is disabled or
+-- behind, goes to the default partition <table>_DEFAULT instead of failing the insert, and is moved into the partition
+-- of its month once it is created.
+
+-- Partition maintenance functions ------------------------------------------------------------------------------------
+
+CREATE FUNCTION CREATE_HISTORY_PARTITION(p_table TEXT, p_month DATE) RETURNS BOOLEAN
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    v_from      DATE := date_trunc('month', p_month);
+    v_partition TEXT := lower(p_table) || '_p' || to_char(v_from, 'YYYY_MM');
+    v_default   TEXT := lower(p_table) || '_default';
+    v_key       TEXT;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext(v_partition));
+    IF to_regclass(v_partition) IS NOT NULL THEN
+        RETURN false;
+    END IF;
+    -- The partition is created detached and attached once filled, as a partition cannot be attached while the
+    -- default partition still holds rows of its month. The default partition is locked against inserts meanwhile.
+    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', v_partition, lower(p_table));
+    IF to_regclass(v_default) IS NOT NULL THEN
+        v_key := substring(pg_get_partkeydef(to_regclass(lower(p_table))) FROM '\((.*)\)');
+        EXECUTE format('LOCK TABLE %I IN SHARE ROW EXCLUSIVE MODE', v_default);
+        EXECUTE format($sql$
+            WITH moved AS (DELETE FROM %1$I WHERE %2$I >= %3$L AND %2$I < %4$L RETURNING *)
+            INSERT INTO %5$I SELECT * FROM moved
+            $sql$, v_default, v_key, v_from, v_from + INTERVAL '1 month', v_partition);
+    END IF;
+    EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   lower(p_table), v_partition, v_from, v_from + INTERVAL '1 month');
+    RETURN true;
+END
+$$;
+
+COMMENT ON FUNCTION CREATE_HISTORY_PARTITION(TEXT, DATE) IS
+    'Creates the partition of the given table for the month of the given date, unless it exists, moving the rows of the month out of the default partition. Returns whether it was created.';
+
+CREATE FUNCTION ARCHIVE_HISTORY_PARTITION(p_table TEXT, p_prefix TEXT, p_month DATE) RETURNS BIGINT
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    v_from      DATE := date_trunc('month', p_month);
+    v_partition TEXT := lower(p_table) || '_p' || to_char(v_from, 'YYYY_MM');
+    v_archived  BIGINT;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext(v_partition));
+    IF to_regclass(v_partition) IS NULL THEN
+        RETURN NULL;
+    END IF;
+    -- The partition is copied while still attached, under a SHARE lock that only keeps writers of its month out, so
+    -- the ACCESS EXCLUSIVE lock of the parent table is taken only for the short DETACH and DROP.
+    EXECUTE format('LOCK TABLE %I IN SHARE MODE', v_partition);
+    EXECUTE format('SELECT count(*) FROM %I', v_partition) INTO v_archived;
+    EXECUTE format($sql$
+        INSERT INTO %1$I (%2$sA_DOG_ID, %2$sA_MONTH, %2$sA_RECORD_COUNT, %2$sA_RECORDS)
+        SELECT %2$s_DOG_ID, %3$L, count(*),
+               jsonb_agg(jsonb_strip_nulls(to_jsonb(p) - %4$L) ORDER BY %2$s_CREATED_TS DESC, %2$s_ID DESC)
+        FROM %5$I AS p
+        GROUP BY %2$s_DOG_ID
+        $sql$, lower(p_table) || '_archive', p_prefix, v_from, lower(p_prefix) || '_dog_id', v_partition);
+    EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', lower(p_table), v_partition);
+    EXECUTE format('DROP TABLE %I', v_partition);
+    RETURN v_archived;
+END
+$$;
+
+COMMENT ON FUNCTION ARCHIVE_HISTORY_PARTITION(TEXT, TEXT, DATE) IS
+    'Moves the partition of the given table for the month of the given date into its archive table, one row per dog. Returns the number of archived records, or NULL if there is no such partition.';
+
+-- WEIGHT -------------------------------------------------------------------------------------------------------------
+
+ALTER TABLE WEIGHT RENAME TO WEIGHT_UNPARTITIONED;
+ALTER TABLE WEIGHT_UNPARTITIONED DROP CONSTRAINT PK_WEIGHT_ID;
+ALTER TABLE WEIGHT_UNPARTITIONED DROP CONSTRAINT FK_WEIGHT_DOG;
+DROP INDEX IDX_WEIGHT_DOG_CREATED_TS;
+
+CREATE TABLE WEIGHT
+(
+    WG_ID UUID CONSTRAINT NN_WEIGHT_ID NOT NULL,
+    WG_DOG_ID UUID CONSTRAINT NN_WEIGHT_DOG_ID NOT NULL,
+    WG_CURRENT REAL CONSTRAINT NN_CURRENT_WEIGHT NOT NULL,
+    WG_GOAL REAL,
+    WG_CREATED_TS TIMESTAMP(6) CONSTRAINT NN_CREATED_TS NOT NULL,
+    WG_IS_OVERWEIGHT BOOLEAN
+) PARTITION BY RANGE (WG_CREATED_TS);
+
+-- The primary key of a partitioned table must contain the partition key. Ids are time ordered version 7 UUIDs,
+-- generated once per record, so they stay unique on their own.
+ALTER TABLE WEIGHT
+    ADD CONSTRAINT PK_WEIGHT_ID
+        PRIMARY KEY (WG_ID, WG_CREATED_TS);
+
+ALTER TABLE WEIGHT
+    ADD CONSTRAINT FK_WEIGHT_DOG
+        FOREIGN KEY (WG_DOG_ID)
+            REFERENCES DOG (DOG_ID);
+
+CREATE INDEX IDX_WEIGHT_DOG_CREATED_TS
+    ON WEIGHT (WG_DOG_ID, WG_CREATED_TS DESC) INCLUDE (WG_CURRENT);
+
+SELECT CREATE_HISTORY_PARTITION('WEIGHT', MONTH::DATE)
+FROM generate_series((SELECT date_trunc('month', coalesce(min(WG_CREATED_TS), now())) FROM WEIGHT_UNPARTITIONED),
+                     date_trunc('month', now()) + INTERVAL '3 months', INTERVAL '1 month') AS MONTH;
+
+INSERT INTO WEIGHT (WG_ID, WG_DOG_ID, WG_CURRENT, WG_GOAL, WG_CREATED_TS, WG_IS_OVERWEIGHT)
+SELECT WG_ID, WG_DOG_ID, WG_CURRENT, WG_GOAL, WG_CREATED_TS, WG_IS_OVERWEIGHT
+FROM WEIGHT_UNPARTITIONED;
+
+DROP TABLE WEIGHT_UNPARTITIONED;
+
+CREATE TABLE WEIGHT_DEFAULT PARTITION OF WEIGHT DEFAULT;
+
+COMMENT ON TABLE WEIGHT IS 'This table stores weight records for a dog, partitioned by the month of WG_CREATED_TS.';
+
+COMMENT ON COLUMN WEIGHT.WG_ID IS 'The unique identifier for this weight record.';
+COMMENT ON COLUMN WEIGHT.WG_DOG_ID IS 'The ID of the dog this weight entry belongs to.';
+COMMENT ON COLUMN WEIGHT.WG_CURRENT IS 'The current measured weight of the dog in kilograms.';
+COMMENT ON COLUMN WEIGHT.WG_GOAL IS 'The target goal weight for the dog in kilograms.';
+COMMENT ON COLUMN WEIGHT.WG_CREATED_TS IS 'The timestamp when this weight record was created.';
+COMMENT ON COLUMN WEIGHT.WG_IS_OVERWEIGHT IS 'Boolean flag indicating if the dog is considered overweight.';
+
+-- Archived weights are stored as one JSONB array per dog and month. Tuples are compressed from 128 bytes on
+-- (toast_tuple_target), and kept compressed in the table rather than moved out to TOAST (STORAGE MAIN).
+CREATE TABLE WEIGHT_ARCHIVE
+(
+    WGA_DOG_ID UUID CONSTRAINT NN_WGA_DOG_ID NOT NULL,
+    WGA_MONTH DATE CONSTRAINT NN_WGA_MONTH NOT NULL,
+    WGA_RECORD_COUNT INTEGER CONSTRAINT NN_WGA_RECORD_COUNT NOT NULL,
+    WGA_RECORDS JSONB CONSTRAINT NN_WGA_RECORDS NOT NULL
+) WITH (toast_tuple_target = 128);
+
+ALTER TABLE WEIGHT_ARCHIVE
+    ALTER COLUMN WGA_RECORDS SET STORAGE MAIN;
+
+ALTER TABLE WEIGHT_ARCHIVE
+    ADD CONSTRAINT PK_WEIGHT_ARCHIVE
+        PRIMARY KEY (WGA_DOG_ID, WGA_MONTH);
+
+ALTER TABLE WEIGHT_ARCHIVE
+    ADD CONSTRAINT FK_WEIGHT_ARCHIVE_DOG
+        FOREIGN KEY (WGA_DOG_ID)
+            REFERENCES DOG (DOG_ID)
+            ON DELETE CASCADE;
+
+COMMENT ON TABLE WEIGHT_ARCHIVE IS 'This table stores the archived weight records of a dog, one row per dog and month.';
+
+COMMENT ON COLUMN WEIGHT_ARCHIVE.WGA_DOG_ID IS 'The ID of the dog the archived weight records belong to.';
+COMMENT ON COLUMN WEIGHT_ARCHIVE.WGA_MONTH IS 'The first day of the month the archived weight records were created in.';
+COMMENT ON COLUMN WEIGHT_ARCHIVE.WGA_RECORD_COUNT IS 'The number of archived weight records.';
+COMMENT ON COLUMN WEIGHT_ARCHIVE.WGA_RECORDS IS 'The archived weight records, keyed by their WEIGHT column names, most recent first.';
+
+-- HEART --------------------------------------------------------------------------------------------------------------
+
+ALTER TABLE HEART RENAME TO HEART_UNPARTITIONED;
+ALTER TABLE HEART_UNPARTITIONED DROP CONSTRAINT PK_HEART_ID;
+ALTER TABLE HEART_UNPARTITIONED DROP CONSTRAINT FK_HEART_DOG;
+DROP INDEX IDX_HEART_DOG_CREATED_TS;
+DROP INDEX IDX_HEART_ID_DOG;
+
+CREATE TABLE HEART
+(
+    HT_ID UUID CONSTRAINT NN_HEART_ID NOT NULL,
+    HT_DOG_ID UUID CONSTRAINT NN_HEART_DOG_ID NOT NULL,
+    HT_FATIGUE BOOLEAN,
+    HT_COUGHING BOOLEAN,
+    HT_MURMURS SMALLINT,
+    HT_HEART_RATE SMALLINT,
+    HT_BREATHING_RATE SMALLINT,
+    HT_DIROFILARIA_LAST_PREVENTION DATE,
+    HT_CREATED_TS TIMESTAMP(6) CONSTRAINT NN_HEART_CREATED_TS NOT NULL
+) PARTITION BY RANGE (HT_CREATED_TS);
+
+ALTER TABLE HEART
+    ADD CONSTRAINT PK_HEART_ID
+        PRIMARY KEY (HT_ID, HT_CREATED_TS);
+
+ALTER TABLE HEART
+    ADD CONSTRAINT FK_HEART_DOG
+        FOREIGN KEY (HT_DOG_ID)
+            REFERENCES DOG (DOG_ID);
+
+CREATE INDEX IDX_HEART_DOG_CREATED_TS
+    ON HEART (HT_DOG_ID, HT_CREATED_TS DESC);
+
+-- No longer unique, as unique indexes of a partitioned table must contain the partition key.
+CREATE INDEX IDX_HEART_ID_DOG
+    ON HEART (HT_ID) INCLUDE (HT_DOG_ID);
+
+SELECT CREATE_HISTORY_PARTITION('HEART', MONTH::DATE)
+FROM generate_series((SELECT date_trunc('month', coalesce(min(HT_CREATED_TS), now())) FROM HEART_UNPARTITIONED),
+                     date_trunc('month', now()) + INTERVAL '3 months', INTERVAL '1 month') AS MONTH;
+
+INSERT INTO HEART (HT_ID, HT_DOG_ID, HT_FATIGUE, HT_COUGHING, HT_MURMURS, HT_HEART_RATE, HT_BREATHING_RATE,
+                   HT_DIROFILARIA_LAST_PREVENTION, HT_CREATED_TS)
+SELECT HT_ID, HT_DOG_ID, HT_FATIGUE, HT_COUGHING, HT_MURMURS, HT_HEART_RATE, HT_BREATHING_RATE,
+       HT_DIROFILARIA_LAST_PREVENTION, HT_CREATED_TS
+FROM HEART_UNPARTITIONED;
+
+DROP TABLE HEART_UNPARTITIONED;
+
+CREATE TABLE HEART_DEFAULT PARTITION OF HEART DEFAULT;
+
+COMMENT ON TABLE HEART IS 'This table stores heart health records for a dog, partitioned by the month of HT_CREATED_TS.';
+
+COMMENT ON COLUMN HEART.HT_ID IS 'The unique identifier for this heart record.';
+COMMENT ON COLUMN HEART.HT_DOG_ID IS 'The ID of the dog this heart entry belongs to.';
+COMMENT ON COLUMN HEART.HT_FATIGUE IS 'Boolean flag indicating if the dog tires easily.';
+COMMENT ON COLUMN HEART.HT_COUGHING IS 'Boolean flag indicating if the dog has coughing.';
+COMMENT ON COLUMN HEART.HT_MURMURS IS 'The heart murmur grade: 0 (none) to 6 (grade VI).';
+COMMENT ON COLUMN HEART.HT_HEART_RATE IS 'The resting heart rate in beats per minute.';
+COMMENT ON COLUMN HEART.HT_BREATHING_RATE IS 'The breathing rate in breaths per minute.';
+COMMENT ON COLUMN HEART.HT_DIROFILARIA_LAST_PREVENTION IS 'The date of the last heartworm prevention treatment.';
+COMMENT ON COLUMN HEART.HT_CREATED_TS IS 'The timestamp when this heart record was created.';
+
+CREATE TABLE HEART_ARCHIVE
+(
+    HTA_DOG_ID UUID CONSTRAINT NN_HTA_DOG_ID NOT NULL,
+    HTA_MONTH DATE CONSTRAINT NN_HTA_MONTH NOT NULL,
+    HTA_RECORD_COUNT INTEGER CONSTRAINT NN_HTA_RECORD_COUNT NOT NULL,
+    HTA_RECORDS JSONB CONSTRAINT NN_HTA_RECORDS NOT NULL
+) WITH (toast_tuple_target = 128);
+
+ALTER TABLE HEART_ARCHIVE
+    ALTER COLUMN HTA_RECORDS SET STORAGE MAIN;
+
+ALTER TABLE HEART_ARCHIVE
+    ADD CONSTRAINT PK_HEART_ARCHIVE
+        PRIMARY KEY (HTA_DOG_ID, HTA_MONTH);
+
+ALTER TABLE HEART_ARCHIVE
+    ADD CONSTRAINT FK_HEART_ARCHIVE_DOG
+        FOREIGN KEY (HTA_DOG_ID)
+            REFERENCES DOG (DOG_ID)
+            ON DELETE CASCADE;
+
+COMMENT ON TABLE HEART_ARCHIVE IS 'This table stores the archived heart records of a dog, one row per dog and month.';
+
+COMMENT ON COLUMN HEART_ARCHIVE.HTA_DOG_ID IS 'The ID of the dog the archived heart records belong to.';
+COMMENT ON COLUMN HEART_ARCHIVE.HTA_MONTH IS 'The first day of the month the archived heart records were created in.';
+COMMENT ON COLUMN HEART_ARCHIVE.HTA_RECORD_COUNT IS 'The number of archived heart records.';
+COMMENT ON COLUMN HEART_ARCHIVE.HTA_RECORDS IS 'The archived heart records, keyed by their HEART column names, most recent first.';
@@ -0,0 +1,7 @@
+ALTER TABLE HEALTH_RECORD
+    ADD COLUMN HR_CONTENT_HASH VARCHAR(64);
+
+CREATE INDEX IDX_HEALTH_RECORD_DOG_CONTENT_HASH
+    ON HEALTH_RECORD (HR_DOG_ID, HR_CONTENT_HASH);
+
+COMMENT ON COLUMN HEALTH_RECORD.HR_CONTENT_HASH IS 'The hex encoded SHA-256 hash of the document content. Health records of the same dog with the same hash share one stored file.';
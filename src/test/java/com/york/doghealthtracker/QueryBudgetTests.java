@@ -0,0 +1,116 @@
+package com.york.doghealthtracker;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Drives the read endpoints declaring a QueryBudget against a dog with more records of every history than the largest
+ * budget, with app.query-budget.fail-on-exceed set. An endpoint issuing statements per record (N+1) exceeds its budget, fails with
+ * a 500 and fails the test.
+ * MockMvc handles the requests on the test thread, so they join the test transaction, and everything the test writes is
+ * rolled back after it. The persistence context is cleared once the history is recorded, so that the read endpoints
+ * load their data with their own statements.
+ */
+@SpringBootTest(properties = "app.query-budget.fail-on-exceed=true")
+@AutoConfigureMockMvc
+@Transactional
+class QueryBudgetTests {
+
+    private static final int RECORDS = 50;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private String authorization;
+    private String participantId;
+    private String dogId;
+
+    @BeforeEach
+    void createDogWithHistory() throws Exception {
+        String credentials = objectMapper.writeValueAsString(new Credentials(UUID.randomUUID() + "@example.com", "password"));
+        mvc.perform(post("/auth/register").contentType(MediaType.APPLICATION_JSON).content(credentials))
+                .andExpect(status().isOk());
+        JsonNode login = objectMapper.readTree(mvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON).content(credentials))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        authorization = "Bearer " + login.get("token").asText();
+        participantId = login.get("participantId").asText();
+
+        JsonNode dog = objectMapper.readTree(mvc.perform(multipart("/dogs")
+                        .param("name", "Rex").param("gender", "MALE").param("breed", "Beagle")
+                        .param("birthDate", "2020-01-01").param("isNeutered", "true")
+                        .header("Authorization", authorization))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString());
+        dogId = dog.get("dogId").asText();
+
+        for (int i = 0; i < RECORDS; i++) {
+            addRecord("/weights", "{\"current\":" + (10 + i) + "}");
+            addRecord("/heart", "{\"fatigue\":false,\"coughing\":false,\"murmurStatus\":\"NONE\",\"heartRate\":80,"
+                    + "\"breathingRate\":20,\"lastDirofilariaPreventionDate\":\"" + LocalDate.now() + "\"}");
+            addRecord("/dental", "{\"plaqueStatus\":\"HI\",\"toothLoss\":false,\"gingivitisStatus\":\"MILD\","
+                    + "\"lastCleaningDate\":\"" + LocalDate.now() + "\"}");
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void readEndpointsStayWithinTheirQueryBudget() throws Exception {
+        for (String path : new String[]{"/dogs/" + dogId + "/weights", "/dogs/" + dogId + "/heart",
+                "/dogs/" + dogId + "/dental", "/dogs/" + dogId + "/health-records", "/users/" + participantId + "/dog",
+                "/users/" + participantId + "/dashboard", "/hormones/status", "/mobility/status"}) {
+            mvc.perform(get(path).header("Authorization", authorization)).andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void statementsPerRequestAreRecorded() throws Exception {
+        mvc.perform(get("/dogs/" + dogId + "/weights").header("Authorization", authorization))
+                .andExpect(status().isOk());
+
+        DistributionSummary queries = meterRegistry.find("http.server.requests.queries")
+                .tags("method", "GET", "uri", "/dogs/{dog-id}/weights", "status", "200")
+                .summary();
+        assertNotNull(queries);
+        assertTrue(queries.max() > 0);
+    }
+
+    private void addRecord(String path, String body) throws Exception {
+        mvc.perform(post("/dogs/" + dogId + path).contentType(MediaType.APPLICATION_JSON).content(body)
+                        .header("Authorization", authorization))
+                .andExpect(status().isCreated());
+    }
+
+    private record Credentials(String email, String password) {
+    }
+}
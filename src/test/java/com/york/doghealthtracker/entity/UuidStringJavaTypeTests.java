@@ -0,0 +1,48 @@
+package com.york.doghealthtracker.entity;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks how String ids are bound to uuid columns. A malformed id must bind as the nil UUID, so that looking it up
+ * finds nothing and the request fails with a 404, instead of the database rejecting the parameter with a 500.
+ */
+class UuidStringJavaTypeTests {
+
+    private static final UUID NIL = new UUID(0L, 0L);
+
+    private final UuidStringJavaType javaType = new UuidStringJavaType();
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "01a14b89-366c-72ea-90ea-00c2faa8e180",
+            "01A14B89-366C-72EA-90EA-00C2FAA8E180",
+            "00000000-0000-0000-0000-000000000000"})
+    void bindsWellFormedIdAsItsUuid(String id) {
+        assertEquals(UUID.fromString(id), javaType.unwrap(id, UUID.class, null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "nope",
+            "1-2-3-4-5",
+            "01a14b89-366c-72ea-90ea-00c2faa8e18",
+            "01a14b89-366c-72ea-90ea-00c2faa8e1800",
+            "01a14b89366c72ea90ea00c2faa8e180",
+            "01a14b89-366c-72ea-90ea-00c2faa8e18g",
+            " 01a14b89-366c-72ea-90ea-00c2faa8e180"})
+    void bindsMalformedIdAsNilUuid(String id) {
+        assertEquals(NIL, javaType.unwrap(id, UUID.class, null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"01a14b89-366c-72ea-90ea-00c2faa8e180", "00000000-0000-0000-0000-000000000000"})
+    void readsUuidAsCanonicalString(String id) {
+        assertEquals(id, javaType.wrap(UUID.fromString(id), null));
+    }
+}
@@ -0,0 +1,66 @@
+package com.york.doghealthtracker.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the bit layout of the generated version 7 UUIDs, and that they sort in generation order, as text and as the
+ * unsigned 16 byte values the database compares, also within the same millisecond.
+ */
+class UuidV7GeneratorTests {
+
+    private static final int IDS = 10_000;
+
+    @Test
+    void laysOutTimestampVersionAndVariant() {
+        long epochMillis = 0x0123_4567_89ABL;
+
+        UUID uuid = UuidV7Generator.of(epochMillis);
+
+        assertEquals(epochMillis, uuid.getMostSignificantBits() >>> 16);
+        assertEquals(7, uuid.version());
+        assertEquals(0b10, uuid.getLeastSignificantBits() >>> 62);
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void usesCurrentTimeAsTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7Generator.next();
+        long after = System.currentTimeMillis();
+
+        long timestamp = uuid.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before && timestamp <= after,
+                () -> timestamp + " is not between " + before + " and " + after);
+    }
+
+    @Test
+    void sortsInGenerationOrderWithinTheSameMillisecond() {
+        UUID previous = UuidV7Generator.next();
+        int sameMillisecond = 0;
+        for (int i = 0; i < IDS; i++) {
+            UUID uuid = UuidV7Generator.next();
+            assertEquals(7, uuid.version());
+            assertEquals(2, uuid.variant());
+            assertTrue(uuid.toString().compareTo(previous.toString()) > 0,
+                    uuid + " does not sort after " + previous);
+            assertTrue(compareUnsigned(uuid, previous) > 0, uuid + " does not sort after " + previous);
+            if (uuid.getMostSignificantBits() >>> 16 == previous.getMostSignificantBits() >>> 16) {
+                sameMillisecond++;
+            }
+            previous = uuid;
+        }
+        assertTrue(sameMillisecond > 0, "No two ids were generated within the same millisecond");
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        int mostSignificant = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return mostSignificant != 0
+                ? mostSignificant
+                : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
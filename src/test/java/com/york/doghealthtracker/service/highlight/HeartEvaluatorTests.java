@@ -0,0 +1,128 @@
+package com.york.doghealthtracker.service.highlight;
+
+import com.york.doghealthtracker.model.MurmurStatus;
+import com.york.doghealthtracker.model.QuizCategoryStatus;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static com.york.doghealthtracker.model.QuizCategoryStatus.GREEN;
+import static com.york.doghealthtracker.model.QuizCategoryStatus.RED;
+import static com.york.doghealthtracker.model.QuizCategoryStatus.YELLOW;
+import static com.york.doghealthtracker.service.highlight.HighlightKey.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+/**
+ * Evaluates heart records on both sides of every threshold of HeartEvaluator. The records of a single threshold know
+ * only the metric under test, so that it alone decides the status, and a recent dirofilaria prevention unless the
+ * prevention is under test.
+ */
+class HeartEvaluatorTests {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+    private static final LocalDate RECENT_PREVENTION = TODAY.minusDays(1);
+
+    private final HeartEvaluator evaluator = HeartEvaluator.on(TODAY);
+
+    static Stream<Arguments> heartRates() {
+        return Stream.of(
+                arguments(59, RED, highlights(ABNORMAL_HEART_RATE, HEART_HIGH_RISK)),
+                arguments(60, GREEN, highlights(HEART_HEALTHY)),
+                arguments(120, GREEN, highlights(HEART_HEALTHY)),
+                arguments(121, RED, highlights(ABNORMAL_HEART_RATE, HEART_HIGH_RISK)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("heartRates")
+    void evaluatesHeartRate(int heartRate, QuizCategoryStatus status, HighlightSet highlights) {
+        assertEvaluation(status, highlights,
+                evaluator.evaluate(null, null, null, heartRate, null, RECENT_PREVENTION));
+    }
+
+    static Stream<Arguments> breathingRates() {
+        return Stream.of(
+                arguments(9, RED, highlights(ABNORMAL_BREATHING_RATE, HEART_HIGH_RISK)),
+                arguments(10, GREEN, highlights(HEART_HEALTHY)),
+                arguments(35, GREEN, highlights(HEART_HEALTHY)),
+                arguments(36, RED, highlights(ABNORMAL_BREATHING_RATE, HEART_HIGH_RISK)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("breathingRates")
+    void evaluatesBreathingRate(int breathingRate, QuizCategoryStatus status, HighlightSet highlights) {
+        assertEvaluation(status, highlights,
+                evaluator.evaluate(null, null, null, null, breathingRate, RECENT_PREVENTION));
+    }
+
+    static Stream<Arguments> murmurs() {
+        return Stream.of(
+                arguments(MurmurStatus.NONE, GREEN, highlights(HEART_HEALTHY)),
+                arguments(MurmurStatus.GRADE_I, GREEN, highlights(HEART_HEALTHY)),
+                arguments(MurmurStatus.GRADE_II, RED, highlights(MURMUR_MID_RISK, HEART_HIGH_RISK)),
+                arguments(MurmurStatus.GRADE_III, RED, highlights(MURMUR_MID_RISK, HEART_HIGH_RISK)),
+                arguments(MurmurStatus.GRADE_IV, RED, highlights(MURMUR_HIGH_RISK, HEART_HIGH_RISK)),
+                arguments(MurmurStatus.GRADE_V, RED, highlights(MURMUR_HIGH_RISK, HEART_HIGH_RISK)),
+                arguments(MurmurStatus.GRADE_VI, RED, highlights(MURMUR_HIGH_RISK, HEART_HIGH_RISK)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("murmurs")
+    void evaluatesMurmur(MurmurStatus murmur, QuizCategoryStatus status, HighlightSet highlights) {
+        assertEvaluation(status, highlights,
+                evaluator.evaluate(null, null, murmur, null, null, RECENT_PREVENTION));
+    }
+
+    static Stream<Arguments> dirofilariaPreventions() {
+        return Stream.of(
+                arguments(null, highlights(DIROFILARIA_UNKNOWN, HEART_MID_RISK)),
+                arguments(TODAY.minusYears(1), highlights(DIROFILARIA_DUE, HEART_MID_RISK)),
+                arguments(TODAY.minusMonths(1).minusDays(1), highlights(DIROFILARIA_DUE, HEART_MID_RISK)),
+                arguments(TODAY.minusMonths(1), highlights(DIROFILARIA_DUE, HEART_MID_RISK)),
+                arguments(TODAY.minusMonths(1).plusDays(1), highlights(HEART_MID_RISK)),
+                arguments(TODAY, highlights(HEART_MID_RISK)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("dirofilariaPreventions")
+    void evaluatesDirofilariaPrevention(LocalDate lastPrevention, HighlightSet highlights) {
+        assertEvaluation(YELLOW, highlights,
+                evaluator.evaluate(null, null, null, null, null, lastPrevention));
+    }
+
+    static Stream<Arguments> healthyShares() {
+        return Stream.of(
+                arguments(false, true, 90, GREEN, highlights(COUGHING_DETECTED, HEART_HEALTHY)),
+                arguments(true, true, 90, YELLOW, highlights(FATIGUE_DETECTED, COUGHING_DETECTED, HEART_MID_RISK)),
+                arguments(true, true, 130, RED,
+                        highlights(FATIGUE_DETECTED, COUGHING_DETECTED, ABNORMAL_HEART_RATE, HEART_HIGH_RISK)));
+    }
+
+    /**
+     * Evaluates four known metrics: 3 of 4 healthy metrics are GREEN, 2 of 4 are YELLOW and 1 of 4 is RED.
+     */
+    @ParameterizedTest
+    @MethodSource("healthyShares")
+    void evaluatesShareOfHealthyMetrics(boolean fatigue, boolean coughing, int heartRate,
+                                        QuizCategoryStatus status, HighlightSet highlights) {
+        assertEvaluation(status, highlights,
+                evaluator.evaluate(fatigue, coughing, MurmurStatus.NONE, heartRate, null, RECENT_PREVENTION));
+    }
+
+    private static void assertEvaluation(QuizCategoryStatus status, HighlightSet highlights,
+                                         HeartEvaluator.HeartEvaluation evaluation) {
+        assertEquals(status, evaluation.status());
+        assertEquals(highlights.toStoredKeys(), evaluation.highlights().toStoredKeys());
+    }
+
+    private static HighlightSet highlights(HighlightKey... keys) {
+        HighlightSet set = HighlightSet.EMPTY;
+        for (HighlightKey key : keys) {
+            set = set.with(key);
+        }
+        return set;
+    }
+}